@@ -5,11 +5,17 @@ import mineopoly_three.graphics.UserInterface;
 import mineopoly_three.replay.Replay;
 import mineopoly_three.replay.ReplayIO;
 import mineopoly_three.strategy.*;
+import mineopoly_three.util.SeedUtil;
 
 import javax.swing.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 public class MineopolyMain {
   private static final int DEFAULT_BOARD_SIZE = 20;
@@ -17,6 +23,11 @@ public class MineopolyMain {
       500; // Bump this up or down according to your screen size
   private static final boolean TEST_STRATEGY_WIN_PERCENT =
       true; // Change to true to test your win percent
+  private static final int NUM_WIN_PERCENT_ROUNDS = 1000;
+  // Number of games played at the same time when testing win percent, 1 plays them one after another
+  private static final int NUM_WIN_PERCENT_THREADS = Runtime.getRuntime().availableProcessors();
+  // Every game seed is derived from this, set it to a fixed value to reproduce a win percent run exactly
+  private static final long WIN_PERCENT_MASTER_SEED = System.currentTimeMillis();
 
   // Use this if you want to view a past match replay
   private static final String savedReplayFilePath = null;
@@ -25,14 +36,24 @@ public class MineopolyMain {
 
   public static void main(String[] args) {
     if (TEST_STRATEGY_WIN_PERCENT) {
-      MinePlayerStrategy yourStrategy = new ZaidStrategy();
+      // Strategies keep state between turns, so every game gets its own instance from this supplier
+      Supplier<MinePlayerStrategy> yourStrategy = ZaidStrategy::new;
       int[] assignmentBoardSizes = new int[] {14, 20, 26, 32};
+      System.out.println(
+          "Master seed: " + WIN_PERCENT_MASTER_SEED + ", threads: " + NUM_WIN_PERCENT_THREADS);
 
       for (int testBoardSize : assignmentBoardSizes) {
-        // System.out.println(testBoardSize);
-        double strategyWinPercent = getStrategyWinPercent(yourStrategy, testBoardSize);
-        System.out.println(
-            "(Board size, win percent): (" + testBoardSize + ", " + strategyWinPercent + ")");
+        long startTime = System.nanoTime();
+        double strategyWinPercent =
+            getStrategyWinPercent(
+                yourStrategy, testBoardSize, WIN_PERCENT_MASTER_SEED, NUM_WIN_PERCENT_THREADS);
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.printf(
+            "(Board size, win percent): (%d, %s) in %.2fs, %.1f games/sec%n",
+            testBoardSize,
+            strategyWinPercent,
+            elapsedSeconds,
+            NUM_WIN_PERCENT_ROUNDS / elapsedSeconds);
       }
     } else {
       // Not testing the win percent, show the game instead
@@ -74,20 +95,54 @@ public class MineopolyMain {
     }
   }
 
-  private static double getStrategyWinPercent(MinePlayerStrategy yourStrategy, int boardSize) {
-    final int numTotalRounds = 1000;
-    int numRoundsWonByMinScore = 0;
-    MinePlayerStrategy randomStrategy = new RandomStrategy();
-    Random random = new Random();
+  /**
+   * Plays NUM_WIN_PERCENT_ROUNDS games of a strategy against RandomStrategy and counts how many reach
+   * the minimum score to win. Every game runs on its own GameEngine with fresh strategy instances and
+   * a seed derived from the master seed and the game's index, so the result does not depend on how
+   * many threads play the games
+   *
+   * @param yourStrategy Creates a new instance of the strategy being tested for each game
+   * @param boardSize The size of the board for every game
+   * @param masterSeed The seed from which every game's seed is derived
+   * @param numThreads The number of games to play at the same time
+   * @return The fraction of games in which the strategy reached the minimum score to win
+   */
+  private static double getStrategyWinPercent(
+      Supplier<MinePlayerStrategy> yourStrategy, int boardSize, long masterSeed, int numThreads) {
+    final int numTotalRounds = NUM_WIN_PERCENT_ROUNDS;
+    LongAdder numRoundsWonByMinScore = new LongAdder();
+    AtomicInteger nextRoundIndex = new AtomicInteger();
 
-    for (int i = 0; i < numTotalRounds; i++) {
-      GameEngine gameEngine =
-          new GameEngine(boardSize, yourStrategy, randomStrategy, random.nextLong());
-      gameEngine.runGame();
-      if (gameEngine.getMinScoreToWin() <= gameEngine.getRedPlayerScore()) {
-        numRoundsWonByMinScore++;
+    // Each worker keeps claiming the next unplayed round until all of them have been played
+    Runnable roundWorker =
+        () -> {
+          int roundIndex;
+          while ((roundIndex = nextRoundIndex.getAndIncrement()) < numTotalRounds) {
+            long roundSeed = SeedUtil.deriveSeed(masterSeed, roundIndex);
+            GameEngine gameEngine =
+                new GameEngine(boardSize, yourStrategy.get(), new RandomStrategy(), roundSeed);
+            gameEngine.runGame();
+            if (gameEngine.getMinScoreToWin() <= gameEngine.getRedPlayerScore()) {
+              numRoundsWonByMinScore.increment();
+            }
+          }
+        };
+
+    if (numThreads <= 1) {
+      roundWorker.run();
+    } else {
+      ExecutorService workerPool = Executors.newFixedThreadPool(numThreads);
+      for (int i = 0; i < numThreads; i++) {
+        workerPool.execute(roundWorker);
+      }
+      workerPool.shutdown();
+      try {
+        workerPool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+        workerPool.shutdownNow();
+        Thread.currentThread().interrupt();
       }
     }
-    return ((double) numRoundsWonByMinScore) / numTotalRounds;
+    return numRoundsWonByMinScore.doubleValue() / numTotalRounds;
   }
 }
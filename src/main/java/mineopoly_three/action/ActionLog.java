@@ -0,0 +1,96 @@
+package mineopoly_three.action;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * The TurnAction a player took on every turn of a game, stored as one byte per turn instead of a list node per turn.
+ * Each byte is the action's ordinal, or NO_ACTION_CODE for a turn where the player did nothing, which is the same
+ *  encoding replay files use. An ActionLog is a read-only List so it can be handed straight to a Replay
+ */
+public class ActionLog extends AbstractList<TurnAction> {
+    private static final TurnAction[] ALL_TURN_ACTIONS = TurnAction.values();
+    /** The code stored for a turn where the player did nothing */
+    public static final byte NO_ACTION_CODE = (byte) ALL_TURN_ACTIONS.length;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private byte[] actionCodes;
+    private int numActions;
+
+    public ActionLog() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity The number of turns to make room for up front, the log grows past this if it has to
+     */
+    public ActionLog(int initialCapacity) {
+        this.actionCodes = new byte[Math.max(initialCapacity, 1)];
+        this.numActions = 0;
+    }
+
+    /**
+     * Records the action taken on the next turn
+     *
+     * @param action The action taken, or null if the player did nothing
+     */
+    public void addAction(TurnAction action) {
+        if (numActions == actionCodes.length) {
+            actionCodes = Arrays.copyOf(actionCodes, 2 * actionCodes.length);
+        }
+        actionCodes[numActions++] = (action == null) ? NO_ACTION_CODE : (byte) action.ordinal();
+    }
+
+    /**
+     * Records the same action taken on each of the next turns
+     *
+     * @param action The action taken, or null if the player did nothing
+     * @param numTurns The number of turns the action was taken on
+     */
+    public void addActions(TurnAction action, int numTurns) {
+        if (numActions + numTurns > actionCodes.length) {
+            actionCodes = Arrays.copyOf(actionCodes, Math.max(2 * actionCodes.length, numActions + numTurns));
+        }
+        byte actionCode = (action == null) ? NO_ACTION_CODE : (byte) action.ordinal();
+        Arrays.fill(actionCodes, numActions, numActions + numTurns, actionCode);
+        numActions += numTurns;
+    }
+
+    /**
+     * Forgets every action after the first numActionsToKeep, for when a game is rewound to an earlier turn
+     *
+     * @param numActionsToKeep The number of actions to keep
+     */
+    public void truncate(int numActionsToKeep) {
+        if (numActionsToKeep < 0 || numActionsToKeep > numActions) {
+            throw new IndexOutOfBoundsException("Can't keep " + numActionsToKeep + " of " + numActions + " actions");
+        }
+        this.numActions = numActionsToKeep;
+    }
+
+    /**
+     * @param turn The turn to get the action of
+     * @return The ordinal of the action taken on that turn, or NO_ACTION_CODE if the player did nothing
+     */
+    public byte getActionCode(int turn) {
+        checkTurn(turn);
+        return actionCodes[turn];
+    }
+
+    @Override
+    public TurnAction get(int turn) {
+        byte actionCode = getActionCode(turn);
+        return (actionCode == NO_ACTION_CODE) ? null : ALL_TURN_ACTIONS[actionCode];
+    }
+
+    @Override
+    public int size() {
+        return numActions;
+    }
+
+    private void checkTurn(int turn) {
+        if (turn < 0 || turn >= numActions) {
+            throw new IndexOutOfBoundsException("Turn " + turn + " is not in a log of " + numActions + " actions");
+        }
+    }
+}
@@ -3,8 +3,8 @@ package mineopoly_three.action;
 import mineopoly_three.game.GameBoard;
 import mineopoly_three.game.MinePlayer;
 import mineopoly_three.tiles.Tile;
+import mineopoly_three.util.TileLocation;
 
-import java.awt.*;
 import java.util.Random;
 
 /**
@@ -24,10 +24,10 @@ public class MoveAction extends Action {
     @Override
     public void performAction(GameBoard board, MinePlayer player, TurnAction action) {
         Tile currentTile = player.getCurrentTile();
-        Point playerLocation = currentTile.getLocation();
+        TileLocation playerLocation = currentTile.getLocation();
 
-        int nextX = playerLocation.x + xChange;
-        int nextY = playerLocation.y + yChange;
+        int nextX = playerLocation.getX() + xChange;
+        int nextY = playerLocation.getY() + yChange;
         boolean nextXInBounds = (nextX >= 0 && nextX < board.getSize());
         boolean nextYInBounds = (nextY >= 0 && nextY < board.getSize());
         if (!nextXInBounds || !nextYInBounds) {
@@ -41,9 +41,8 @@ public class MoveAction extends Action {
             return;
         }
 
-        Random playerRNG = player.getRandomNumberGenerator();
         boolean hasEnergyLeft = (player.getCurrentEnergy() > 0);
-        boolean canMoveWithNoEnergyLeft = (playerRNG.nextDouble() < NO_ENERGY_MOVE_CHANCE);
+        boolean canMoveWithNoEnergyLeft = canMoveWithNoEnergyLeft(player.getRandomNumberGenerator());
         if (hasEnergyLeft || canMoveWithNoEnergyLeft) {
             // Move is valid, leave old tile and enter new one
             currentTile.onExit(player);
@@ -52,4 +51,16 @@ public class MoveAction extends Action {
             player.useEnergy();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Decides whether a move with no energy left succeeds anyway. Every move that stays on the board and doesn't
+     *  run into the other player makes this roll, whether or not the player still has energy, so anything
+     *  simulating moves has to call it just as often to keep the same random sequence
+     *
+     * @param randomNumberGenerator The moving player's random number generator
+     * @return True if the move succeeds even without energy
+     */
+    public static boolean canMoveWithNoEnergyLeft(Random randomNumberGenerator) {
+        return randomNumberGenerator.nextDouble() < NO_ENERGY_MOVE_CHANCE;
+    }
+}
@@ -17,14 +17,8 @@ public class TileInteractAction extends Action {
     @Override
     public void performAction(GameBoard board, MinePlayer player, TurnAction action) {
         Tile currentPlayerTile = player.getCurrentTile();
-        Tile tileAfterAction = currentPlayerTile.interact(player, action);
-
-        if (tileAfterAction != currentPlayerTile) {
-            // Tile has changed as a result of the action
-            board.setTileAtTileLocation(tileAfterAction);
-            player.setCurrentTile(tileAfterAction);
-        }
-
-        board.trackItemsOnPoint(tileAfterAction.getLocation(), tileAfterAction.getItemsOnTile());
+        // The tile changes in place, like a resource tile cracking once it's mined out
+        currentPlayerTile.interact(player, action);
+        board.trackTileChange(currentPlayerTile);
     }
 }
@@ -0,0 +1,145 @@
+package mineopoly_three.action;
+
+import mineopoly_three.item.ItemType;
+import mineopoly_three.tiles.TileType;
+
+/**
+ * Works out which TurnActions would actually do something for a player, packed into an int with one bit per
+ *  TurnAction at 1 << ordinal(). A TurnAction missing from the mask has no useful effect, like moving off the board
+ *  or onto the other player, picking up with a full inventory, or mining a tile with nothing to mine. Mining an EMPTY
+ *  tile is left out too even though it cracks the tile, since that changes nothing a player can see or use.
+ * A move in the mask can still fail when the player has no energy left, which is down to chance
+ */
+public class TurnActionMask {
+    public static final int NONE = 0;
+    public static final int ALL = (1 << TurnAction.values().length) - 1;
+    private static final boolean[] IS_RESOURCE_TILE_TYPE = new boolean[TileType.values().length];
+    static {
+        for (ItemType itemType : ItemType.values()) {
+            if (itemType.isResource()) {
+                IS_RESOURCE_TILE_TYPE[itemType.getResourceTileType().ordinal()] = true;
+            }
+        }
+    }
+
+    /**
+     * @param action The TurnAction to get the bit of
+     * @return A mask with only that TurnAction in it
+     */
+    public static int of(TurnAction action) {
+        return 1 << action.ordinal();
+    }
+
+    /**
+     * @param mask A mask of TurnActions
+     * @param action The TurnAction to look for, where null stands for doing nothing
+     * @return True if the TurnAction is in the mask. Doing nothing is always in it
+     */
+    public static boolean contains(int mask, TurnAction action) {
+        return action == null || (mask & of(action)) != 0;
+    }
+
+    /**
+     * Works out which moves lead somewhere, which is onto the board and not onto the other player
+     *
+     * @param boardSize The length and width of the square board
+     * @param x The x coordinate of the player moving
+     * @param y The y coordinate of the player moving
+     * @param otherX The x coordinate of the other player
+     * @param otherY The y coordinate of the other player
+     * @return A mask of the MOVE TurnActions that lead somewhere
+     */
+    public static int getMoveMask(int boardSize, int x, int y, int otherX, int otherY) {
+        int mask = NONE;
+        if (y + 1 < boardSize && !(x == otherX && y + 1 == otherY)) {
+            mask |= of(TurnAction.MOVE_UP);
+        }
+        if (y > 0 && !(x == otherX && y - 1 == otherY)) {
+            mask |= of(TurnAction.MOVE_DOWN);
+        }
+        if (x + 1 < boardSize && !(x + 1 == otherX && y == otherY)) {
+            mask |= of(TurnAction.MOVE_RIGHT);
+        }
+        if (x > 0 && !(x - 1 == otherX && y == otherY)) {
+            mask |= of(TurnAction.MOVE_LEFT);
+        }
+        return mask;
+    }
+
+    /**
+     * Works out getMoveMask() for every tile of a board at once, for strategies that search over many locations
+     *
+     * @param boardSize The length and width of the square board
+     * @param otherX The x coordinate of the other player
+     * @param otherY The y coordinate of the other player
+     * @param moveMasks Filled with the move mask of the tile at (x, y) at index y * boardSize + x, which needs
+     *                   room for boardSize * boardSize masks
+     */
+    public static void fillMoveMasks(int boardSize, int otherX, int otherY, int[] moveMasks) {
+        int insideMask = of(TurnAction.MOVE_UP) | of(TurnAction.MOVE_DOWN)
+                | of(TurnAction.MOVE_RIGHT) | of(TurnAction.MOVE_LEFT);
+        for (int y = 0; y < boardSize; y++) {
+            for (int x = 0; x < boardSize; x++) {
+                int mask = insideMask;
+                if (y == boardSize - 1) {
+                    mask &= ~of(TurnAction.MOVE_UP);
+                }
+                if (y == 0) {
+                    mask &= ~of(TurnAction.MOVE_DOWN);
+                }
+                if (x == boardSize - 1) {
+                    mask &= ~of(TurnAction.MOVE_RIGHT);
+                }
+                if (x == 0) {
+                    mask &= ~of(TurnAction.MOVE_LEFT);
+                }
+                moveMasks[y * boardSize + x] = mask;
+            }
+        }
+
+        // Only the tiles next to the other player are blocked by it
+        if (otherY > 0) {
+            moveMasks[(otherY - 1) * boardSize + otherX] &= ~of(TurnAction.MOVE_UP);
+        }
+        if (otherY < boardSize - 1) {
+            moveMasks[(otherY + 1) * boardSize + otherX] &= ~of(TurnAction.MOVE_DOWN);
+        }
+        if (otherX > 0) {
+            moveMasks[otherY * boardSize + otherX - 1] &= ~of(TurnAction.MOVE_RIGHT);
+        }
+        if (otherX < boardSize - 1) {
+            moveMasks[otherY * boardSize + otherX + 1] &= ~of(TurnAction.MOVE_LEFT);
+        }
+    }
+
+    /**
+     * Works out which actions on the tile a player is standing on do something, following Tile.interact()
+     *
+     * @param tileType The type of the tile the player is standing on
+     * @param numResourcesOnTile The number of resources on the tile
+     * @param hasAutominerOnTile True if there is an autominer on the tile
+     * @param inventorySize The number of items the player is carrying
+     * @param maxInventorySize The most items the player can carry
+     * @param hasAutominerInInventory True if the player is carrying an autominer
+     * @return A mask of MINE, PICK_UP_RESOURCE, PICK_UP_AUTOMINER and PLACE_AUTOMINER for the ones that do something
+     */
+    public static int getInteractMask(TileType tileType, int numResourcesOnTile, boolean hasAutominerOnTile,
+                                      int inventorySize, int maxInventorySize, boolean hasAutominerInInventory) {
+        int mask = NONE;
+        if (IS_RESOURCE_TILE_TYPE[tileType.ordinal()]) {
+            mask |= of(TurnAction.MINE);
+        }
+
+        boolean hasRoom = (inventorySize < maxInventorySize);
+        if (numResourcesOnTile > 0 && hasRoom) {
+            mask |= of(TurnAction.PICK_UP_RESOURCE);
+        }
+        if (hasAutominerOnTile && hasRoom) {
+            mask |= of(TurnAction.PICK_UP_AUTOMINER);
+        }
+        if (!hasAutominerOnTile && hasAutominerInInventory) {
+            mask |= of(TurnAction.PLACE_AUTOMINER);
+        }
+        return mask;
+    }
+}
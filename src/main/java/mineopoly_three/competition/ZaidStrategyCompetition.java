@@ -1,25 +1,33 @@
 package mineopoly_three.competition;
 
 import mineopoly_three.action.TurnAction;
+import mineopoly_three.action.TurnActionMask;
 import mineopoly_three.game.Economy;
 import mineopoly_three.item.InventoryItem;
 import mineopoly_three.strategy.MinePlayerStrategy;
 import mineopoly_three.strategy.PlayerBoardView;
 import mineopoly_three.tiles.TileType;
 import mineopoly_three.util.DistanceUtil;
+import mineopoly_three.util.TileLocation;
 
 import java.awt.*;
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 
 public class ZaidStrategyCompetition implements MinePlayerStrategy {
+  private static final TileType[] RESOURCE_TILE_TYPES = {
+    TileType.RESOURCE_DIAMOND, TileType.RESOURCE_EMERALD, TileType.RESOURCE_RUBY
+  };
+
   private int inventorySize = 0;
   private int maxInventorySize;
   private int maxCharge;
   private int boardSize;
   private ArrayList<Point> marketTiles = new ArrayList<>();
   private ArrayList<Point> rechargeStations = new ArrayList<>();
+  // Reused every turn so that choosing an action doesn't allocate anything
+  private final Point currentLocation = new Point();
+  private final Point closestResource = new Point();
 
   /**
    * Called at the start of every round
@@ -88,18 +96,18 @@ public class ZaidStrategyCompetition implements MinePlayerStrategy {
   @Override
   public TurnAction getTurnAction(
       PlayerBoardView boardView, Economy economy, int currentCharge, boolean isRedTurn) {
-    if (findAllResourceTiles(boardView) == null) {
+    TileLocation yourLocation = boardView.getYourTileLocation();
+    currentLocation.setLocation(yourLocation.getX(), yourLocation.getY());
+    if (!findClosestResourceTile(boardView)) {
       return null;
     }
 
-    Point currentLocation = boardView.getYourLocation();
     Point closestMarket = findClosestMarketLocation(currentLocation);
-    Point closestResource =
-        findClosestResourceTile(currentLocation, findAllResourceTiles(boardView));
-    TurnAction goToResource = computeMovement(closestResource, currentLocation);
-    TurnAction goToRecharge = computeMovement(rechargeStations.get(0), currentLocation);
-    TurnAction goToMarket = computeMovement(closestMarket, currentLocation);
-    List<InventoryItem> itemAtCurrentLocation = boardView.getItemsOnGround().get(currentLocation);
+    int effectiveActions = boardView.getEffectiveActions();
+    TurnAction goToResource = computeMovement(closestResource, currentLocation, effectiveActions);
+    TurnAction goToRecharge =
+        computeMovement(rechargeStations.get(0), currentLocation, effectiveActions);
+    TurnAction goToMarket = computeMovement(closestMarket, currentLocation, effectiveActions);
 
     if (currentCharge <= maxCharge / 4 && goToRecharge != null) {
       return goToRecharge;
@@ -107,9 +115,7 @@ public class ZaidStrategyCompetition implements MinePlayerStrategy {
       return null;
     }
 
-    if (itemAtCurrentLocation != null
-        && !itemAtCurrentLocation.isEmpty()
-        && inventorySize < maxInventorySize) {
+    if (boardView.isEffective(TurnAction.PICK_UP_RESOURCE) && inventorySize < maxInventorySize) {
       inventorySize++;
       return TurnAction.PICK_UP_RESOURCE;
     }
@@ -181,8 +187,8 @@ public class ZaidStrategyCompetition implements MinePlayerStrategy {
    * @return true if the player is on the recharge Station
    */
   private boolean isOnRecharge(Point currentLocation, int currentCharge) {
-    for (Point rechargeStation : rechargeStations) {
-      if (currentLocation.equals(rechargeStation) && currentCharge != maxCharge) {
+    for (int i = 0; i < rechargeStations.size(); i++) {
+      if (currentLocation.equals(rechargeStations.get(i)) && currentCharge != maxCharge) {
         return true;
       }
     }
@@ -190,23 +196,35 @@ public class ZaidStrategyCompetition implements MinePlayerStrategy {
   }
 
   /**
-   * Computes the movement of the robot depending on the current and target location.
+   * Computes the movement of the robot depending on the current and target location. Moving up or
+   * down comes first, unless the other player is in the way and moving sideways also gets closer.
    *
    * @param targetLocation where the robot wants to move
    * @param currentLocation where the robot starts
-   * @return turnAction of the robot's movement
+   * @param effectiveActions the mask of actions that do something this turn, from the board view
+   * @return turnAction of the robot's movement, or null if it is already at the target
    */
-  private TurnAction computeMovement(Point targetLocation, Point currentLocation) {
+  private TurnAction computeMovement(
+      Point targetLocation, Point currentLocation, int effectiveActions) {
+    TurnAction verticalMove = null;
     if (targetLocation.y < currentLocation.y) {
-      return TurnAction.MOVE_DOWN;
+      verticalMove = TurnAction.MOVE_DOWN;
     } else if (targetLocation.y > currentLocation.y) {
-      return TurnAction.MOVE_UP;
-    } else if (targetLocation.x < currentLocation.x) {
-      return TurnAction.MOVE_LEFT;
+      verticalMove = TurnAction.MOVE_UP;
+    }
+    TurnAction horizontalMove = null;
+    if (targetLocation.x < currentLocation.x) {
+      horizontalMove = TurnAction.MOVE_LEFT;
     } else if (targetLocation.x > currentLocation.x) {
-      return TurnAction.MOVE_RIGHT;
+      horizontalMove = TurnAction.MOVE_RIGHT;
     }
-    return null;
+
+    if (verticalMove == null) {
+      return horizontalMove;
+    } else if (horizontalMove != null && !TurnActionMask.contains(effectiveActions, verticalMove)) {
+      return horizontalMove;
+    }
+    return verticalMove;
   }
 
   /**
@@ -229,48 +247,38 @@ public class ZaidStrategyCompetition implements MinePlayerStrategy {
   }
 
   /**
-   * Finds the closest resource tile, whether it be a Diamond or Emerald.
+   * Finds the closest resource tile to currentLocation, whether it be a Diamond or Emerald, and
+   * stores it in closestResource. Of several equally close tiles the one with the lowest x, and
+   * then the lowest y, is kept.
    *
-   * @param currentLocation the robot's current location
-   * @param resources an arrayList of all the resources on the board after every getTurnAction()
-   * @return a Point of the closest resource to the robot
+   * @param boardView access to all the tiles on the board after every turn action
+   * @return true if there is a resource tile left on the board
    */
-  private Point findClosestResourceTile(Point currentLocation, ArrayList<Point> resources) {
-    Point firstLocation = resources.get(0);
-
-    for (Point closestLocation : resources) {
-      if (DistanceUtil.getManhattanDistance(firstLocation, currentLocation)
-          > DistanceUtil.getManhattanDistance(closestLocation, currentLocation)) {
-        firstLocation = closestLocation;
-      }
-    }
-    return firstLocation;
-  }
+  private boolean findClosestResourceTile(PlayerBoardView boardView) {
+    boolean foundResource = false;
+    int closestDistance = 0;
 
-  /**
-   * Finds all the resource tiles on the board after every getTurnAction(), used in
-   * findClosestResourceTile().
-   *
-   * @param boardView access to all the points on the ground after every turn action
-   * @return an ArrayList<Point> of all the resources on the ground at that turn action
-   */
-  private ArrayList<Point> findAllResourceTiles(PlayerBoardView boardView) {
-    ArrayList<Point> resources = new ArrayList<>();
-
-    for (int row = 0; row < boardSize; row++) {
-      for (int col = 0; col < boardSize; col++) {
-        if (boardView.getTileTypeAtLocation(row, col) == TileType.RESOURCE_DIAMOND
-            || boardView.getTileTypeAtLocation(row, col) == TileType.RESOURCE_EMERALD
-            || boardView.getTileTypeAtLocation(row, col) == TileType.RESOURCE_RUBY) {
-          resources.add(new Point(row, col));
+    // Only the resource tiles are looked at, not every tile on the board
+    for (TileType resourceType : RESOURCE_TILE_TYPES) {
+      for (int i = 0; i < boardView.getNumResourceTiles(resourceType); i++) {
+        TileLocation location = boardView.getResourceTileLocation(resourceType, i);
+        int distance =
+            DistanceUtil.getManhattanDistance(
+                location.getX(), location.getY(), currentLocation.x, currentLocation.y);
+        boolean isCloser =
+            distance < closestDistance
+                || (distance == closestDistance
+                    && (location.getX() < closestResource.x
+                        || (location.getX() == closestResource.x
+                            && location.getY() < closestResource.y)));
+        if (!foundResource || isCloser) {
+          closestResource.setLocation(location.getX(), location.getY());
+          closestDistance = distance;
+          foundResource = true;
         }
       }
     }
-    if (resources.isEmpty()) {
-      return null;
-    }
-
-    return resources;
+    return foundResource;
   }
 
   public void setInventorySize(int inventorySize) {
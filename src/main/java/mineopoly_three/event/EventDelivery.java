@@ -0,0 +1,73 @@
+package mineopoly_three.event;
+
+/**
+ * How often a GameEventListener hears about events. Events between deliveries are batched into the next delivery,
+ *  and every listener hears about the end of a game as soon as it happens
+ */
+public class EventDelivery {
+    private static final EventDelivery EVERY_TURN = new EventDelivery(1);
+    private static final EventDelivery END_OF_GAME = new EventDelivery(0);
+
+    // How many TURN_ENDED events to batch together before delivering, or 0 to only deliver at the end of the game
+    private final int turnsBetweenDeliveries;
+
+    private EventDelivery(int turnsBetweenDeliveries) {
+        this.turnsBetweenDeliveries = turnsBetweenDeliveries;
+    }
+
+    /**
+     * @return A delivery at the end of every turn, along with anything else that happened during the turn
+     */
+    public static EventDelivery everyTurn() {
+        return EVERY_TURN;
+    }
+
+    /**
+     * @param numTurns The number of turns between deliveries
+     * @return A delivery after every numTurns turns
+     * @throws IllegalArgumentException If numTurns is less than 1
+     */
+    public static EventDelivery everyNTurns(int numTurns) {
+        if (numTurns < 1) {
+            throw new IllegalArgumentException("Events must be delivered at least every turn, not every " + numTurns);
+        }
+        return (numTurns == 1) ? EVERY_TURN : new EventDelivery(numTurns);
+    }
+
+    /**
+     * @return A single delivery when the game ends, with everything that happened during the game
+     */
+    public static EventDelivery endOfGame() {
+        return END_OF_GAME;
+    }
+
+    /**
+     * @param event The event that just happened
+     * @param turnsSinceLastDelivery The number of turns ended since the last delivery, including by this event
+     * @return True if the events batched so far should be delivered now
+     */
+    boolean shouldDeliver(GameEvent event, int turnsSinceLastDelivery) {
+        if (event == GameEvent.GAME_ENDED) {
+            return true;
+        }
+        return event == GameEvent.TURN_ENDED && turnsBetweenDeliveries > 0
+               && turnsSinceLastDelivery >= turnsBetweenDeliveries;
+    }
+
+    /**
+     * Works out how many of the turns in a delivery count towards the next one. Several turns can end in one event,
+     *  and the ones past a multiple of the turns between deliveries are carried over so deliveries still come
+     *  after the same turns as if every turn had ended on its own
+     *
+     * @param event The event that caused the delivery
+     * @param turnsSinceLastDelivery The number of turns ended since the delivery before it
+     * @return The number of turns the next batch starts with
+     */
+    int getTurnsCarriedOver(GameEvent event, int turnsSinceLastDelivery) {
+        if (event == GameEvent.GAME_ENDED || turnsBetweenDeliveries == 0) {
+            // The next game starts counting from scratch
+            return 0;
+        }
+        return turnsSinceLastDelivery % turnsBetweenDeliveries;
+    }
+}
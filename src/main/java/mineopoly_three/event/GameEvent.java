@@ -0,0 +1,13 @@
+package mineopoly_three.event;
+
+/**
+ * The kinds of changes a GameEngine tells its GameEventBus subscribers about
+ */
+public enum GameEvent {
+    /** Both players have taken their turn and the board has updated, or several idle turns were skipped at once */
+    TURN_ENDED,
+    /** Resource prices have changed, from demand growing at the end of a turn or from a sale */
+    PRICES_CHANGED,
+    /** The game is over, because it ran out of turns, someone won, or a strategy threw an exception */
+    GAME_ENDED
+}
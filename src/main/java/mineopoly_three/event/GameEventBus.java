@@ -0,0 +1,162 @@
+package mineopoly_three.event;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers GameEvents from a game to whoever has subscribed. Publishing with nobody subscribed costs a single field
+ *  read, so headless games pay nothing for events. Listeners either run synchronously on the thread playing the game,
+ *  or are handed to an Executor, like SwingUtilities::invokeLater, so a slow listener never holds up the game. An
+ *  asynchronous listener that falls behind gets everything that happened since its last delivery in one batch
+ *  instead of a queue of deliveries
+ */
+public class GameEventBus {
+    private static final GameEvent[] ALL_EVENTS = GameEvent.values();
+    // Every possible set of events indexed by a bit mask of event ordinals, so delivering never allocates
+    private static final Set<GameEvent>[] EVENT_SETS = createEventSets();
+
+    private volatile Subscription[] subscriptions = new Subscription[0];
+
+    // Java can't create an array of a generic type, so the untyped array is cast once here
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Set<GameEvent>[] createEventSets() {
+        Set<GameEvent>[] eventSets = new Set[1 << ALL_EVENTS.length];
+        for (int eventMask = 0; eventMask < eventSets.length; eventMask++) {
+            Set<GameEvent> events = EnumSet.noneOf(GameEvent.class);
+            for (GameEvent event : ALL_EVENTS) {
+                if ((eventMask & (1 << event.ordinal())) != 0) {
+                    events.add(event);
+                }
+            }
+            eventSets[eventMask] = Collections.unmodifiableSet(events);
+        }
+        return eventSets;
+    }
+
+    public boolean hasSubscribers() {
+        return subscriptions.length > 0;
+    }
+
+    /**
+     * Subscribes a listener that is called on the thread playing the game, before the game carries on
+     *
+     * @param listener The listener to call
+     * @param delivery How often to call the listener
+     */
+    public void subscribe(GameEventListener listener, EventDelivery delivery) {
+        addSubscription(new Subscription(listener, delivery, null));
+    }
+
+    /**
+     * Subscribes a listener that is called through an Executor, so the game never waits for it. If the listener
+     *  hasn't been called yet when more events are due, they are added to the delivery already waiting to run
+     *
+     * @param listener The listener to call
+     * @param delivery How often to call the listener
+     * @param executor Runs the calls to the listener, for example SwingUtilities::invokeLater for a GUI component
+     */
+    public void subscribeAsync(GameEventListener listener, EventDelivery delivery, Executor executor) {
+        addSubscription(new Subscription(listener, delivery, executor));
+    }
+
+    private synchronized void addSubscription(Subscription subscription) {
+        Subscription[] newSubscriptions = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+        newSubscriptions[subscriptions.length] = subscription;
+        subscriptions = newSubscriptions;
+    }
+
+    /**
+     * Stops delivering events to a listener. Deliveries already handed to an Executor may still run
+     *
+     * @param listener The listener to unsubscribe
+     */
+    public synchronized void unsubscribe(GameEventListener listener) {
+        Subscription[] newSubscriptions = Arrays.stream(subscriptions)
+                .filter(subscription -> subscription.listener != listener)
+                .toArray(Subscription[]::new);
+        subscriptions = newSubscriptions;
+    }
+
+    /**
+     * Lets every subscriber know something happened. This must only be called from the thread playing the game
+     *
+     * @param event The event that happened
+     */
+    public void publish(GameEvent event) {
+        publish(event, (event == GameEvent.TURN_ENDED) ? 1 : 0);
+    }
+
+    /**
+     * Lets every subscriber know that several turns ended at once, like the idle turns a GameEngine skips together.
+     *  Each subscriber gets at most one delivery for all of them, but they count as that many turns towards
+     *  EventDelivery.everyNTurns(). This must only be called from the thread playing the game
+     *
+     * @param numTurns The number of turns that ended
+     * @throws IllegalArgumentException If numTurns is less than 1
+     */
+    public void publishTurnsEnded(int numTurns) {
+        if (numTurns < 1) {
+            throw new IllegalArgumentException("At least one turn has to end, not " + numTurns);
+        }
+        publish(GameEvent.TURN_ENDED, numTurns);
+    }
+
+    private void publish(GameEvent event, int numTurnsEnded) {
+        Subscription[] currentSubscriptions = subscriptions;
+        for (Subscription subscription : currentSubscriptions) {
+            subscription.onEvent(event, numTurnsEnded);
+        }
+    }
+
+    private static class Subscription {
+        private final GameEventListener listener;
+        private final EventDelivery delivery;
+        private final Executor executor;
+
+        // Only touched by the thread playing the game
+        private int pendingEventMask;
+        private int turnsSinceLastDelivery;
+        // Events handed over to the executor but not yet delivered, 0 if no delivery is waiting to run
+        private final AtomicInteger queuedEventMask;
+
+        private Subscription(GameEventListener listener, EventDelivery delivery, Executor executor) {
+            this.listener = listener;
+            this.delivery = delivery;
+            this.executor = executor;
+            this.pendingEventMask = 0;
+            this.turnsSinceLastDelivery = 0;
+            this.queuedEventMask = new AtomicInteger(0);
+        }
+
+        private void onEvent(GameEvent event, int numTurnsEnded) {
+            pendingEventMask |= (1 << event.ordinal());
+            turnsSinceLastDelivery += numTurnsEnded;
+            if (!delivery.shouldDeliver(event, turnsSinceLastDelivery)) {
+                return;
+            }
+
+            int eventMask = pendingEventMask;
+            pendingEventMask = 0;
+            // The next batch counts its turns from this delivery, which after GAME_ENDED is the start of the next game
+            turnsSinceLastDelivery = delivery.getTurnsCarriedOver(event, turnsSinceLastDelivery);
+
+            if (executor == null) {
+                listener.onGameEvents(EVENT_SETS[eventMask]);
+            } else if (queuedEventMask.getAndAccumulate(eventMask, (queued, added) -> queued | added) == 0) {
+                // Nothing was waiting to be delivered, otherwise that delivery picks these events up too
+                executor.execute(this::deliverQueuedEvents);
+            }
+        }
+
+        private void deliverQueuedEvents() {
+            int eventMask = queuedEventMask.getAndSet(0);
+            if (eventMask != 0) {
+                listener.onGameEvents(EVENT_SETS[eventMask]);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package mineopoly_three.event;
+
+import java.util.Set;
+
+/**
+ * Something that wants to know when a game changes, like a GUI panel. Subscribe it to a GameEventBus
+ */
+public interface GameEventListener {
+    /**
+     * Called with every event that has happened since the last call, as often as the listener's EventDelivery says
+     *
+     * @param events The events that happened, which is never empty and must not be modified
+     */
+    void onGameEvents(Set<GameEvent> events);
+}
@@ -1,105 +1,385 @@
 package mineopoly_three.game;
 
+import mineopoly_three.event.GameEvent;
+import mineopoly_three.event.GameEventBus;
 import mineopoly_three.item.InventoryItem;
 import mineopoly_three.item.ItemType;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Observable;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
-public class Economy extends Observable {
-    private static final int NUM_UPDATES_BEFORE_NOTIFY = 10;
+public class Economy {
+    private static final int NUM_ITEM_TYPES = ItemType.values().length;
 
     private final ItemType[] sellableResourceTypes;
-    private Map<ItemType, Integer> resourcePrices;
-    private int updatesSinceLastNotify;
+    private final boolean[] isSellable;
+    // Prices only change on a sale, and otherwise grow linearly up to a cap, so for each resource (indexed by
+    //  ItemType.ordinal()) only its price right after its last sale and the demand turn of that sale are stored.
+    //  The current price is worked out from those when asked for, so increaseDemand() never has to touch them
+    private final int[] basePrices;
+    private final int[] baseDemandTurns;
+    private int numDemandTurns;
+    // Reused to count the items in each sale, and separately in each projected sale
+    private final int[] numSoldOfEachType;
+    private final int[] numProjectedOfEachType;
+    private final Map<ItemType, Integer> pricesView;
+    private final PriceHistory priceHistory;
+    // Where price changes are published, null if nothing is listening for them
+    private GameEventBus eventBus;
 
     public Economy(ItemType[] resourceTypes) {
         this.sellableResourceTypes = resourceTypes;
-        resourcePrices = new HashMap<>();
+        this.isSellable = new boolean[NUM_ITEM_TYPES];
+        for (ItemType resourceType : resourceTypes) {
+            isSellable[resourceType.ordinal()] = true;
+        }
+        this.basePrices = new int[NUM_ITEM_TYPES];
+        this.baseDemandTurns = new int[NUM_ITEM_TYPES];
+        this.numSoldOfEachType = new int[NUM_ITEM_TYPES];
+        this.numProjectedOfEachType = new int[NUM_ITEM_TYPES];
+        this.pricesView = new PricesView();
+        this.priceHistory = new PriceHistory(resourceTypes, GameEngine.MAX_TURNS_PER_GAME + 1);
+        this.reset();
+    }
+
+    /**
+     * Puts every resource back at its starting price so this Economy can be used for another game.
+     * The event bus stays set
+     */
+    protected void reset() {
         for (ItemType resourceType : sellableResourceTypes) {
-            resourcePrices.put(resourceType, resourceType.getStartingPrice());
+            basePrices[resourceType.ordinal()] = resourceType.getStartingPrice();
+            baseDemandTurns[resourceType.ordinal()] = 0;
         }
-        this.updatesSinceLastNotify = 0;
+        this.numDemandTurns = 0;
+        priceHistory.clear();
+        priceHistory.recordTurn(numDemandTurns, this);
     }
 
     /**
-     * Gets a copy of the current prices for each ResourceType
+     * @param eventBus The bus to publish PRICES_CHANGED on whenever prices change, or null to not publish anything
+     */
+    protected void setEventBus(GameEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Saves the current price of every resource into a snapshot
      *
-     * @return A Map from each ResourceType to its price
+     * @param snapshot The snapshot to overwrite
      */
-    public Map<ItemType, Integer> getCurrentPrices() {
-        // Nothing outside this class should be able to modify prices, need to make a copy
-        Map<ItemType, Integer> resourcePricesCopy = new HashMap<>();
-        for (ItemType resourceType : resourcePrices.keySet()) {
-            resourcePricesCopy.put(resourceType, resourcePrices.get(resourceType));
+    protected void captureState(GameStateSnapshot snapshot) {
+        for (int i = 0; i < sellableResourceTypes.length; i++) {
+            snapshot.resourcePrices[i] = getPrice(sellableResourceTypes[i]);
         }
-        return resourcePricesCopy;
+        snapshot.economyNumDemandTurns = numDemandTurns;
     }
 
     /**
-     * Increments the price for each ResourceType by its priceIncreasePerTurn value.
-     * Notifies any observers (like the GUI) that they should update every NUM_UPDATES_BEFORE_NOTIFY calls
+     * Puts every resource back at the price saved by captureState()
+     *
+     * @param snapshot The snapshot to restore
      */
-    protected void increaseDemand() {
-        for (ItemType resourceType : sellableResourceTypes) {
-            Integer currentPrice = resourcePrices.getOrDefault(resourceType, 0);
-            Integer nextPrice = currentPrice + resourceType.getPriceIncreasePerTurn();
-            if (nextPrice >= resourceType.getMaxPrice()) {
-                nextPrice = resourceType.getMaxPrice();
-            }
-            resourcePrices.put(resourceType, nextPrice);
+    protected void restoreState(GameStateSnapshot snapshot) {
+        this.numDemandTurns = snapshot.economyNumDemandTurns;
+        for (int i = 0; i < sellableResourceTypes.length; i++) {
+            rebasePrice(sellableResourceTypes[i], snapshot.resourcePrices[i]);
         }
 
-        // Let any observers, like the GUI, know to update after this updates some number of times
-        this.updatesSinceLastNotify++;
-        if (this.updatesSinceLastNotify >= NUM_UPDATES_BEFORE_NOTIFY) {
-            this.notifyObservers();
+        // The history up to the snapshot is still right, but anything after it never happened
+        priceHistory.forgetTurnsAfter(numDemandTurns);
+        if (priceHistory.isEmpty()) {
+            priceHistory.recordTurn(numDemandTurns, this);
         }
     }
 
+    protected int getNumResourceTypes() {
+        return sellableResourceTypes.length;
+    }
+
+    /**
+     * Gets the current price of a single resource without allocating anything
+     *
+     * @param resourceType The resource to get the price of
+     * @return The price one of that resource would sell for right now, or 0 if it can't be sold
+     */
+    public int getPrice(ItemType resourceType) {
+        return getProjectedPrice(resourceType, 0);
+    }
+
+    /**
+     * @return The price of every resource at the start of every turn so far this game
+     */
+    public PriceHistory getPriceHistory() {
+        return priceHistory;
+    }
+
+    /**
+     * Gets the current prices for each ResourceType. The map is a live, read-only view of this Economy rather than
+     *  a copy, so it always shows the latest prices and calling this method never allocates
+     *
+     * @return An unmodifiable Map from each ResourceType to its price
+     */
+    public Map<ItemType, Integer> getCurrentPrices() {
+        return pricesView;
+    }
+
+    /**
+     * Increments the price for each ResourceType by its priceIncreasePerTurn value, up to its maxPrice, and records
+     *  the new prices in the price history. Publishes PRICES_CHANGED so listeners (like the GUI) can update
+     */
+    protected void increaseDemand() {
+        increaseDemand(1);
+    }
+
+    /**
+     * Increases demand for several turns in a row in which nothing is sold, like calling increaseDemand() that many
+     *  times but only publishing PRICES_CHANGED once
+     *
+     * @param numTurns The number of turns to increase demand for
+     */
+    protected void increaseDemand(int numTurns) {
+        // Every price is worked out from this when it's asked for, see getPrice(), only the history needs each turn
+        for (int i = 0; i < numTurns; i++) {
+            numDemandTurns++;
+            priceHistory.recordTurn(numDemandTurns, this);
+        }
+        publishPricesChanged();
+    }
+
     /**
      * Calculates the total price for all InventoryItems in the passed in Collection.
      * Decreases the price for each resource according to newPrice = oldPrice * (1 - (numSold / 8)).
-     * Immediately notifies any observers (like the GUI) that they should update.
+     * Publishes PRICES_CHANGED so listeners (like the GUI) can update.
      *
      * @param itemsToSell The entire Collection of InventoryItems to be sold
      * @return The total price that all InventoryItems were sold for
      */
     protected int sellResources(Collection<InventoryItem> itemsToSell) {
         // Count the number of each resource type being sold
-        Map<ItemType, Integer> resourcesToNumSold = new HashMap<>();
+        for (int i = 0; i < NUM_ITEM_TYPES; i++) {
+            numSoldOfEachType[i] = 0;
+        }
         for (InventoryItem itemToSell : itemsToSell) {
             ItemType currentType = itemToSell.getItemType();
 
             if(currentType.isResource()) {
-                int numSold = resourcesToNumSold.getOrDefault(currentType, 0);
-                resourcesToNumSold.put(currentType, numSold + 1);
+                numSoldOfEachType[currentType.ordinal()]++;
             }
         }
+        return sellResources(numSoldOfEachType);
+    }
 
+    /**
+     * Sells resources that have already been counted by type, exactly like sellResources(Collection)
+     *
+     * @param numSoldOfEachType The number of each ItemType being sold, indexed by ItemType.ordinal(). Counts for
+     *                          types that are not resources are ignored
+     * @return The total price that all the resources were sold for
+     */
+    protected int sellResources(int[] numSoldOfEachType) {
         // We now know how many of each type are being sold, need to calculate how much they are all worth
         int totalSellPrice = 0;
         for (ItemType sellableResourceType : sellableResourceTypes) {
-            int numSoldOfType = resourcesToNumSold.getOrDefault(sellableResourceType, 0);
-            int priceForResource = resourcePrices.getOrDefault(sellableResourceType, 0);
+            int numSoldOfType = numSoldOfEachType[sellableResourceType.ordinal()];
+            if (numSoldOfType == 0) {
+                // Selling none of a resource leaves its price alone
+                continue;
+            }
+            int priceForResource = getPrice(sellableResourceType);
             totalSellPrice += numSoldOfType * priceForResource;
 
-            // Supply has gone up, decrease the sell price according to oldPrice * (1 - (numSold / 8))
-            int newResourcePrice = (int) (priceForResource * (1.0 - (numSoldOfType / 8.0)));
-            resourcePrices.put(sellableResourceType, newResourcePrice);
+            // Supply has gone up, decrease the sell price
+            rebasePrice(sellableResourceType, getPriceAfterSale(priceForResource, numSoldOfType));
         }
 
-        // Always notify observers on a sell
-        this.notifyObservers();
+        publishPricesChanged();
         return totalSellPrice;
     }
 
-    @Override
-    public void notifyObservers() {
-        this.setChanged();
-        super.notifyObservers();
-        this.updatesSinceLastNotify = 0;
+    /**
+     * Projects the price of a resource some turns from now, assuming nobody sells any of it until then
+     *
+     * @param resourceType The resource to get the price of
+     * @param turnsFromNow How many turns from now, where 0 is the current price
+     * @return The price one of that resource would sell for then, or 0 if it can't be sold
+     */
+    public int getProjectedPrice(ItemType resourceType, int turnsFromNow) {
+        int ordinal = resourceType.ordinal();
+        if (!isSellable[ordinal]) {
+            return 0;
+        }
+        int turnsSinceLastSale = numDemandTurns - baseDemandTurns[ordinal];
+        return getProjectedPrice(resourceType, basePrices[ordinal], turnsSinceLastSale + turnsFromNow);
+    }
+
+    /**
+     * Projects what a load of items would sell for if it reached a market some turns from now, assuming nobody
+     *  sells anything until then. This takes O(1) time however far ahead the sale is. To plan several sales in a row,
+     *  chain getPriceAfterSale() and getProjectedPrice(ItemType, int, int) from the prices this projects
+     *
+     * @param numOfEachType The number of each ItemType in the load, indexed by ItemType.ordinal(). Counts for types
+     *                      that can't be sold are ignored
+     * @param turnsFromNow How many turns from now the load is sold, where 0 is selling it at the current prices
+     * @return The total price the load would sell for
+     */
+    public int getProjectedSaleValue(int[] numOfEachType, int turnsFromNow) {
+        return getProjectedSaleValue(numOfEachType, 0, turnsFromNow);
+    }
+
+    /**
+     * Projects what a load of items would sell for, exactly like getProjectedSaleValue(int[], int)
+     *
+     * @param itemsToSell The items in the load
+     * @param turnsFromNow How many turns from now the load is sold, where 0 is selling it at the current prices
+     * @return The total price the load would sell for
+     */
+    public int getProjectedSaleValue(Collection<InventoryItem> itemsToSell, int turnsFromNow) {
+        for (int i = 0; i < NUM_ITEM_TYPES; i++) {
+            numProjectedOfEachType[i] = 0;
+        }
+        for (InventoryItem itemToSell : itemsToSell) {
+            numProjectedOfEachType[itemToSell.getItemType().ordinal()]++;
+        }
+        return getProjectedSaleValue(numProjectedOfEachType, 0, turnsFromNow);
+    }
+
+    /**
+     * Projects the sale value of many candidate plans in one call without allocating, for strategies that score
+     *  lots of routes every turn. Each plan is judged on its own, as if it were the only sale before it arrives
+     *
+     * @param planItemCounts The load of every plan one after another, one count per ItemType indexed by
+     *                       ItemType.ordinal(). Plan p's count of a type is at p * ItemType.values().length + ordinal
+     * @param planTurnsFromNow How many turns from now each plan reaches a market
+     * @param numPlans The number of plans to score
+     * @param saleValues Where to put the projected sale value of each plan
+     */
+    public void getProjectedSaleValues(int[] planItemCounts, int[] planTurnsFromNow, int numPlans, int[] saleValues) {
+        for (int plan = 0; plan < numPlans; plan++) {
+            saleValues[plan] = getProjectedSaleValue(planItemCounts, plan * NUM_ITEM_TYPES, planTurnsFromNow[plan]);
+        }
+    }
+
+    private int getProjectedSaleValue(int[] itemCounts, int countsOffset, int turnsFromNow) {
+        int totalSellPrice = 0;
+        for (ItemType sellableResourceType : sellableResourceTypes) {
+            int numOfType = itemCounts[countsOffset + sellableResourceType.ordinal()];
+            if (numOfType != 0) {
+                totalSellPrice += numOfType * getProjectedPrice(sellableResourceType, turnsFromNow);
+            }
+        }
+        return totalSellPrice;
+    }
+
+    private void rebasePrice(ItemType resourceType, int currentPrice) {
+        basePrices[resourceType.ordinal()] = currentPrice;
+        baseDemandTurns[resourceType.ordinal()] = numDemandTurns;
+    }
+
+    /**
+     * Computes the price of a resource some number of turns later if none of it is sold in the meantime. This is
+     *  exactly what calling getIncreasedPrice() numTurns times would give, because prices grow linearly up to a cap
+     *
+     * @param resourceType The resource whose price is increasing
+     * @param currentPrice The price of the resource now
+     * @param numTurns How many turns later to get the price for, at least 0
+     * @return The price of the resource numTurns turns from now
+     */
+    public static int getProjectedPrice(ItemType resourceType, int currentPrice, int numTurns) {
+        if (numTurns <= 0) {
+            return currentPrice;
+        }
+        long projectedPrice = currentPrice + (long) resourceType.getPriceIncreasePerTurn() * numTurns;
+        return (int) Math.min(projectedPrice, resourceType.getMaxPrice());
+    }
+
+    /**
+     * Computes the price of a resource one turn later, which goes up by its priceIncreasePerTurn up to its maxPrice
+     *
+     * @param resourceType The resource whose price is increasing
+     * @param currentPrice The price of the resource this turn
+     * @return The price of the resource next turn
+     */
+    public static int getIncreasedPrice(ItemType resourceType, int currentPrice) {
+        int nextPrice = currentPrice + resourceType.getPriceIncreasePerTurn();
+        if (nextPrice >= resourceType.getMaxPrice()) {
+            nextPrice = resourceType.getMaxPrice();
+        }
+        return nextPrice;
+    }
+
+    /**
+     * Computes the price of a resource after some of it is sold, according to oldPrice * (1 - (numSold / 8))
+     *
+     * @param priceBeforeSale The price each item of the resource sold for
+     * @param numSold The number of items of the resource sold at once
+     * @return The price of the resource after the sale
+     */
+    public static int getPriceAfterSale(int priceBeforeSale, int numSold) {
+        return (int) (priceBeforeSale * (1.0 - (numSold / 8.0)));
+    }
+
+    /**
+     * The read-only map returned by getCurrentPrices(), which reads prices straight out of the Economy
+     */
+    private class PricesView extends AbstractMap<ItemType, Integer> {
+        private final Set<Entry<ItemType, Integer>> entrySet = new AbstractSet<Entry<ItemType, Integer>>() {
+            @Override
+            public Iterator<Entry<ItemType, Integer>> iterator() {
+                return new Iterator<Entry<ItemType, Integer>>() {
+                    private int nextIndex = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return nextIndex < sellableResourceTypes.length;
+                    }
+
+                    @Override
+                    public Entry<ItemType, Integer> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        ItemType resourceType = sellableResourceTypes[nextIndex++];
+                        return new SimpleImmutableEntry<>(resourceType, getPrice(resourceType));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return sellableResourceTypes.length;
+            }
+        };
+
+        @Override
+        public Set<Entry<ItemType, Integer>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public int size() {
+            return sellableResourceTypes.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof ItemType && isSellable[((ItemType) key).ordinal()];
+        }
+
+        @Override
+        public Integer get(Object key) {
+            return containsKey(key) ? getPrice((ItemType) key) : null;
+        }
+    }
+
+    private void publishPricesChanged() {
+        if (eventBus != null) {
+            eventBus.publish(GameEvent.PRICES_CHANGED);
+        }
     }
 }
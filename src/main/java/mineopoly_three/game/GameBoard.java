@@ -1,15 +1,14 @@
 package mineopoly_three.game;
 
-import mineopoly_three.action.TurnAction;
-import mineopoly_three.graphics.ImageManager;
-import mineopoly_three.item.InventoryItem;
+import mineopoly_three.action.TurnActionMask;
+import mineopoly_three.item.ItemCounts;
 import mineopoly_three.item.ItemType;
 import mineopoly_three.strategy.PlayerBoardView;
 import mineopoly_three.tiles.*;
+import mineopoly_three.util.DistanceUtil;
+import mineopoly_three.util.TileLocation;
 
-import java.awt.*;
-import java.util.*;
-import java.util.List;
+import java.util.Arrays;
 
 public class GameBoard {
 
@@ -17,32 +16,59 @@ public class GameBoard {
     public static final int AUTOMINER_MULTIPLIER = 4;
 
     private Tile[][] board;
-    private Point redStartLocation;
-    private Point blueStartLocation;
+    private TileLocation redStartLocation;
+    private TileLocation blueStartLocation;
 
-    // A map of tile locations affected by an autominer to the number of turns they have been mined
-    private Map<Point, Integer> autominerTiles;
+    // The number of turns each tile has been mined by autominers, indexed by row * size + column of board
+    private int[] autominerTurnsMined;
+    // The row * size + column index of every tile with an autominer on it, kept sorted so autominers are always
+    //  processed from the top left of the board like a scan of every tile would
+    private int[] autominerTileIndexes;
+    private int numAutominers;
+
+    // The tiles that need Tile.update() called this turn, like a RECHARGE tile with a player on it
+    private final TileUpdateScheduler updateScheduler;
 
     // Variables to pre-compute things about the board and change them quickly on the fly
     private TileType[][] tileView;
-    private Map<Point, List<InventoryItem>> itemsOnGround;
+    private ItemsOnGround itemsOnGround;
+    // Where the tiles in tileView that are still an unmined resource are, kept up to date by setTileView()
+    private final ResourceTileIndex resourceTiles;
+    // The distance from every tile to the nearest market of each color, indexed by row * size + column of board.
+    //  Markets only change while a world is generated, so these are worked out the first time they're needed after
+    private final int[] redMarketDistances;
+    private final int[] blueMarketDistances;
+    private boolean marketDistancesValid;
 
+    /**
+     * @param tiles The tiles of the board, indexed by row then column with the top left tile at [0][0]. The board
+     *               keeps these Tiles for its whole life and changes them in place, it never replaces one
+     */
     public GameBoard(Tile[][] tiles) {
         board = tiles;
 
-        autominerTiles = new HashMap<>();
+        autominerTurnsMined = new int[board.length * board.length];
+        autominerTileIndexes = new int[board.length * board.length];
+        numAutominers = 0;
 
         // Pre-compute the intensive variables to give to a PlayerBoardView
-        itemsOnGround = new HashMap<>();
+        itemsOnGround = new ItemsOnGround(board.length);
+        resourceTiles = new ResourceTileIndex(board.length);
+        redMarketDistances = new int[board.length * board.length];
+        blueMarketDistances = new int[board.length * board.length];
+        marketDistancesValid = false;
+        updateScheduler = new TileUpdateScheduler();
         tileView = new TileType[board.length][board.length];
         for (int i = 0; i < tileView.length; i++) {
             for (int j = 0; j < tileView[i].length; j++) {
-                tileView[i][j] = board[i][j].getType();
+                setTileView(i, j, board[i][j].getType());
+                board[i][j].setUpdateScheduler(updateScheduler);
+                if (board[i][j].needsUpdates()) {
+                    updateScheduler.schedule(board[i][j]);
+                }
 
-                Point itemLocation = board[i][j].getLocation();
-                Point itemLocationCopy = new Point(itemLocation.x, itemLocation.y);
-                List<InventoryItem> items = new ArrayList<>(board[i][j].getItemsOnTile());
-                itemsOnGround.put(itemLocationCopy, items);
+                // Only tiles that have items on them end up tracked
+                trackItemsOnPoint(board[i][j].getLocation(), board[i][j].getItemsOnTile());
             }
         }
     }
@@ -51,35 +77,81 @@ public class GameBoard {
         return board.length;
     }
 
-    public Point getRedStartTileLocation() {
+    public TileLocation getRedStartTileLocation() {
         return redStartLocation;
     }
 
-    public Point getBlueStartTileLocation() {
+    public TileLocation getBlueStartTileLocation() {
         return blueStartLocation;
     }
 
-    public void setRedStartLocation(Point redStartLocation) {
+    public void setRedStartLocation(TileLocation redStartLocation) {
         this.redStartLocation = redStartLocation;
     }
 
-    public void setBlueStartLocation(Point blueStartLocation) {
+    public void setBlueStartLocation(TileLocation blueStartLocation) {
         this.blueStartLocation = blueStartLocation;
     }
 
-    public void trackItemsOnPoint(Point pointWithItem, List<InventoryItem> itemsOnPoint) {
-        itemsOnGround.put(pointWithItem, new ArrayList<>(itemsOnPoint));
+    /**
+     * Returns every location on this board to an empty tile with no items and no autominer progress, so the board
+     *  can be generated again for another game of the same size. The same Tiles are cleared in place
+     */
+    protected void clear() {
+        Arrays.fill(autominerTurnsMined, 0);
+        numAutominers = 0;
+        updateScheduler.clear();
+        itemsOnGround.clear();
+        for (int i = 0; i < board.length; i++) {
+            for (int j = 0; j < board[i].length; j++) {
+                board[i][j].clear();
+                tileView[i][j] = TileType.EMPTY;
+            }
+        }
+        resourceTiles.clear();
+        marketDistancesValid = false;
+
+        redStartLocation = null;
+        blueStartLocation = null;
+    }
+
+    /**
+     * Records the items now on a tile, for the views given to strategies and for the index of autominers. This must
+     *  be called whenever the items on a tile change, including when an autominer is placed or picked up
+     *
+     * @param pointWithItem The location of the tile
+     * @param itemsOnPoint The items now on the tile
+     */
+    public void trackItemsOnPoint(TileLocation pointWithItem, ItemCounts itemsOnPoint) {
+        int x = pointWithItem.getX();
+        int y = pointWithItem.getY();
+        itemsOnGround.setItems(x, y, itemsOnPoint);
+
+        boolean hasAutominer = itemsOnPoint.getCount(ItemType.AUTOMINER) > 0;
+        int tileIndex = ((board.length - 1) - y) * board.length + x;
+        int autominerIndex = Arrays.binarySearch(autominerTileIndexes, 0, numAutominers, tileIndex);
+        if (hasAutominer && autominerIndex < 0) {
+            int insertionIndex = -(autominerIndex + 1);
+            System.arraycopy(autominerTileIndexes, insertionIndex, autominerTileIndexes, insertionIndex + 1,
+                             numAutominers - insertionIndex);
+            autominerTileIndexes[insertionIndex] = tileIndex;
+            numAutominers++;
+        } else if (!hasAutominer && autominerIndex >= 0) {
+            System.arraycopy(autominerTileIndexes, autominerIndex + 1, autominerTileIndexes, autominerIndex,
+                             numAutominers - autominerIndex - 1);
+            numAutominers--;
+        }
     }
 
     /**
      * Gets the tile at the specified location in Cartesian (x, y) coordinates with (0, 0) as the bottom left tile
      *  and (boardSize - 1, boardSize - 1) as the top right tile
      *
-     * @param location A Point representing (x, y) coordinates of the tile to get
+     * @param location The (x, y) coordinates of the tile to get
      * @return The Tile at the specified location on the board
      */
-    public Tile getTileAtLocation(Point location) {
-        return getTileAtLocation(location.x, location.y);
+    public Tile getTileAtLocation(TileLocation location) {
+        return getTileAtLocation(location.getX(), location.getY());
     }
 
     /**
@@ -98,32 +170,146 @@ public class GameBoard {
     }
 
     /**
-     * Updates the Tile at the parameter tile's location to be the parameter tile. This function handles
-     *  logic like calling Tile.onEnter() if necessary
+     * Turns the tile at the specified location into an unmined tile of another kind, keeping the items on it.
+     *  Used while generating a world, so no player should be standing on the tile
      *
-     * @param newTile The Tile that will be set at the Point specified by newTile.getLocation()
+     * @param x The x coordinate of the tile to change
+     * @param y The y coordinate of the tile to change
+     * @param kind The new kind of the tile
+     * @param tileResource The resource the tile gives once it has been mined if kind is RESOURCE, otherwise null
      */
-    public void setTileAtTileLocation(Tile newTile) {
-        // Because tiles know their location, we don't need to pass it in
-        int x = newTile.getLocation().x;
-        int y = newTile.getLocation().y;
+    public void setTileKind(int x, int y, TileKind kind, ItemType tileResource) {
+        Tile tile = getTileAtLocation(x, y);
+        if (tile != null) {
+            tile.setKind(kind, tileResource);
+            marketDistancesValid = false;
+            if (tile.needsUpdates()) {
+                updateScheduler.schedule(tile);
+            }
+            trackTileChange(tile);
+        }
+    }
 
-        if (isValidLocation(x, y)) {
-            Tile oldTile = board[(board.length - 1) - y][x];
-            MinePlayer playerOnTile = oldTile.getPlayerOnTile();
+    /**
+     * Records the current type and items of a tile after an action may have changed it in place, for the views
+     *  given to strategies and for the index of autominers
+     *
+     * @param changedTile The tile that may have changed
+     */
+    public void trackTileChange(Tile changedTile) {
+        TileLocation location = changedTile.getLocation();
+        setTileView((board.length - 1) - location.getY(), location.getX(), changedTile.getType());
+        trackItemsOnPoint(location, changedTile.getItemsOnTile());
+    }
+
+    private void setTileView(int row, int column, TileType type) {
+        tileView[row][column] = type;
+        resourceTiles.setTileType(column, (board.length - 1) - row, type);
+    }
+
+    /**
+     * @return The number of tiles that still have a resource to be mined out of them
+     */
+    public int getNumResourceTiles() {
+        return resourceTiles.getNumTiles();
+    }
+
+    /**
+     * @return Where the tiles that still have a resource to be mined out of them are, which changes in place
+     */
+    public ResourceTileIndex getResourceTiles() {
+        return resourceTiles;
+    }
+
+    /**
+     * @return The number of resources lying on tiles, waiting to be picked up
+     */
+    public int getNumResourcesOnGround() {
+        return itemsOnGround.getNumResources();
+    }
+
+    /**
+     * Checks whether a player could possibly sell a resource within some number of turns. This is a lower bound
+     *  that ignores energy and the other player: it assumes every move succeeds, that a resource tile can be mined
+     *  out in no time (an autominer may already be working on it), and that picking a resource up takes one turn.
+     *  It is cheap while the turns given are more than any walk across the board takes, otherwise every tile is
+     *  checked for resources
+     *
+     * @param player The player who would sell
+     * @param numTurns The number of turns the player has left to act in
+     * @return False if the player can't possibly sell anything within numTurns turns
+     */
+    public boolean canSellWithin(MinePlayer player, int numTurns) {
+        boolean holdsResource = player.getInventory().getNumResources() > 0;
+        boolean resourcesLeft = resourceTiles.getNumTiles() > 0 || itemsOnGround.getNumResources() > 0;
+        if (!holdsResource && !resourcesLeft) {
+            return false;
+        }
+
+        // Walking to a resource and then to a market never takes more than two walks across the board plus a turn
+        int maxWalkDistance = 2 * (board.length - 1);
+        if (numTurns > 2 * maxWalkDistance) {
+            return true;
+        }
+
+        TileLocation playerLocation = player.getCurrentTile().getLocation();
+        if (holdsResource && getDistanceToMarket(player, playerLocation) <= numTurns) {
+            return true;
+        }
+        for (Tile[] row : board) {
+            for (Tile tile : row) {
+                boolean hasResource = tile.getKind() == TileKind.RESOURCE
+                        || tile.getItemsOnTile().getFirstResource() != null;
+                if (!hasResource) {
+                    continue;
+                }
+
+                int turnsToPickUp = DistanceUtil.getManhattanDistance(playerLocation, tile.getLocation()) + 1;
+                if (turnsToPickUp < numTurns
+                        && turnsToPickUp + getDistanceToMarket(player, tile.getLocation()) <= numTurns) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 
-            if (playerOnTile != null) {
-                oldTile.onExit(playerOnTile);
-                newTile.onEnter(playerOnTile);
-                playerOnTile.setCurrentTile(newTile);
+    /**
+     * @return The number of moves from a location to the nearest of the player's markets, or Integer.MAX_VALUE if
+     *          the player has no market on this board
+     */
+    private int getDistanceToMarket(MinePlayer player, TileLocation fromLocation) {
+        if (!marketDistancesValid) {
+            updateMarketDistances();
+        }
+        int tileIndex = ((board.length - 1) - fromLocation.getY()) * board.length + fromLocation.getX();
+        return player.isRedPlayer() ? redMarketDistances[tileIndex] : blueMarketDistances[tileIndex];
+    }
+
+    private void updateMarketDistances() {
+        Arrays.fill(redMarketDistances, Integer.MAX_VALUE);
+        Arrays.fill(blueMarketDistances, Integer.MAX_VALUE);
+        for (int marketRow = 0; marketRow < board.length; marketRow++) {
+            for (int marketColumn = 0; marketColumn < board.length; marketColumn++) {
+                TileKind kind = board[marketRow][marketColumn].getKind();
+                if (kind == TileKind.RED_MARKET) {
+                    addMarketDistances(redMarketDistances, marketRow, marketColumn);
+                } else if (kind == TileKind.BLUE_MARKET) {
+                    addMarketDistances(blueMarketDistances, marketRow, marketColumn);
+                }
             }
-            board[(board.length - 1) - y][x] = newTile;
-            tileView[(board.length - 1) - y][x] = newTile.getType();
         }
+        marketDistancesValid = true;
     }
 
-    private boolean isValidLocation(Point location) {
-        return isValidLocation(location.x, location.y);
+    private void addMarketDistances(int[] marketDistances, int marketRow, int marketColumn) {
+        for (int row = 0; row < board.length; row++) {
+            for (int column = 0; column < board.length; column++) {
+                int distance = Math.abs(row - marketRow) + Math.abs(column - marketColumn);
+                int tileIndex = row * board.length + column;
+                marketDistances[tileIndex] = Math.min(marketDistances[tileIndex], distance);
+            }
+        }
     }
 
     private boolean isValidLocation(int x, int y) {
@@ -139,50 +325,131 @@ public class GameBoard {
      * Called every turn for the board to update its internal state
      */
     public void update() {
+        update(1);
+    }
 
-        List<Point> autominers = new ArrayList<>();
+    /**
+     * Updates the board for several turns in a row in which neither player acts, exactly like calling update() that
+     *  many times. Recharging and autominer progress are worked out in one step, so this takes no longer for many
+     *  turns than for one
+     *
+     * @param numTurns The number of turns to update the board for
+     */
+    public void update(int numTurns) {
+        // Only tiles that have scheduled themselves do anything when updated
+        updateScheduler.updateScheduledTiles(numTurns);
+
+        // Autominers only change tiles, never the items that say where autominers are, so the index stays put
+        for (int k = 0; k < numAutominers; k++) {
+            int autominerTileIndex = autominerTileIndexes[k];
+            int i = autominerTileIndex / board.length;
+            int j = autominerTileIndex % board.length;
+
+            // The autominer's own tile, then left, right, below and above it. A tile next to two autominers is
+            //  mined by each of them in turn, in the order of the index
+            updateAutominedTile(i, j, numTurns);
+            if (j > 0) updateAutominedTile(i, j - 1, numTurns);
+            if (j < board.length - 1) updateAutominedTile(i, j + 1, numTurns);
+            if (i < board.length - 1) updateAutominedTile(i + 1, j, numTurns);
+            if (i > 0) updateAutominedTile(i - 1, j, numTurns);
+        }
 
-        for (int i = 0; i < board.length; i++) {
-            for (int j = 0; j < board.length; j++) {
-                Tile currentTile = board[i][j];
-                currentTile.update();
+    }
 
-                if(currentTile.getItemsOnTile().stream().anyMatch(x -> x.getItemType() == ItemType.AUTOMINER)) {
-                    autominers.add(currentTile.getLocation());
-                }
+    private void updateAutominedTile(int i, int j, int numTurns) {
+        int tileIndex = i * board.length + j;
+        int turnsMined = autominerTurnsMined[tileIndex];
+
+        Tile tile = board[i][j];
+        TileKind kind = tile.getKind();
+
+        if(kind == TileKind.EMPTY) {
+            // Cracking an empty tile leaves its TileType and items alone, so there's nothing to track
+            tile.mine();
+        } else if(kind == TileKind.RESOURCE) {
+            // The tile is mined on every turn its progress is a positive multiple of AUTOMINER_MULTIPLIER, until the
+            //  resource drops out and the tile cracks
+            int numTimesMined = countAutominerMines(turnsMined + numTurns) - countAutominerMines(turnsMined);
+            for (int k = 0; k < numTimesMined && tile.getKind() == TileKind.RESOURCE; k++) {
+                tile.mine();
+            }
+            if (numTimesMined > 0) {
+                trackTileChange(tile);
             }
         }
 
-        // All tiles that are affected by at least one autominer
-        List<Point> affectedTiles = new ArrayList<>();
-
-        for(Point miner : autominers) {
-            affectedTiles.add(new Point(miner.x, miner.y));
-            if(miner.x > 0) affectedTiles.add(new Point(miner.x - 1, miner.y));
-            if(miner.x < board.length - 1) affectedTiles.add(new Point(miner.x + 1, miner.y));
-            if(miner.y > 0) affectedTiles.add(new Point(miner.x, miner.y - 1));
-            if(miner.y < board.length - 1) affectedTiles.add(new Point(miner.x, miner.y + 1));
+        // A player standing on their own market where an autominer works sells again every turn. Turns updated
+        //  together have no actions in between to give them anything new, so one sale covers all of them
+        MinePlayer playerOnTile = tile.getPlayerOnTile();
+        if (playerOnTile != null && tile.getKind().isMarketFor(playerOnTile)) {
+            playerOnTile.sellItems();
         }
 
-        for(Point p : affectedTiles) {
-            int turnsMined = autominerTiles.getOrDefault(p, 0);
+        autominerTurnsMined[tileIndex] = turnsMined + numTurns;
+    }
 
-            Tile tile = getTileAtLocation(p);
+    /**
+     * @param turnsMined A tile's autominer progress
+     * @return The number of times an autominer mined the tile while its progress went from 0 up to turnsMined
+     */
+    private static int countAutominerMines(int turnsMined) {
+        return (turnsMined > 0) ? (turnsMined - 1) / AUTOMINER_MULTIPLIER : 0;
+    }
 
-            if(tile instanceof EmptyTile) {
-                tile = tile.interact(null, TurnAction.MINE);
-            } else if(turnsMined > 0 && tile instanceof ResourceTile) {
-                if(turnsMined % AUTOMINER_MULTIPLIER == 0) {
-                    tile = tile.interact(null, TurnAction.MINE);
-                    trackItemsOnPoint(p, tile.getItemsOnTile());
-                }
+    /**
+     * Saves the tiles, their mining progress, the items on them, who stands on them and the autominer progress
+     *  of this board into a snapshot
+     *
+     * @param snapshot The snapshot to overwrite, which must be for a board of this size
+     */
+    protected void captureState(GameStateSnapshot snapshot) {
+        for (int i = 0; i < board.length; i++) {
+            for (int j = 0; j < board.length; j++) {
+                int tileIndex = i * board.length + j;
+                Tile tile = board[i][j];
+                snapshot.tileKinds[tileIndex] = tile.getKind();
+                snapshot.tileResources[tileIndex] = tile.getTileResource();
+                snapshot.timesMined[tileIndex] = tile.getNumTimesMined();
+                snapshot.playersOnTiles[tileIndex] = tile.getPlayerOnTile();
+
+                tile.getItemsOnTile().copyTo(snapshot.itemCounts, tileIndex * ItemCounts.NUM_ITEM_TYPES);
             }
+        }
 
-            setTileAtTileLocation(tile);
+        System.arraycopy(autominerTurnsMined, 0, snapshot.autominerTurnsMined, 0, autominerTurnsMined.length);
+    }
 
-            autominerTiles.put(p, turnsMined + 1);
-        }
+    /**
+     * Puts this board back to the state saved in a snapshot by captureState()
+     *
+     * @param snapshot The snapshot to restore, which must have been taken from this board
+     */
+    protected void restoreState(GameStateSnapshot snapshot) {
+        System.arraycopy(snapshot.autominerTurnsMined, 0, autominerTurnsMined, 0, autominerTurnsMined.length);
+        updateScheduler.clear();
+        marketDistancesValid = false;
 
+        for (int i = 0; i < board.length; i++) {
+            for (int j = 0; j < board.length; j++) {
+                int tileIndex = i * board.length + j;
+                Tile tile = board[i][j];
+                tile.setKind(snapshot.tileKinds[tileIndex], snapshot.tileResources[tileIndex]);
+                tile.setNumTimesMined(snapshot.timesMined[tileIndex]);
+                setTileView(i, j, tile.getType());
+                tile.setPlayerOnTile(snapshot.playersOnTiles[tileIndex]);
+                if (tile.needsUpdates()) {
+                    updateScheduler.schedule(tile);
+                }
+
+                // Only retrack the tiles whose items actually changed since the snapshot
+                ItemCounts itemsOnTile = tile.getItemsOnTile();
+                int countsOffset = tileIndex * ItemCounts.NUM_ITEM_TYPES;
+                if (!itemsOnTile.hasCounts(snapshot.itemCounts, countsOffset)) {
+                    itemsOnTile.copyFrom(snapshot.itemCounts, countsOffset);
+                    trackItemsOnPoint(tile.getLocation(), itemsOnTile);
+                }
+            }
+        }
     }
 
     /**
@@ -195,9 +462,32 @@ public class GameBoard {
      *          player strategy is allowed to know
      */
     public PlayerBoardView convertToView(MinePlayer playerReceivingView, MinePlayer otherPlayer) {
-        Point otherPlayerLocation = otherPlayer.getCurrentTile().getLocation();
+        return this.convertToView(playerReceivingView, otherPlayer, null);
+    }
+
+    /**
+     * Converts this GameBoard into a view for one player like convertToView(MinePlayer, MinePlayer), but updates an
+     *  existing view in place when given one so handing out a view every turn doesn't allocate. A view updated in
+     *  place shows the live items map, which keeps changing after it is handed out, so only an engine with view
+     *  reuse enabled reuses views
+     *
+     * @param playerReceivingView The player who will receive this restricted information view
+     * @param otherPlayer The opposing player
+     * @param viewToReuse A view to update in place, or null to create a new one
+     * @return The view for this turn, which is viewToReuse if it wasn't null
+     */
+    public PlayerBoardView convertToView(MinePlayer playerReceivingView, MinePlayer otherPlayer,
+                                         PlayerBoardView viewToReuse) {
+        TileLocation otherPlayerLocation = otherPlayer.getCurrentTile().getLocation();
         int otherPlayerScore = otherPlayer.getScore();
-        return this.convertToView(playerReceivingView, otherPlayerLocation, otherPlayerScore);
+        if (viewToReuse == null) {
+            return this.convertToView(playerReceivingView, otherPlayerLocation, otherPlayerScore);
+        }
+
+        TileLocation playerLocation = playerReceivingView.getCurrentTile().getLocation();
+        viewToReuse.update(tileView, itemsOnGround.getView(), resourceTiles, playerLocation, otherPlayerLocation,
+                           otherPlayerScore, getEffectiveActions(playerReceivingView, otherPlayerLocation));
+        return viewToReuse;
     }
 
     /**
@@ -210,36 +500,36 @@ public class GameBoard {
      * @return A PlayerBoardView that contains all the information about this GameBoard for this turn which a
      *          player strategy is allowed to know
      */
-    public PlayerBoardView convertToView(MinePlayer playerReceivingView, Point otherPlayerLocation,
+    public PlayerBoardView convertToView(MinePlayer playerReceivingView, TileLocation otherPlayerLocation,
                                          int otherPlayerScore) {
-        // Because we're passing around references, we don't want one strategy to change what the other sees
-        //  so we need to be careful and make copies of data being passed by reference
-        Map<Point, List<InventoryItem>> itemsOnGroundCopy = new HashMap<>();
-        for (Point pointWithItem : itemsOnGround.keySet()) {
-            Point pointCopy = new Point(pointWithItem.x, pointWithItem.y);
-            itemsOnGroundCopy.put(pointCopy, new ArrayList<>(itemsOnGround.get(pointWithItem)));
-        }
-
-        // Make copies of these locations so they may not be modified by a strategy
-        Point playerLocation = playerReceivingView.getCurrentTile().getLocation();
-        Point playerLocationCopy = new Point(playerLocation.x, playerLocation.y);
-        Point otherLocationCopy = new Point(otherPlayerLocation.x, otherPlayerLocation.y);
+        // Because we're passing around references, we don't want one strategy to change what the other sees.
+        //  The items snapshot is read-only and never changes, so both players can share it and keep it.
+        //  TileLocations are immutable, so they can be shared without copying too
+        TileLocation playerLocation = playerReceivingView.getCurrentTile().getLocation();
         // We don't need to copy tileView because it is never given to the strategy by reference
-        return new PlayerBoardView(tileView, itemsOnGroundCopy, playerLocationCopy, otherLocationCopy, otherPlayerScore);
+        return new PlayerBoardView(tileView, itemsOnGround.getSnapshot(), resourceTiles, playerLocation,
+                                   otherPlayerLocation, otherPlayerScore,
+                                   getEffectiveActions(playerReceivingView, otherPlayerLocation));
     }
 
     /**
-     * Specifies how to render this GameBoard on the Graphics2D object passed in
+     * Works out which TurnActions would do something for a player this turn, see TurnActionMask
      *
-     * @param brush The Graphics2D object on which to render this GameBoard
-     * @param imageManager The ImageManager object that manages all images for the JPanel component rendering this GameBoard
+     * @param player The player to work out the actions for
+     * @param otherPlayerLocation The location of the opposing player, who blocks the tile it is on
+     * @return The mask of TurnActions that would do something
      */
-    public void paint(Graphics2D brush, ImageManager imageManager) {
-        for (int i = 0; i < board.length; i++) {
-            for (int j = 0; j < board[i].length; j++) {
-                Tile currentTile = board[i][j];
-                currentTile.paint(brush, board.length, imageManager);
-            }
-        }
+    public int getEffectiveActions(MinePlayer player, TileLocation otherPlayerLocation) {
+        Tile playerTile = player.getCurrentTile();
+        TileLocation playerLocation = playerTile.getLocation();
+        ItemCounts itemsOnTile = playerTile.getItemsOnTile();
+        ItemCounts inventory = player.getInventory();
+        int moveMask = TurnActionMask.getMoveMask(getSize(), playerLocation.getX(), playerLocation.getY(),
+                                                  otherPlayerLocation.getX(), otherPlayerLocation.getY());
+        int interactMask = TurnActionMask.getInteractMask(playerTile.getType(), itemsOnTile.getNumResources(),
+                                                          itemsOnTile.getCount(ItemType.AUTOMINER) > 0,
+                                                          inventory.size(), MinePlayer.MAX_ITEMS,
+                                                          inventory.getCount(ItemType.AUTOMINER) > 0);
+        return moveMask | interactMask;
     }
 }
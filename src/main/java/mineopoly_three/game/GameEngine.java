@@ -2,29 +2,43 @@ package mineopoly_three.game;
 
 import mineopoly_three.action.Action;
 import mineopoly_three.action.TurnAction;
+import mineopoly_three.event.GameEvent;
+import mineopoly_three.event.GameEventBus;
 import mineopoly_three.item.ItemType;
 import mineopoly_three.replay.Replay;
 import mineopoly_three.strategy.MinePlayerStrategy;
 import mineopoly_three.strategy.PlayerBoardView;
 import mineopoly_three.tiles.Tile;
+import mineopoly_three.util.GameSeeds;
+import mineopoly_three.util.TileLocation;
 
 import java.awt.Point;
 import java.util.Arrays;
-import java.util.Observable;
 import java.util.Random;
 
 @SuppressWarnings("unused")
-public class GameEngine extends Observable {
-    private static final int MAX_TURNS_PER_GAME = 1000;
+public class GameEngine {
+    static final int MAX_TURNS_PER_GAME = 1000;
     private static final double TURNS_PER_SECOND = 20;
 
-    private long randomSeed;
+    // Outlives reset() so listeners, like the GUI, only have to subscribe once
+    private final GameEventBus eventBus = new GameEventBus();
+    private GameSeeds seeds;
+    private WorldGenerator worldGenerator;
     private GameBoard board;
     private MinePlayer redPlayer;
     private MinePlayer bluePlayer;
     private Economy economy;
     private boolean guiEnabled;
+    private boolean recyclingEnabled;
+    private boolean viewReuseEnabled;
+    private boolean earlyTerminationEnabled;
     private int minScoreToWin;
+    private int turnNumber;
+    private boolean isRedTurn;
+    // The views handed to each color's strategy, updated in place every turn while view reuse is enabled
+    private PlayerBoardView redPlayerView;
+    private PlayerBoardView bluePlayerView;
 
     // Variables to greatly simplify exception flow logic
     private MinePlayer playerWhoThrewException;
@@ -40,17 +54,35 @@ public class GameEngine extends Observable {
 
         Tile redStartTile = board.getTileAtLocation(board.getRedStartTileLocation());
         Tile blueStartTile = board.getTileAtLocation(board.getBlueStartTileLocation());
-        this.redPlayer = new MinePlayer(redPlayerStrategy, redStartTile, economy, randomSeed, true);
-        this.bluePlayer = new MinePlayer(bluePlayerStrategy, blueStartTile, economy, randomSeed, false);
+        this.redPlayer = new MinePlayer(redPlayerStrategy, redStartTile, economy, seeds.getPlayerSeed(true), true);
+        this.bluePlayer = new MinePlayer(bluePlayerStrategy, blueStartTile, economy, seeds.getPlayerSeed(false), false);
         this.guiEnabled = false;
+        this.recyclingEnabled = false;
+        this.viewReuseEnabled = false;
+        this.earlyTerminationEnabled = false;
     }
 
     private void setupEngineForGame(int boardSize, long randomSeed) {
-        this.randomSeed = randomSeed;
-        WorldGenerator worldGenerator = new WorldGenerator(randomSeed);
+        this.seeds = new GameSeeds(randomSeed);
+        this.worldGenerator = new WorldGenerator(seeds.getWorldSeed());
         this.board = worldGenerator.generateBoard(boardSize);
         this.economy = new Economy(Arrays.stream(ItemType.values()).filter(ItemType::isResource).toArray(ItemType[]::new));
+        economy.setEventBus(eventBus);
         this.minScoreToWin = 30 * boardSize * boardSize;
+        this.turnNumber = 0;
+        this.isRedTurn = true;
+
+        this.playerWhoThrewException = null;
+        this.exceptionThrown = null;
+    }
+
+    private void recycleEngineForGame(long randomSeed) {
+        this.seeds = new GameSeeds(randomSeed);
+        worldGenerator.setSeed(seeds.getWorldSeed());
+        worldGenerator.generateBoard(board);
+        economy.reset();
+        this.turnNumber = 0;
+        this.isRedTurn = true;
 
         this.playerWhoThrewException = null;
         this.exceptionThrown = null;
@@ -60,23 +92,33 @@ public class GameEngine extends Observable {
      * Allows the same GameEngine object to be used for multiple games
      *
      * @param newBoardSize The size of the new game board to be generated
-     * @param newSeed The new random seed value for world generation and the strategies to use
+     * @param newSeed The seed of the new game, which every source of randomness in it is derived from
      * @param swapPlayers If true, the last red player will be the next blue player and vice versa
      */
     public void reset(int newBoardSize, long newSeed, boolean swapPlayers) {
-        this.setupEngineForGame(newBoardSize, newSeed);
-
         MinePlayerStrategy redPlayerStrategy = this.redPlayer.getStrategy();
         MinePlayerStrategy bluePlayerStrategy = this.bluePlayer.getStrategy();
-        Tile redStartTile = board.getTileAtLocation(board.getRedStartTileLocation());
-        Tile blueStartTile = board.getTileAtLocation(board.getBlueStartTileLocation());
         if (swapPlayers) {
-            this.redPlayer = new MinePlayer(bluePlayerStrategy, redStartTile, economy, randomSeed, true);
-            this.bluePlayer = new MinePlayer(redPlayerStrategy, blueStartTile, economy, randomSeed, false);
-        } else {
-            this.redPlayer = new MinePlayer(redPlayerStrategy, redStartTile, economy, randomSeed, true);
-            this.bluePlayer = new MinePlayer(bluePlayerStrategy, blueStartTile, economy, randomSeed, false);
+            MinePlayerStrategy lastRedPlayerStrategy = redPlayerStrategy;
+            redPlayerStrategy = bluePlayerStrategy;
+            bluePlayerStrategy = lastRedPlayerStrategy;
+        }
+
+        if (recyclingEnabled && board.getSize() == newBoardSize) {
+            // Generate the new world into the old board and clear the old players and economy in place
+            this.recycleEngineForGame(newSeed);
+            Tile redStartTile = board.getTileAtLocation(board.getRedStartTileLocation());
+            Tile blueStartTile = board.getTileAtLocation(board.getBlueStartTileLocation());
+            this.redPlayer.reset(redPlayerStrategy, redStartTile, seeds.getPlayerSeed(true));
+            this.bluePlayer.reset(bluePlayerStrategy, blueStartTile, seeds.getPlayerSeed(false));
+            return;
         }
+
+        this.setupEngineForGame(newBoardSize, newSeed);
+        Tile redStartTile = board.getTileAtLocation(board.getRedStartTileLocation());
+        Tile blueStartTile = board.getTileAtLocation(board.getBlueStartTileLocation());
+        this.redPlayer = new MinePlayer(redPlayerStrategy, redStartTile, economy, seeds.getPlayerSeed(true), true);
+        this.bluePlayer = new MinePlayer(bluePlayerStrategy, blueStartTile, economy, seeds.getPlayerSeed(false), false);
     }
 
     public GameBoard getBoard() {
@@ -95,6 +137,16 @@ public class GameEngine extends Observable {
         return economy;
     }
 
+    /**
+     * @return The bus this engine publishes a TURN_ENDED event on after every turn, PRICES_CHANGED whenever resource
+     *  prices change, and GAME_ENDED when runGame() finishes. Turns where both players hold still are skipped
+     *  together with one TURN_ENDED, which still counts as every one of those turns towards
+     *  EventDelivery.everyNTurns(), unless the GUI is enabled. The bus stays the same across reset()
+     */
+    public GameEventBus getEventBus() {
+        return eventBus;
+    }
+
     public int getRedPlayerScore() {
         return redPlayer.getScore();
     }
@@ -108,12 +160,77 @@ public class GameEngine extends Observable {
         return minScoreToWin;
     }
 
+    public int getTurnNumber() {
+        return turnNumber;
+    }
+
+    /**
+     * Saves the state of the game in progress: every tile and the items on it, autominer progress, both players'
+     *  inventories, energy, scores and random number generators, resource prices, and whose turn it is.
+     * Strategies are not part of the snapshot, they keep whatever state they have
+     *
+     * @return A new snapshot of the current game
+     */
+    public GameStateSnapshot captureSnapshot() {
+        return captureSnapshot(null);
+    }
+
+    /**
+     * Saves the state of the game in progress like captureSnapshot(), but overwrites an existing snapshot when
+     *  possible so that taking many snapshots does not allocate
+     *
+     * @param snapshotToReuse A snapshot from an earlier call, or null to always create a new one
+     * @return snapshotToReuse if it was for a board of the same size, otherwise a new snapshot
+     */
+    public GameStateSnapshot captureSnapshot(GameStateSnapshot snapshotToReuse) {
+        GameStateSnapshot snapshot = snapshotToReuse;
+        if (snapshot == null || snapshot.boardSize != board.getSize()) {
+            snapshot = new GameStateSnapshot(board.getSize(), economy.getNumResourceTypes());
+        }
+
+        board.captureState(snapshot);
+        redPlayer.captureState(snapshot.redPlayerState);
+        bluePlayer.captureState(snapshot.bluePlayerState);
+        economy.captureState(snapshot);
+        snapshot.turnNumber = turnNumber;
+        snapshot.isRedTurn = isRedTurn;
+        return snapshot;
+    }
+
+    /**
+     * Puts the game back to the state saved in a snapshot. The snapshot must have been taken from this game,
+     *  before any reset(), and no later than the current turn
+     *
+     * @param snapshot The snapshot to restore
+     * @throws IllegalArgumentException If the snapshot is for a different board size
+     */
+    public void restoreSnapshot(GameStateSnapshot snapshot) {
+        if (snapshot.boardSize != board.getSize()) {
+            throw new IllegalArgumentException("Snapshot is for a board of size " + snapshot.boardSize
+                                               + ", not " + board.getSize());
+        }
+
+        board.restoreState(snapshot);
+        redPlayer.restoreState(snapshot.redPlayerState, board);
+        bluePlayer.restoreState(snapshot.bluePlayerState, board);
+        economy.restoreState(snapshot);
+        this.turnNumber = snapshot.turnNumber;
+        this.isRedTurn = snapshot.isRedTurn;
+    }
+
     public Exception getExceptionThrown() {
         return exceptionThrown;
     }
 
     public long getRandomSeed() {
-        return randomSeed;
+        return seeds.getGameSeed();
+    }
+
+    /**
+     * @return The seeds of every source of randomness in the current game, all derived from getRandomSeed()
+     */
+    public GameSeeds getSeeds() {
+        return seeds;
     }
 
     public boolean isGuiEnabled() {
@@ -124,74 +241,147 @@ public class GameEngine extends Observable {
         this.guiEnabled = guiEnabled;
     }
 
+    public boolean isRecyclingEnabled() {
+        return this.recyclingEnabled;
+    }
+
+    /**
+     * When recycling is enabled, reset() to a board of the same size generates the new world into the existing
+     *  GameBoard and clears the existing players and Economy in place instead of allocating new ones. The objects
+     *  returned by getBoard(), getRedPlayer(), getBluePlayer() and getEconomy() then stay the same across games,
+     *  so nothing should hold on to them expecting the last game's state
+     *
+     * @param recyclingEnabled Whether reset() should reuse this engine's objects when possible
+     */
+    public void setRecyclingEnabled(boolean recyclingEnabled) {
+        this.recyclingEnabled = recyclingEnabled;
+    }
+
+    public boolean isViewReuseEnabled() {
+        return this.viewReuseEnabled;
+    }
+
+    /**
+     * When view reuse is enabled, each strategy is handed the same PlayerBoardView every turn, updated in place over
+     *  a live map of the items on the ground, instead of a new view over a map that never changes. This saves
+     *  allocating a view every turn, but a strategy that keeps a view or an items map from an earlier turn sees it
+     *  change, so only enable it for strategies known not to, like the built-in ones
+     *
+     * @param viewReuseEnabled Whether to update one view per strategy in place instead of creating one every turn
+     */
+    public void setViewReuseEnabled(boolean viewReuseEnabled) {
+        this.viewReuseEnabled = viewReuseEnabled;
+    }
+
+    public boolean isEarlyTerminationEnabled() {
+        return this.earlyTerminationEnabled;
+    }
+
+    /**
+     * When early termination is enabled, runGame() stops as soon as isGameDecided() is true instead of playing out
+     *  the rest of the turns, checking after every turn or run of idle turns skipped together. Both players end with
+     *  the same scores as if every turn had been played, but the game ends on an earlier turn number with a shorter
+     *  replay, and a strategy that would have thrown an exception on one of the skipped turns keeps its score.
+     *  Meant for running many games where only the scores matter
+     *
+     * @param earlyTerminationEnabled Whether runGame() should stop once neither score can change
+     */
+    public void setEarlyTerminationEnabled(boolean earlyTerminationEnabled) {
+        this.earlyTerminationEnabled = earlyTerminationEnabled;
+    }
+
+    /**
+     * Checks whether neither player's score can change for the rest of the game. Points only come from selling
+     *  resources, so the game is decided once neither player can carry a resource to their market in the turns
+     *  left, which includes there being no resources left anywhere at all. A game that ends because a player won
+     *  isn't counted here, since reaching the winning score still depends on every turn before it
+     *
+     * @return True if neither player can sell anything before the game runs out of turns
+     */
+    public boolean isGameDecided() {
+        int turnsLeft = MAX_TURNS_PER_GAME - turnNumber;
+        return !board.canSellWithin(redPlayer, turnsLeft) && !board.canSellWithin(bluePlayer, turnsLeft);
+    }
+
     public Replay getReplay() {
         boolean redThrewException = (playerWhoThrewException == redPlayer);
         boolean blueThrewException = (playerWhoThrewException == bluePlayer);
-        return new Replay(board.getSize(), randomSeed, redPlayer.getAllTurnActions(), bluePlayer.getAllTurnActions(),
+        return new Replay(board.getSize(), seeds.getGameSeed(), redPlayer.getAllTurnActions(), bluePlayer.getAllTurnActions(),
                           redThrewException, blueThrewException);
     }
 
     /**
      * Runs through a round of Mine-opoly until either the maximum number of turns is reached
      *  or a player achieves the score needed to win. If either player strategy throws an exception at any time,
-     *  that strategy will receive a score of -1 and the game will end
+     *  that strategy will receive a score of -1 and the game will end. If the GUI is enabled and the thread running
+     *  the game is interrupted, the game stops before its next turn and the thread stays interrupted
      */
     public void runGame() {
         // Wait a few seconds at the start for graphical components to load
-        delayBetweenGuiFrames(2000);
+        boolean startedInTime = delayBetweenGuiFrames(2000);
 
         try {
-            runGameLoop();
+            if (startedInTime) {
+                runGameLoop();
+            }
         } catch (Exception e) {
             // It's generally bad practice to catch generic Exceptions, but because a strategy can throw an exception
             // of any type, it's unavoidable here
             playerWhoThrewException.setScore(-1);
             this.exceptionThrown = e;
-
-            // Let anything watching update
-            setChanged();
-            notifyObservers();
             e.printStackTrace();
         }
+
+        // Let anything watching, like the GUI, know the game is over however it ended
+        eventBus.publish(GameEvent.GAME_ENDED);
     }
 
     private void runGameLoop() {
         initializePlayer(redPlayer, true);
         initializePlayer(bluePlayer, false);
 
-        int turnNumber = 0;
-        boolean isRedTurn = true;
+        turnNumber = 0;
+        isRedTurn = true;
         MinePlayer firstPlayer;
         MinePlayer secondPlayer;
         boolean roundHasWinner = false;
-
-        while (turnNumber < MAX_TURNS_PER_GAME && !roundHasWinner) {
-            delayBetweenGuiFrames((long) (1000 / TURNS_PER_SECOND));
-
-            if (isRedTurn) {
-                firstPlayer = redPlayer;
-                secondPlayer = bluePlayer;
+        boolean gameDecided = false;
+
+        while (turnNumber < MAX_TURNS_PER_GAME && !roundHasWinner && !gameDecided) {
+            int numIdleTurns = getNumIdleTurns();
+            int numTurnsPlayed;
+            if (numIdleTurns > 0) {
+                skipIdleTurns(numIdleTurns);
+                numTurnsPlayed = numIdleTurns;
             } else {
-                firstPlayer = bluePlayer;
-                secondPlayer = redPlayer;
-            }
+                if (!delayBetweenGuiFrames((long) (1000 / TURNS_PER_SECOND))) {
+                    // Whoever is running this game wants it to stop, end it here instead of playing on unpaced
+                    break;
+                }
 
-            processTurn(firstPlayer, secondPlayer, isRedTurn);
-            processTurn(secondPlayer, firstPlayer, isRedTurn);
+                if (isRedTurn) {
+                    firstPlayer = redPlayer;
+                    secondPlayer = bluePlayer;
+                } else {
+                    firstPlayer = bluePlayer;
+                    secondPlayer = redPlayer;
+                }
 
-            board.update();
+                processTurn(firstPlayer, secondPlayer, isRedTurn);
+                processTurn(secondPlayer, firstPlayer, isRedTurn);
 
-            firstPlayer.setCurrentTile(board.getTileAtLocation(firstPlayer.getCurrentTile().getLocation()));
-            secondPlayer.setCurrentTile(board.getTileAtLocation(secondPlayer.getCurrentTile().getLocation()));
+                board.update();
 
-            economy.increaseDemand();
+                economy.increaseDemand();
 
-            isRedTurn = !isRedTurn;
-            turnNumber++;
+                isRedTurn = !isRedTurn;
+                turnNumber++;
+                numTurnsPlayed = 1;
+            }
             roundHasWinner = (redPlayer.getScore() >= minScoreToWin) || (bluePlayer.getScore() >= minScoreToWin);
-            // The state of the engine has changed, let anything observing it (like the GUI) know
-            this.setChanged();
-            this.notifyObservers();
+            gameDecided = earlyTerminationEnabled && isGameDecided();
+            // The state of the engine has changed, let anything listening (like the GUI) know how many turns passed
+            eventBus.publishTurnsEnded(numTurnsPlayed);
         }
 
         endRound();
@@ -203,12 +393,13 @@ public class GameEngine extends Observable {
         int boardSize = board.getSize();
         int maxInventorySize = MinePlayer.MAX_ITEMS;
         int maxCharge = MinePlayer.MAX_ENERGY;
-        Point playerStartLocation = playerToInitialize.getCurrentTile().getLocation();
-        Point playerStartCopy = new Point(playerStartLocation.x, playerStartLocation.y);
+        // Strategies are given their start location as a Point, which they may change, so it has to be a new one
+        TileLocation playerStartLocation = playerToInitialize.getCurrentTile().getLocation();
+        Point playerStartCopy = new Point(playerStartLocation.getX(), playerStartLocation.getY());
 
         // Figure out start tiles based on color
-        Point startTileLocation;
-        Point opponentStartTile;
+        TileLocation startTileLocation;
+        TileLocation opponentStartTile;
         if (playerToInitialize.isRedPlayer()) {
             startTileLocation = board.getRedStartTileLocation();
             opponentStartTile = board.getBlueStartTileLocation();
@@ -220,19 +411,66 @@ public class GameEngine extends Observable {
         // Get the initial view of the board and finally initialize the strategy
         PlayerBoardView startingBoard = board.convertToView(playerToInitialize, opponentStartTile, 0);
         playerToInitialize.getStrategy().initialize(boardSize, maxInventorySize, maxCharge, minScoreToWin,
-                                                    startingBoard, playerStartCopy, isRedPlayer, new Random(randomSeed));
+                                                    startingBoard, playerStartCopy, isRedPlayer,
+                                                    new Random(seeds.getStrategySeed(isRedPlayer)));
         board.getTileAtLocation(startTileLocation).onEnter(playerToInitialize);
     }
 
+    /**
+     * Works out how many turns from now both players are holding still, see MinePlayerStrategy.getHoldIntent().
+     *  Nothing is skipped while the GUI is showing every turn
+     *
+     * @return The number of turns that can be skipped at once, or 0 if the next turn has to be played normally
+     */
+    private int getNumIdleTurns() {
+        if (guiEnabled) {
+            return 0;
+        }
+        int numIdleTurns = Math.min(redPlayer.getNumIdleTurns(), bluePlayer.getNumIdleTurns());
+        return Math.min(numIdleTurns, MAX_TURNS_PER_GAME - turnNumber);
+    }
+
+    /**
+     * Plays turns on which neither player does anything all at once, without asking either strategy
+     *
+     * @param numTurns The number of turns to skip, which both players must be holding still for
+     */
+    private void skipIdleTurns(int numTurns) {
+        redPlayer.continueHold(numTurns);
+        bluePlayer.continueHold(numTurns);
+        board.update(numTurns);
+        economy.increaseDemand(numTurns);
+
+        if (numTurns % 2 == 1) {
+            isRedTurn = !isRedTurn;
+        }
+        turnNumber += numTurns;
+    }
+
     private void processTurn(MinePlayer currentPlayer, MinePlayer otherPlayer, boolean isRedTurn) {
         playerWhoThrewException = currentPlayer; // If an exception gets thrown, we know who did it
 
-        // Ask the player what they want to do
-        PlayerBoardView boardView = board.convertToView(currentPlayer, otherPlayer);
-        MinePlayerStrategy playerStrategy = currentPlayer.getStrategy();
-        int robotCharge = currentPlayer.getCurrentEnergy();
-        TurnAction playerAction = playerStrategy.getTurnAction(boardView, economy, robotCharge, isRedTurn);
-        currentPlayer.addTurnAction(playerAction);
+        TurnAction playerAction;
+        if (currentPlayer.isHolding()) {
+            // The strategy promised to do the same thing again, so there's no need for a view or to ask it
+            playerAction = currentPlayer.continueHold(1);
+        } else {
+            // Ask the player what they want to do
+            PlayerBoardView boardView;
+            if (!viewReuseEnabled) {
+                // A new view every turn, so a strategy can keep an earlier one and it won't change
+                boardView = board.convertToView(currentPlayer, otherPlayer);
+            } else if (currentPlayer.isRedPlayer()) {
+                boardView = redPlayerView = board.convertToView(currentPlayer, otherPlayer, redPlayerView);
+            } else {
+                boardView = bluePlayerView = board.convertToView(currentPlayer, otherPlayer, bluePlayerView);
+            }
+            MinePlayerStrategy playerStrategy = currentPlayer.getStrategy();
+            int robotCharge = currentPlayer.getCurrentEnergy();
+            playerAction = playerStrategy.getTurnAction(boardView, economy, robotCharge, isRedTurn);
+            currentPlayer.addTurnAction(playerAction);
+            currentPlayer.startHold(playerAction, playerStrategy.getHoldIntent());
+        }
         if (playerAction == null) {
             return;
         }
@@ -252,15 +490,26 @@ public class GameEngine extends Observable {
         playerWhoThrewException = null;
     }
 
-    private void delayBetweenGuiFrames(long millisecondsToWait) {
+    /**
+     * Waits between frames so the GUI can show each turn, and doesn't wait at all when the GUI is disabled
+     *
+     * @param millisecondsToWait How long to wait
+     * @return False if the thread was interrupted, in which case the game should stop
+     */
+    private boolean delayBetweenGuiFrames(long millisecondsToWait) {
         if (!guiEnabled) {
-            return;
+            return true;
         }
 
+        // Sleeping outside of any monitor lets a game on a virtual thread unmount instead of pinning its carrier
         try {
             Thread.sleep(millisecondsToWait);
+            return true;
         } catch (InterruptedException e) {
-            System.err.println("Sleeping in between turns failed");
+            // Keep the interrupt so whoever is running this game, like a match executor, can still see it
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted in between turns, stopping the game");
+            return false;
         }
     }
 }
@@ -0,0 +1,76 @@
+package mineopoly_three.game;
+
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.item.ItemCounts;
+import mineopoly_three.item.ItemType;
+import mineopoly_three.strategy.HoldIntent;
+import mineopoly_three.tiles.TileKind;
+
+/**
+ * A saved copy of everything in a GameEngine that changes while a game is played, taken with
+ *  GameEngine.captureSnapshot() and put back with GameEngine.restoreSnapshot().
+ * Players are shared with the live game by reference instead of being copied, and only the values that change
+ *  (tile kinds, mining progress, how many of each item are where, who stands where) are stored in flat arrays.
+ *  A snapshot can be passed back into captureSnapshot() to be overwritten, so taking one after another
+ *  does not allocate. A snapshot only belongs to the game it was taken from, a reset() makes it useless
+ */
+public class GameStateSnapshot {
+    final int boardSize;
+
+    // Board state, indexed by row * boardSize + column just like GameBoard's board array
+    final TileKind[] tileKinds;
+    final ItemType[] tileResources;
+    final int[] timesMined;
+    final MinePlayer[] playersOnTiles;
+    final int[] autominerTurnsMined;
+    // itemCounts[tileIndex * ItemCounts.NUM_ITEM_TYPES + ItemType ordinal] is how many of that item are on the tile
+    final int[] itemCounts;
+
+    final PlayerState redPlayerState;
+    final PlayerState bluePlayerState;
+
+    final int[] resourcePrices;
+    int economyNumDemandTurns;
+
+    int turnNumber;
+    boolean isRedTurn;
+
+    GameStateSnapshot(int boardSize, int numResourceTypes) {
+        int numTiles = boardSize * boardSize;
+        this.boardSize = boardSize;
+        this.tileKinds = new TileKind[numTiles];
+        this.tileResources = new ItemType[numTiles];
+        this.timesMined = new int[numTiles];
+        this.playersOnTiles = new MinePlayer[numTiles];
+        this.autominerTurnsMined = new int[numTiles];
+        this.itemCounts = new int[numTiles * ItemCounts.NUM_ITEM_TYPES];
+        this.redPlayerState = new PlayerState();
+        this.bluePlayerState = new PlayerState();
+        this.resourcePrices = new int[numResourceTypes];
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getTurnNumber() {
+        return turnNumber;
+    }
+
+    /**
+     * The saved state of one MinePlayer
+     */
+    static class PlayerState {
+        final int[] inventoryCounts = new int[ItemCounts.NUM_ITEM_TYPES];
+        int x;
+        int y;
+        int score;
+        TurnAction lastMove;
+        int numTurnActions;
+        int currentEnergy;
+        long randomState;
+        TurnAction heldAction;
+        HoldIntent holdIntent;
+        int numTurnsHeld;
+    }
+}
@@ -0,0 +1,267 @@
+package mineopoly_three.game;
+
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.item.ItemType;
+import mineopoly_three.replay.Replay;
+import mineopoly_three.strategy.MinePlayerStrategy;
+import mineopoly_three.strategy.PlayerBoardView;
+import mineopoly_three.util.GameSeeds;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Plays Mine-opoly without a GUI on a PrimitiveGameBoard, for simulating many games or games on very large boards.
+ * A HeadlessGameEngine plays out exactly the same game as a GameEngine created with the same board size, strategies
+ *  and seed, but keeps the board in packed arrays rather than a Tile object per location. It can't be displayed,
+ *  observed or snapshotted, and it reuses its board, players and Economy for every game of the same board size.
+ * Like a GameEngine, it hands strategies a new view every turn unless view reuse is enabled
+ */
+public class HeadlessGameEngine {
+    private GameSeeds seeds;
+    private final WorldGenerator worldGenerator;
+    private PrimitiveGameBoard board;
+    private PrimitivePlayer redPlayer;
+    private PrimitivePlayer bluePlayer;
+    private final Economy economy;
+    private int minScoreToWin;
+    private int turnNumber;
+    private boolean viewReuseEnabled;
+    // The views handed to each color's strategy, updated in place every turn while view reuse is enabled
+    private PlayerBoardView redPlayerView;
+    private PlayerBoardView bluePlayerView;
+
+    // Variables to greatly simplify exception flow logic
+    private PrimitivePlayer playerWhoThrewException;
+    private Exception exceptionThrown;
+
+    public HeadlessGameEngine(int boardSize, MinePlayerStrategy redPlayerStrategy,
+                              MinePlayerStrategy bluePlayerStrategy, long randomSeed) {
+        // Seeded with this game's world seed by setupEngineForGame()
+        this.worldGenerator = new WorldGenerator(0);
+        this.board = new PrimitiveGameBoard(boardSize);
+        this.economy = new Economy(Arrays.stream(ItemType.values()).filter(ItemType::isResource).toArray(ItemType[]::new));
+        this.setupEngineForGame(randomSeed);
+
+        this.redPlayer = new PrimitivePlayer(redPlayerStrategy, board.getRedStartTileIndex(),
+                                             seeds.getPlayerSeed(true), true);
+        this.bluePlayer = new PrimitivePlayer(bluePlayerStrategy, board.getBlueStartTileIndex(),
+                                              seeds.getPlayerSeed(false), false);
+        this.viewReuseEnabled = false;
+    }
+
+    private void setupEngineForGame(long randomSeed) {
+        this.seeds = new GameSeeds(randomSeed);
+        worldGenerator.setSeed(seeds.getWorldSeed());
+        worldGenerator.generateBoard(board);
+        economy.reset();
+        this.minScoreToWin = 30 * board.getSize() * board.getSize();
+        this.turnNumber = 0;
+
+        this.playerWhoThrewException = null;
+        this.exceptionThrown = null;
+    }
+
+    /**
+     * Allows the same HeadlessGameEngine object to be used for multiple games. The board is only allocated again if
+     *  the board size changes
+     *
+     * @param newBoardSize The size of the new game board to be generated
+     * @param newSeed The seed of the new game, which every source of randomness in it is derived from
+     * @param swapPlayers If true, the last red player will be the next blue player and vice versa
+     */
+    public void reset(int newBoardSize, long newSeed, boolean swapPlayers) {
+        MinePlayerStrategy redPlayerStrategy = this.redPlayer.getStrategy();
+        MinePlayerStrategy bluePlayerStrategy = this.bluePlayer.getStrategy();
+        if (swapPlayers) {
+            MinePlayerStrategy lastRedPlayerStrategy = redPlayerStrategy;
+            redPlayerStrategy = bluePlayerStrategy;
+            bluePlayerStrategy = lastRedPlayerStrategy;
+        }
+
+        if (board.getSize() != newBoardSize) {
+            this.board = new PrimitiveGameBoard(newBoardSize);
+        }
+        this.setupEngineForGame(newSeed);
+        this.redPlayer.reset(redPlayerStrategy, board.getRedStartTileIndex(), seeds.getPlayerSeed(true));
+        this.bluePlayer.reset(bluePlayerStrategy, board.getBlueStartTileIndex(), seeds.getPlayerSeed(false));
+    }
+
+    public PrimitiveGameBoard getBoard() {
+        return board;
+    }
+
+    public PrimitivePlayer getRedPlayer() {
+        return redPlayer;
+    }
+
+    public PrimitivePlayer getBluePlayer() {
+        return bluePlayer;
+    }
+
+    public Economy getEconomy() {
+        return economy;
+    }
+
+    public int getRedPlayerScore() {
+        return redPlayer.getScore();
+    }
+
+    public int getBluePlayerScore() {
+        return bluePlayer.getScore();
+    }
+
+    public int getMinScoreToWin() {
+        // The minimum score to immediately end the game without finishing 1000 turns
+        return minScoreToWin;
+    }
+
+    public int getTurnNumber() {
+        return turnNumber;
+    }
+
+    public Exception getExceptionThrown() {
+        return exceptionThrown;
+    }
+
+    public boolean isViewReuseEnabled() {
+        return this.viewReuseEnabled;
+    }
+
+    /**
+     * When view reuse is enabled, each strategy is handed the same PlayerBoardView every turn, updated in place over
+     *  a live map of the items on the ground, the same as GameEngine.setViewReuseEnabled()
+     *
+     * @param viewReuseEnabled Whether to update one view per strategy in place instead of creating one every turn
+     */
+    public void setViewReuseEnabled(boolean viewReuseEnabled) {
+        this.viewReuseEnabled = viewReuseEnabled;
+    }
+
+    public long getRandomSeed() {
+        return seeds.getGameSeed();
+    }
+
+    /**
+     * @return The seeds of every source of randomness in the current game, all derived from getRandomSeed()
+     */
+    public GameSeeds getSeeds() {
+        return seeds;
+    }
+
+    public Replay getReplay() {
+        boolean redThrewException = (playerWhoThrewException == redPlayer);
+        boolean blueThrewException = (playerWhoThrewException == bluePlayer);
+        return new Replay(board.getSize(), seeds.getGameSeed(), redPlayer.getAllTurnActions(), bluePlayer.getAllTurnActions(),
+                          redThrewException, blueThrewException);
+    }
+
+    /**
+     * Runs through a round of Mine-opoly until either the maximum number of turns is reached
+     *  or a player achieves the score needed to win. If either player strategy throws an exception at any time,
+     *  that strategy will receive a score of -1 and the game will end
+     */
+    public void runGame() {
+        try {
+            runGameLoop();
+        } catch (Exception e) {
+            // A strategy can throw an exception of any type, see GameEngine.runGame()
+            playerWhoThrewException.setScore(-1);
+            this.exceptionThrown = e;
+            e.printStackTrace();
+        }
+    }
+
+    private void runGameLoop() {
+        initializePlayer(redPlayer, bluePlayer);
+        initializePlayer(bluePlayer, redPlayer);
+
+        turnNumber = 0;
+        boolean isRedTurn = true;
+        boolean roundHasWinner = false;
+
+        while (turnNumber < GameEngine.MAX_TURNS_PER_GAME && !roundHasWinner) {
+            PrimitivePlayer firstPlayer = isRedTurn ? redPlayer : bluePlayer;
+            PrimitivePlayer secondPlayer = isRedTurn ? bluePlayer : redPlayer;
+
+            processTurn(firstPlayer, secondPlayer, isRedTurn);
+            processTurn(secondPlayer, firstPlayer, isRedTurn);
+
+            board.update(redPlayer, bluePlayer, economy);
+            economy.increaseDemand();
+
+            isRedTurn = !isRedTurn;
+            turnNumber++;
+            roundHasWinner = (redPlayer.getScore() >= minScoreToWin) || (bluePlayer.getScore() >= minScoreToWin);
+        }
+
+        endRound();
+    }
+
+    private void initializePlayer(PrimitivePlayer playerToInitialize, PrimitivePlayer opponent) {
+        playerWhoThrewException = playerToInitialize; // If an exception gets thrown, we know who did it
+
+        int startTileIndex = playerToInitialize.getTileIndex();
+        Point startTileLocation = new Point(board.getX(startTileIndex), board.getY(startTileIndex));
+
+        // Get the initial view of the board and finally initialize the strategy
+        PlayerBoardView startingBoard = board.convertToView(playerToInitialize, opponent.getTileIndex(), 0);
+        playerToInitialize.getStrategy().initialize(board.getSize(), MinePlayer.MAX_ITEMS, MinePlayer.MAX_ENERGY,
+                                                    minScoreToWin, startingBoard, startTileLocation,
+                                                    playerToInitialize.isRedPlayer(),
+                                                    new Random(seeds.getStrategySeed(playerToInitialize.isRedPlayer())));
+        board.enterTile(playerToInitialize, startTileIndex, economy);
+    }
+
+    private void processTurn(PrimitivePlayer currentPlayer, PrimitivePlayer otherPlayer, boolean isRedTurn) {
+        playerWhoThrewException = currentPlayer; // If an exception gets thrown, we know who did it
+
+        // Ask the player what they want to do
+        PlayerBoardView boardView;
+        if (!viewReuseEnabled) {
+            boardView = board.convertToView(currentPlayer, otherPlayer.getTileIndex(), otherPlayer.getScore());
+        } else if (currentPlayer.isRedPlayer()) {
+            boardView = redPlayerView = board.convertToView(currentPlayer, otherPlayer.getTileIndex(),
+                                                            otherPlayer.getScore(), redPlayerView);
+        } else {
+            boardView = bluePlayerView = board.convertToView(currentPlayer, otherPlayer.getTileIndex(),
+                                                             otherPlayer.getScore(), bluePlayerView);
+        }
+        int robotCharge = currentPlayer.getCurrentEnergy();
+        TurnAction playerAction = currentPlayer.getStrategy().getTurnAction(boardView, economy, robotCharge, isRedTurn);
+        currentPlayer.addTurnAction(playerAction);
+        if (playerAction == null) {
+            return;
+        }
+
+        // Perform the player's selected action
+        switch (playerAction) {
+            case MOVE_UP:
+                board.movePlayer(currentPlayer, 0, 1, economy);
+                break;
+            case MOVE_DOWN:
+                board.movePlayer(currentPlayer, 0, -1, economy);
+                break;
+            case MOVE_RIGHT:
+                board.movePlayer(currentPlayer, 1, 0, economy);
+                break;
+            case MOVE_LEFT:
+                board.movePlayer(currentPlayer, -1, 0, economy);
+                break;
+            default:
+                board.interact(currentPlayer, playerAction);
+                break;
+        }
+    }
+
+    private void endRound() {
+        int redPlayerScore = redPlayer.getScore();
+        int bluePlayerScore = bluePlayer.getScore();
+        playerWhoThrewException = redPlayer;
+        redPlayer.getStrategy().endRound(redPlayerScore, bluePlayerScore);
+        playerWhoThrewException = bluePlayer;
+        bluePlayer.getStrategy().endRound(bluePlayerScore, redPlayerScore);
+        playerWhoThrewException = null;
+    }
+}
@@ -0,0 +1,429 @@
+package mineopoly_three.game;
+
+import mineopoly_three.item.InventoryItem;
+import mineopoly_three.item.ItemType;
+
+import java.awt.Point;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Keeps track of the items on the tiles of a GameBoard so they can be handed to strategies without copying.
+ * Only tiles which actually hold items are tracked, as a list of tile indexes sorted from the bottom left of the
+ *  board alongside an immutable list of the items on each, so memory grows with the number of items and not with
+ *  the area of the board. Every tile holding the same items shares one immutable list, so once each combination of
+ *  items has come up, tracking a change only moves entries around in place and allocates nothing.
+ * getSnapshot() returns a read-only Map that never changes once handed out. It shares the entries with this tracker
+ *  until the next change, which copies them first, so keeping snapshots up to date costs time proportional to the
+ *  number of tiles with items and not to the area of the board. getView() instead always returns the same read-only
+ *  Map over the current entries, which follows along as items change and never allocates
+ */
+public class ItemsOnGround {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final ItemType[] ALL_ITEM_TYPES = ItemType.values();
+    // Each shared list is found by the count of each ItemType packed into a long, one byte per type
+    private static final int BITS_PER_COUNT = 8;
+    private static final int MAX_COUNT_IN_KEY = (1 << BITS_PER_COUNT) - 1;
+
+    private final int boardSize;
+    // tileIndexes[i] is y * boardSize + x for the i-th tile with items, sorted, and itemsOnTiles[i] are its items
+    private int[] tileIndexes;
+    private List<InventoryItem>[] itemsOnTiles;
+    private int numTilesWithItems;
+    // The number of resources on every tracked tile together, kept up to date by setItems()
+    private int numResources;
+    private final LiveView view;
+    // Whether tileIndexes and itemsOnTiles are shared with the latest snapshot, which must then never see them change
+    private boolean entriesShared;
+    private Snapshot latestSnapshot;
+
+    // An open addressing hash table from packed item counts to the immutable list shared by every tile with them
+    private long[] sharedItemsKeys;
+    private List<InventoryItem>[] sharedItems;
+    private int numSharedItems;
+    // Reused to count the items passed to setItems() by type
+    private final int[] itemCountsScratch;
+
+    public ItemsOnGround(int boardSize) {
+        this.boardSize = boardSize;
+        this.tileIndexes = new int[INITIAL_CAPACITY];
+        this.itemsOnTiles = newItemsArray(INITIAL_CAPACITY);
+        this.numTilesWithItems = 0;
+        this.numResources = 0;
+        this.view = new LiveView();
+        this.entriesShared = false;
+        this.latestSnapshot = null;
+        this.sharedItemsKeys = new long[INITIAL_CAPACITY];
+        this.sharedItems = newItemsArray(INITIAL_CAPACITY);
+        this.numSharedItems = 0;
+        this.itemCountsScratch = new int[ALL_ITEM_TYPES.length];
+    }
+
+    /**
+     * @return The number of tiles that have at least one item on them
+     */
+    public int getNumTilesWithItems() {
+        return numTilesWithItems;
+    }
+
+    /**
+     * @return The number of resources on the ground across every tile
+     */
+    public int getNumResources() {
+        return numResources;
+    }
+
+    /**
+     * @param x The x coordinate of the tile
+     * @param y The y coordinate of the tile
+     * @return An immutable list of the items on the tile in ItemType order, which is empty if there are none
+     */
+    public List<InventoryItem> getItems(int x, int y) {
+        int entryIndex = findEntry(tileIndexes, numTilesWithItems, y * boardSize + x);
+        return (entryIndex >= 0) ? itemsOnTiles[entryIndex] : Collections.emptyList();
+    }
+
+    /**
+     * Checks whether the items tracked for a tile are the same as in a list, in any order
+     *
+     * @param x The x coordinate of the tile
+     * @param y The y coordinate of the tile
+     * @param items The items to compare with
+     * @return True if nothing would change by calling setItems() with these items
+     */
+    public boolean hasItems(int x, int y, List<InventoryItem> items) {
+        return getItems(x, y) == getSharedItems(items);
+    }
+
+    /**
+     * Records the items on a tile, adding the tile to the tracked tiles if it now has items and removing it if it
+     *  no longer does. Nothing changes if the items are the same as the ones already tracked
+     *
+     * @param x The x coordinate of the tile
+     * @param y The y coordinate of the tile
+     * @param items The items now on the tile, which are never kept so the list passed in can keep changing
+     */
+    public void setItems(int x, int y, List<InventoryItem> items) {
+        List<InventoryItem> newItems = getSharedItems(items);
+        int tileIndex = y * boardSize + x;
+        int entryIndex = findEntry(tileIndexes, numTilesWithItems, tileIndex);
+        List<InventoryItem> trackedItems = (entryIndex >= 0) ? itemsOnTiles[entryIndex] : Collections.emptyList();
+        if (trackedItems == newItems) {
+            return;
+        }
+
+        unshareEntries();
+        numResources += countResources(newItems) - countResources(trackedItems);
+        if (newItems.isEmpty()) {
+            // The tile was tracked, otherwise its items would have been the same
+            int numEntriesAfter = numTilesWithItems - entryIndex - 1;
+            System.arraycopy(tileIndexes, entryIndex + 1, tileIndexes, entryIndex, numEntriesAfter);
+            System.arraycopy(itemsOnTiles, entryIndex + 1, itemsOnTiles, entryIndex, numEntriesAfter);
+            numTilesWithItems--;
+            itemsOnTiles[numTilesWithItems] = null;
+        } else if (entryIndex >= 0) {
+            itemsOnTiles[entryIndex] = newItems;
+        } else {
+            if (numTilesWithItems == tileIndexes.length) {
+                tileIndexes = Arrays.copyOf(tileIndexes, 2 * tileIndexes.length);
+                itemsOnTiles = Arrays.copyOf(itemsOnTiles, 2 * itemsOnTiles.length);
+            }
+            int insertionIndex = -(entryIndex + 1);
+            int numEntriesAfter = numTilesWithItems - insertionIndex;
+            System.arraycopy(tileIndexes, insertionIndex, tileIndexes, insertionIndex + 1, numEntriesAfter);
+            System.arraycopy(itemsOnTiles, insertionIndex, itemsOnTiles, insertionIndex + 1, numEntriesAfter);
+            tileIndexes[insertionIndex] = tileIndex;
+            itemsOnTiles[insertionIndex] = newItems;
+            numTilesWithItems++;
+        }
+    }
+
+    /**
+     * Removes every item from every tile
+     */
+    public void clear() {
+        unshareEntries();
+        Arrays.fill(itemsOnTiles, 0, numTilesWithItems, null);
+        numTilesWithItems = 0;
+        numResources = 0;
+    }
+
+    private void unshareEntries() {
+        if (entriesShared) {
+            // Copy on write, the last snapshot handed out keeps the old entries
+            tileIndexes = tileIndexes.clone();
+            itemsOnTiles = itemsOnTiles.clone();
+            entriesShared = false;
+        }
+        latestSnapshot = null;
+    }
+
+    private static int countResources(List<InventoryItem> items) {
+        int count = 0;
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getItemType().isResource()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the immutable list shared by every tile holding the same items as a list, creating it the first time
+     *
+     * @param items The items to find the shared list for
+     * @return An immutable list of the same items in ItemType order
+     */
+    private List<InventoryItem> getSharedItems(List<InventoryItem> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Arrays.fill(itemCountsScratch, 0);
+        for (int i = 0; i < items.size(); i++) {
+            itemCountsScratch[items.get(i).getItemType().ordinal()]++;
+        }
+        long key = 0;
+        for (int i = 0; i < itemCountsScratch.length; i++) {
+            boolean fitsInKey = (i + 1) * BITS_PER_COUNT <= Long.SIZE && itemCountsScratch[i] <= MAX_COUNT_IN_KEY;
+            if (!fitsInKey && itemCountsScratch[i] > 0) {
+                // Far more items than a tile ever holds in a game, not worth sharing
+                return createItemsList(itemCountsScratch);
+            }
+            key |= ((long) itemCountsScratch[i]) << (i * BITS_PER_COUNT);
+        }
+
+        // No tile with items has a key of 0, so 0 marks an empty slot
+        int slot = findSharedItemsSlot(sharedItemsKeys, key);
+        if (sharedItemsKeys[slot] == key) {
+            return sharedItems[slot];
+        }
+
+        List<InventoryItem> newSharedItems = createItemsList(itemCountsScratch);
+        sharedItemsKeys[slot] = key;
+        sharedItems[slot] = newSharedItems;
+        numSharedItems++;
+        if (2 * numSharedItems > sharedItemsKeys.length) {
+            growSharedItems();
+        }
+        return newSharedItems;
+    }
+
+    private void growSharedItems() {
+        long[] oldKeys = sharedItemsKeys;
+        List<InventoryItem>[] oldItems = sharedItems;
+        sharedItemsKeys = new long[2 * oldKeys.length];
+        sharedItems = newItemsArray(2 * oldItems.length);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = findSharedItemsSlot(sharedItemsKeys, oldKeys[i]);
+                sharedItemsKeys[slot] = oldKeys[i];
+                sharedItems[slot] = oldItems[i];
+            }
+        }
+    }
+
+    /**
+     * @return The slot of the table holding the key, or the empty slot it would go in
+     */
+    private static int findSharedItemsSlot(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Java can't create an array of a generic type, so this is the one place an untyped array is cast
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<InventoryItem>[] newItemsArray(int length) {
+        return new List[length];
+    }
+
+    private static List<InventoryItem> createItemsList(int[] itemCounts) {
+        List<InventoryItem> items = new ArrayList<>();
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            for (int i = 0; i < itemCounts[itemType.ordinal()]; i++) {
+                items.add(InventoryItem.of(itemType));
+            }
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Gets a read-only Map from the location of every tile with items on it to those items. The Map is the same
+     *  object on every call and follows along as items change, so anything that needs to remember what was on the
+     *  ground has to copy it
+     *
+     * @return A read-only Map from tile locations to the immutable list of items on each tile
+     */
+    public Map<Point, List<InventoryItem>> getView() {
+        return view;
+    }
+
+    /**
+     * Gets a read-only Map from the location of every tile with items on it to those items, as they are now. The
+     *  Map never changes as the game goes on, and is the same object as the last call returned if no items have
+     *  changed since then
+     *
+     * @return A read-only Map from tile locations to the immutable list of items on each tile
+     */
+    public Map<Point, List<InventoryItem>> getSnapshot() {
+        if (latestSnapshot == null) {
+            latestSnapshot = new Snapshot(boardSize, tileIndexes, itemsOnTiles, numTilesWithItems);
+            entriesShared = true;
+        }
+        return latestSnapshot;
+    }
+
+    /**
+     * @return The index of the entry for the tile if it is tracked, otherwise (-(insertion index) - 1)
+     */
+    private static int findEntry(int[] tileIndexes, int numEntries, int tileIndex) {
+        return Arrays.binarySearch(tileIndexes, 0, numEntries, tileIndex);
+    }
+
+    /**
+     * A read-only Map over a sorted array of tile indexes and the items on each of those tiles
+     */
+    private abstract static class ItemsView extends AbstractMap<Point, List<InventoryItem>> {
+        private final int boardSize;
+        private Set<Entry<Point, List<InventoryItem>>> entrySet;
+
+        private ItemsView(int boardSize) {
+            this.boardSize = boardSize;
+        }
+
+        abstract int[] getTileIndexes();
+
+        abstract List<InventoryItem>[] getItemsOnTiles();
+
+        private int findEntry(Object key) {
+            if (!(key instanceof Point)) {
+                return -1;
+            }
+            Point location = (Point) key;
+            if (location.x < 0 || location.x >= boardSize || location.y < 0 || location.y >= boardSize) {
+                return -1;
+            }
+            return ItemsOnGround.findEntry(getTileIndexes(), size(), location.y * boardSize + location.x);
+        }
+
+        @Override
+        public List<InventoryItem> get(Object key) {
+            int entryIndex = findEntry(key);
+            return (entryIndex >= 0) ? getItemsOnTiles()[entryIndex] : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return findEntry(key) >= 0;
+        }
+
+        @Override
+        public Set<Entry<Point, List<InventoryItem>>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new AbstractSet<Entry<Point, List<InventoryItem>>>() {
+                    @Override
+                    public Iterator<Entry<Point, List<InventoryItem>>> iterator() {
+                        return new EntryIterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return ItemsView.this.size();
+                    }
+                };
+            }
+            return entrySet;
+        }
+
+        /**
+         * Visits every tile with items, handing out a new Point for each so the caller is free to change it
+         */
+        private class EntryIterator implements Iterator<Entry<Point, List<InventoryItem>>> {
+            private int nextEntryIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return nextEntryIndex < size();
+            }
+
+            @Override
+            public Entry<Point, List<InventoryItem>> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int tileIndex = getTileIndexes()[nextEntryIndex];
+                Point location = new Point(tileIndex % boardSize, tileIndex / boardSize);
+                return new SimpleImmutableEntry<>(location, getItemsOnTiles()[nextEntryIndex++]);
+            }
+        }
+    }
+
+    /**
+     * A read-only Map over the current entries, which follows along as they change
+     */
+    private class LiveView extends ItemsView {
+        private LiveView() {
+            super(boardSize);
+        }
+
+        @Override
+        int[] getTileIndexes() {
+            return tileIndexes;
+        }
+
+        @Override
+        List<InventoryItem>[] getItemsOnTiles() {
+            return itemsOnTiles;
+        }
+
+        @Override
+        public int size() {
+            return numTilesWithItems;
+        }
+    }
+
+    /**
+     * An immutable Map over the entries as they were when it was created. The arrays are never written to again
+     *  once a snapshot has them, because the tracker copies them before its next change
+     */
+    private static class Snapshot extends ItemsView {
+        private final int[] tileIndexes;
+        private final List<InventoryItem>[] itemsOnTiles;
+        private final int numTilesWithItems;
+
+        private Snapshot(int boardSize, int[] tileIndexes, List<InventoryItem>[] itemsOnTiles,
+                         int numTilesWithItems) {
+            super(boardSize);
+            this.tileIndexes = tileIndexes;
+            this.itemsOnTiles = itemsOnTiles;
+            this.numTilesWithItems = numTilesWithItems;
+        }
+
+        @Override
+        int[] getTileIndexes() {
+            return tileIndexes;
+        }
+
+        @Override
+        List<InventoryItem>[] getItemsOnTiles() {
+            return itemsOnTiles;
+        }
+
+        @Override
+        public int size() {
+            return numTilesWithItems;
+        }
+    }
+}
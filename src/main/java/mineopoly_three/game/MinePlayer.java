@@ -1,14 +1,18 @@
 package mineopoly_three.game;
 
+import mineopoly_three.action.ActionLog;
+import mineopoly_three.action.MoveAction;
 import mineopoly_three.action.TurnAction;
-import mineopoly_three.graphics.ImageManager;
 import mineopoly_three.item.InventoryItem;
+import mineopoly_three.item.ItemCounts;
+import mineopoly_three.item.ItemType;
+import mineopoly_three.strategy.HoldIntent;
 import mineopoly_three.strategy.MinePlayerStrategy;
 import mineopoly_three.tiles.Tile;
+import mineopoly_three.tiles.TileKind;
+import mineopoly_three.util.StatefulRandom;
 
-import java.awt.*;
-import java.util.*;
-import java.util.List;
+import java.util.Random;
 
 /**
  * This is the GameEngine's internal representation of all data it needs to know about a player.
@@ -17,37 +21,102 @@ import java.util.List;
 public class MinePlayer {
     protected static final int MAX_ENERGY = 80;
     protected static final int MAX_ITEMS = 5;
-    private static final Map<TurnAction, String> moveToDirectionMap = new HashMap<>();
-    static {
-        moveToDirectionMap.put(TurnAction.MOVE_UP, "back");
-        moveToDirectionMap.put(TurnAction.MOVE_DOWN, "front");
-        moveToDirectionMap.put(TurnAction.MOVE_LEFT, "left");
-        moveToDirectionMap.put(TurnAction.MOVE_RIGHT, "right");
-    }
 
     private MinePlayerStrategy strategy;
-    private List<InventoryItem> inventory;
+    private final ItemCounts inventory;
+    // The inventory counts handed to the Economy when selling, so a sale doesn't allocate
+    private final int[] itemsToSell;
     private Tile currentTile;
     private boolean isRedPlayer;
     private int score;
     private TurnAction lastMove;
-    private List<TurnAction> actions;
+    private ActionLog actions;
     private Economy economy;
     private int currentEnergy;
-    private Random randomNumberGenerator;
+    private StatefulRandom randomNumberGenerator;
+    // The action the strategy promised to repeat, for how long, and for how many turns it has been repeated so far
+    private TurnAction heldAction;
+    private HoldIntent holdIntent;
+    private int numTurnsHeld;
 
     protected MinePlayer(MinePlayerStrategy strategy, Tile startingTile, Economy economy,
                          long randomSeed, boolean isRedPlayer) {
         this.strategy = strategy;
-        this.inventory = new ArrayList<>(MAX_ITEMS);
+        this.inventory = new ItemCounts();
+        this.itemsToSell = new int[ItemCounts.NUM_ITEM_TYPES];
         this.currentTile = startingTile;
         this.isRedPlayer = isRedPlayer;
         this.score = 0;
         this.lastMove = TurnAction.MOVE_DOWN;
-        this.actions = new LinkedList<>();
+        this.actions = new ActionLog(GameEngine.MAX_TURNS_PER_GAME);
         this.economy = economy;
         this.currentEnergy = MAX_ENERGY;
-        this.randomNumberGenerator = new Random(randomSeed);
+        this.randomNumberGenerator = new StatefulRandom(randomSeed);
+        this.startHold(null, null);
+    }
+
+    /**
+     * Clears this player in place so it can play another game, as if it had just been constructed
+     *
+     * @param strategy The strategy controlling this player in the next game
+     * @param startingTile The tile this player starts the next game on
+     * @param randomSeed The seed for this player's random number generator
+     */
+    protected void reset(MinePlayerStrategy strategy, Tile startingTile, long randomSeed) {
+        this.strategy = strategy;
+        this.inventory.clear();
+        this.currentTile = startingTile;
+        this.score = 0;
+        this.lastMove = TurnAction.MOVE_DOWN;
+        // A Replay of the last game may still hold the old action log, so it can't be cleared in place
+        this.actions = new ActionLog(GameEngine.MAX_TURNS_PER_GAME);
+        this.currentEnergy = MAX_ENERGY;
+        this.randomNumberGenerator.setSeed(randomSeed);
+        this.startHold(null, null);
+    }
+
+    /**
+     * Saves everything about this player that changes during a game into a snapshot
+     *
+     * @param playerState The part of a snapshot for this player, which will be overwritten
+     */
+    protected void captureState(GameStateSnapshot.PlayerState playerState) {
+        inventory.copyTo(playerState.inventoryCounts, 0);
+        playerState.x = currentTile.getLocation().getX();
+        playerState.y = currentTile.getLocation().getY();
+        playerState.score = score;
+        playerState.lastMove = lastMove;
+        playerState.numTurnActions = actions.size();
+        playerState.currentEnergy = currentEnergy;
+        playerState.randomState = randomNumberGenerator.getState();
+        playerState.heldAction = heldAction;
+        playerState.holdIntent = holdIntent;
+        playerState.numTurnsHeld = numTurnsHeld;
+    }
+
+    /**
+     * Puts this player back to a state saved by captureState(). The board must already be restored so this player
+     *  can find the tile it was standing on. Turn actions taken since the snapshot are dropped from the action list
+     *
+     * @param playerState The saved state to restore
+     * @param board The board this player is playing on
+     * @throws IllegalStateException If this player has fewer turn actions than when the snapshot was taken
+     */
+    protected void restoreState(GameStateSnapshot.PlayerState playerState, GameBoard board) {
+        if (actions.size() < playerState.numTurnActions) {
+            throw new IllegalStateException("Can't restore a snapshot taken after the current turn");
+        }
+
+        inventory.copyFrom(playerState.inventoryCounts, 0);
+        currentTile = board.getTileAtLocation(playerState.x, playerState.y);
+        score = playerState.score;
+        lastMove = playerState.lastMove;
+        actions.truncate(playerState.numTurnActions);
+        currentEnergy = playerState.currentEnergy;
+        randomNumberGenerator.setState(playerState.randomState);
+        heldAction = playerState.heldAction;
+        holdIntent = playerState.holdIntent;
+        numTurnsHeld = playerState.numTurnsHeld;
     }
 
     public MinePlayerStrategy getStrategy() {
@@ -62,31 +131,45 @@ public class MinePlayer {
         this.currentTile = newTile;
     }
 
-    public List<InventoryItem> getInventory() {
+    /**
+     * @return The items this player is carrying, which change in place as items are added and removed
+     */
+    public ItemCounts getInventory() {
         return inventory;
     }
 
     /**
      * Adds an item to the player's inventory, if the inventory isn't full
      *
-     * @param itemToAdd The item to be added to the inventory
+     * @param itemType The type of item to be added to the inventory
      * @return True if the item is successfully added, false otherwise
      */
-    public boolean addItemToInventory(InventoryItem itemToAdd) {
+    public boolean addItemToInventory(ItemType itemType) {
         if (inventory.size() >= MAX_ITEMS) {
             // Inventory full, could not add the item
             return false;
         }
 
         // Let the strategy know this player received an item
-        strategy.onReceiveItem(itemToAdd);
-        inventory.add(itemToAdd);
+        strategy.onReceiveItem(InventoryItem.of(itemType));
+        inventory.addItem(itemType);
         return true;
     }
 
+    /**
+     * Removes an item from the player's inventory, if there is one of that type
+     *
+     * @param itemType The type of item to be removed from the inventory
+     * @return True if an item was removed, false if there were none of that type
+     */
+    public boolean removeItemFromInventory(ItemType itemType) {
+        return inventory.removeItem(itemType);
+    }
+
     public void sellItems() {
-        int totalItemSellPrice = economy.sellResources(inventory);
-        inventory.removeIf(x -> x.getItemType().isResource());
+        inventory.copyTo(itemsToSell, 0);
+        int totalItemSellPrice = economy.sellResources(itemsToSell);
+        inventory.removeResources();
 
         if (totalItemSellPrice > 0) {
             score += totalItemSellPrice;
@@ -108,13 +191,75 @@ public class MinePlayer {
     }
 
     public void addTurnAction(TurnAction actionTaken) {
-        actions.add(actionTaken);
-        if (moveToDirectionMap.containsKey(actionTaken)) {
+        addTurnActions(actionTaken, 1);
+    }
+
+    /**
+     * @param actionTaken The action taken on each of the next turns, or null if the player did nothing
+     * @param numTurns The number of turns the action was taken on
+     */
+    public void addTurnActions(TurnAction actionTaken, int numTurns) {
+        actions.addActions(actionTaken, numTurns);
+        if (actionTaken != null && actionTaken.getActionToPerform() instanceof MoveAction) {
             lastMove = actionTaken;
         }
     }
 
-    public List<TurnAction> getAllTurnActions() {
+    /**
+     * Remembers what the strategy promised to keep doing after the action it just chose
+     *
+     * @param actionTaken The action the strategy chose this turn
+     * @param holdIntent How long the strategy promised to repeat it, or null if it should be asked next turn
+     */
+    protected void startHold(TurnAction actionTaken, HoldIntent holdIntent) {
+        this.heldAction = actionTaken;
+        this.holdIntent = holdIntent;
+        this.numTurnsHeld = 0;
+    }
+
+    /**
+     * @return True if this player repeats its held action on the turn about to start instead of asking its strategy
+     */
+    protected boolean isHolding() {
+        if (holdIntent == null || numTurnsHeld >= holdIntent.getNumTurns()) {
+            return false;
+        }
+        return !holdIntent.isUntilFullCharge() || currentEnergy < MAX_ENERGY;
+    }
+
+    /**
+     * Works out how many turns in a row this player will hold without doing anything, assuming nothing else changes
+     *  about it in the meantime, which is true when both players are idle
+     *
+     * @return The number of turns starting with this one that this player does nothing without being asked
+     */
+    protected int getNumIdleTurns() {
+        if (!isHolding() || heldAction != null) {
+            return 0;
+        }
+
+        int numTurns = holdIntent.getNumTurns() - numTurnsHeld;
+        if (holdIntent.isUntilFullCharge() && currentTile.getKind() == TileKind.RECHARGE) {
+            int energyPerTurn = getRechargeAmount(TileKind.RECHARGE_PERCENT_PER_TURN);
+            int turnsToFullCharge = (MAX_ENERGY - currentEnergy + energyPerTurn - 1) / energyPerTurn;
+            numTurns = Math.min(numTurns, turnsToFullCharge);
+        }
+        return numTurns;
+    }
+
+    /**
+     * Records the held action for a number of turns, as if the strategy had chosen it on each of them
+     *
+     * @param numTurns The number of turns to repeat the action for
+     * @return The held action, for the caller to perform if it's for a single turn
+     */
+    protected TurnAction continueHold(int numTurns) {
+        numTurnsHeld += numTurns;
+        addTurnActions(heldAction, numTurns);
+        return heldAction;
+    }
+
+    public ActionLog getAllTurnActions() {
         return actions;
     }
 
@@ -133,11 +278,37 @@ public class MinePlayer {
     }
 
     public void rechargeEnergy(float percentToRecharge) {
+        rechargeEnergy(percentToRecharge, 1);
+    }
+
+    /**
+     * Recharges this player several turns in a row, exactly like calling rechargeEnergy(float) that many times
+     *
+     * @param percentToRecharge The fraction of MAX_ENERGY to recharge each time
+     * @param numTimes The number of times to recharge
+     */
+    public void rechargeEnergy(float percentToRecharge, int numTimes) {
+        currentEnergy = getRechargedEnergy(currentEnergy, percentToRecharge, numTimes);
+    }
+
+    /**
+     * Works out a player's energy after recharging, for both MinePlayer and PrimitivePlayer so the two engines can
+     *  never disagree on it
+     *
+     * @param currentEnergy The player's energy before recharging
+     * @param percentToRecharge The fraction of MAX_ENERGY to recharge each time
+     * @param numTimes The number of times to recharge
+     * @return The player's energy after recharging, which is never more than MAX_ENERGY
+     */
+    static int getRechargedEnergy(int currentEnergy, float percentToRecharge, int numTimes) {
         assert percentToRecharge >= 0;
-        currentEnergy += (MAX_ENERGY * percentToRecharge);
-        if (currentEnergy > MAX_ENERGY) {
-            currentEnergy = MAX_ENERGY;
-        }
+        long energyGained = (long) getRechargeAmount(percentToRecharge) * numTimes;
+        return (int) Math.min(MAX_ENERGY, currentEnergy + energyGained);
+    }
+
+    // Energy is a whole number of moves, so recharging only ever adds the whole part of the percent of MAX_ENERGY
+    private static int getRechargeAmount(float percentToRecharge) {
+        return (int) (MAX_ENERGY * percentToRecharge);
     }
 
     public Random getRandomNumberGenerator() {
@@ -145,14 +316,9 @@ public class MinePlayer {
     }
 
     /**
-     * Gets the Image corresponding the direction the player is currently facing
-     *
-     * @param imageManager The ImageManager object that manages all images for the JPanel component rendering this Player
-     * @return An Image for the direction the player is facing
+     * @return The last move this player made, which is the direction the player is facing
      */
-    public Image getImage(ImageManager imageManager) {
-        String playerColor = isRedPlayer ? "red_bot_" : "blue_bot_";
-        String directionName = moveToDirectionMap.get(lastMove);
-        return imageManager.getScaledImage(playerColor + directionName);
+    public TurnAction getLastMove() {
+        return lastMove;
     }
 }
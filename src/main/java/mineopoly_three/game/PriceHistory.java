@@ -0,0 +1,200 @@
+package mineopoly_three.game;
+
+import mineopoly_three.item.ItemType;
+
+/**
+ * The price of every resource at the start of every turn of a game, kept by the Economy so you can look at how sales
+ *  moved the market. The price for turn t is what a resource would sell for before anyone sells during turn t, so a
+ *  sale during turn t shows up as the price for turn t + 1 being lower than the price for turn t.
+ * Prices are kept in a ring buffer of shorts, so recording a turn is O(1) and a whole game of 3 resources takes about
+ *  6 KB. If a game runs longer than the history's capacity, the oldest turns are forgotten
+ */
+public class PriceHistory {
+    private static final int NUM_ITEM_TYPES = ItemType.values().length;
+
+    private final ItemType[] resourceTypes;
+    // Index into prices for each ItemType by ordinal, or -1 for types that aren't tracked
+    private final int[] resourceIndexes;
+    // prices[resourceIndex][turn % capacity]
+    private final short[][] prices;
+    private final int capacity;
+    private int oldestTurn;
+    private int newestTurn;
+
+    PriceHistory(ItemType[] resourceTypes, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A price history must hold at least one turn, not " + capacity);
+        }
+        this.resourceTypes = resourceTypes;
+        this.resourceIndexes = new int[NUM_ITEM_TYPES];
+        for (int i = 0; i < NUM_ITEM_TYPES; i++) {
+            resourceIndexes[i] = -1;
+        }
+        for (int i = 0; i < resourceTypes.length; i++) {
+            if (resourceTypes[i].getMaxPrice() > Short.MAX_VALUE) {
+                throw new IllegalArgumentException(resourceTypes[i] + " can cost more than a price history can hold");
+            }
+            resourceIndexes[resourceTypes[i].ordinal()] = i;
+        }
+        this.prices = new short[resourceTypes.length][capacity];
+        this.capacity = capacity;
+        this.clear();
+    }
+
+    /**
+     * Forgets every recorded turn
+     */
+    void clear() {
+        this.oldestTurn = 0;
+        this.newestTurn = -1;
+    }
+
+    /**
+     * Records the current price of every resource as the price for a turn
+     *
+     * @param turn The turn being recorded, which must be one after the newest turn recorded unless nothing is
+     * @param economy The Economy to read current prices from
+     */
+    void recordTurn(int turn, Economy economy) {
+        if (isEmpty()) {
+            this.oldestTurn = turn;
+        } else if (turn != newestTurn + 1) {
+            throw new IllegalArgumentException("Expected to record turn " + (newestTurn + 1) + ", not " + turn);
+        }
+
+        int slot = turn % capacity;
+        for (int i = 0; i < resourceTypes.length; i++) {
+            prices[i][slot] = (short) economy.getPrice(resourceTypes[i]);
+        }
+        this.newestTurn = turn;
+        if (newestTurn - oldestTurn >= capacity) {
+            // The ring buffer is full, the oldest turn was just overwritten
+            this.oldestTurn = newestTurn - capacity + 1;
+        }
+    }
+
+    /**
+     * Forgets every turn after the given turn, for when the game is rewound to an earlier turn
+     *
+     * @param turn The last turn to keep
+     */
+    void forgetTurnsAfter(int turn) {
+        if (turn < oldestTurn) {
+            this.clear();
+        } else if (turn < newestTurn) {
+            this.newestTurn = turn;
+        }
+    }
+
+    public boolean isEmpty() {
+        return newestTurn < oldestTurn;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The earliest turn with recorded prices, meaningless if the history is empty
+     */
+    public int getOldestTurn() {
+        return oldestTurn;
+    }
+
+    /**
+     * @return The latest turn with recorded prices, or -1 if the history is empty
+     */
+    public int getNewestTurn() {
+        return isEmpty() ? -1 : newestTurn;
+    }
+
+    public boolean hasTurn(int turn) {
+        return turn >= oldestTurn && turn <= newestTurn;
+    }
+
+    /**
+     * @param resourceType The resource to get the price of
+     * @param turn The turn to get the price at
+     * @return The price of the resource at the start of that turn
+     * @throws IllegalArgumentException If the resource isn't sold in the Economy or the turn isn't in the history
+     */
+    public int getPrice(ItemType resourceType, int turn) {
+        int resourceIndex = getResourceIndex(resourceType);
+        checkTurnRange(turn, turn);
+        return prices[resourceIndex][turn % capacity];
+    }
+
+    /**
+     * @param resourceType The resource to average the price of
+     * @param fromTurn The first turn to include
+     * @param toTurn The last turn to include
+     * @return The average of the resource's prices from fromTurn to toTurn, inclusive
+     * @throws IllegalArgumentException If the resource isn't sold in the Economy or the turns aren't in the history
+     */
+    public double getAveragePrice(ItemType resourceType, int fromTurn, int toTurn) {
+        int resourceIndex = getResourceIndex(resourceType);
+        checkTurnRange(fromTurn, toTurn);
+
+        long priceSum = 0;
+        for (int turn = fromTurn; turn <= toTurn; turn++) {
+            priceSum += prices[resourceIndex][turn % capacity];
+        }
+        return (double) priceSum / (toTurn - fromTurn + 1);
+    }
+
+    /**
+     * Copies a resource's prices for a range of turns into an array without allocating
+     *
+     * @param resourceType The resource to copy the prices of
+     * @param fromTurn The first turn to copy
+     * @param toTurn The last turn to copy
+     * @param destination Where to put the prices, starting at index 0. Must hold toTurn - fromTurn + 1 prices
+     * @throws IllegalArgumentException If the resource isn't sold in the Economy or the turns aren't in the history
+     */
+    public void copyPrices(ItemType resourceType, int fromTurn, int toTurn, int[] destination) {
+        int resourceIndex = getResourceIndex(resourceType);
+        checkTurnRange(fromTurn, toTurn);
+
+        for (int turn = fromTurn; turn <= toTurn; turn++) {
+            destination[turn - fromTurn] = prices[resourceIndex][turn % capacity];
+        }
+    }
+
+    /**
+     * Exports the whole history with a header line naming each resource, then one line per turn holding the turn
+     *  number and the price of each resource, all separated by commas
+     *
+     * @return The history as comma separated values
+     */
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder("turn");
+        for (ItemType resourceType : resourceTypes) {
+            csv.append(',').append(resourceType.name());
+        }
+        csv.append('\n');
+
+        for (int turn = oldestTurn; turn <= newestTurn; turn++) {
+            csv.append(turn);
+            for (int i = 0; i < resourceTypes.length; i++) {
+                csv.append(',').append(prices[i][turn % capacity]);
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    private int getResourceIndex(ItemType resourceType) {
+        int resourceIndex = resourceIndexes[resourceType.ordinal()];
+        if (resourceIndex < 0) {
+            throw new IllegalArgumentException(resourceType + " is not sold in this economy");
+        }
+        return resourceIndex;
+    }
+
+    private void checkTurnRange(int fromTurn, int toTurn) {
+        if (fromTurn > toTurn || !hasTurn(fromTurn) || !hasTurn(toTurn)) {
+            throw new IllegalArgumentException("Turns " + fromTurn + " to " + toTurn + " are not all in the history of"
+                                               + " turns " + oldestTurn + " to " + newestTurn);
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package mineopoly_three.game;
+
+import mineopoly_three.action.MoveAction;
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.action.TurnActionMask;
+import mineopoly_three.item.InventoryItem;
+import mineopoly_three.item.ItemType;
+import mineopoly_three.strategy.PlayerBoardView;
+import mineopoly_three.tiles.TileKind;
+import mineopoly_three.tiles.TileType;
+import mineopoly_three.util.TileLocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A GameBoard for headless games that keeps every tile in packed primitive arrays instead of Tile objects.
+ * Each tile is identified by a single int index, y * boardSize + x, and its kind, resource, mining progress, items,
+ *  autominer progress and the player standing on it are all entries in arrays at that index. The rules are the same
+ *  ones the Tile classes, Actions and GameBoard.update() implement, so a game played on this board turns out exactly
+ *  the same as one played on a GameBoard with the same seed, down to the items on a tile being listed in ItemType order
+ */
+public class PrimitiveGameBoard implements WorldGenerator.Target {
+    // The kinds of tile, numbered like the TileKind ordinals, which unlike TileType tell a mined out tile apart
+    //  from an empty one
+    public static final byte EMPTY = 0;
+    public static final byte CRACKED = 1;
+    public static final byte RESOURCE = 2;
+    public static final byte RECHARGE = 3;
+    public static final byte RED_MARKET = 4;
+    public static final byte BLUE_MARKET = 5;
+
+    private static final byte NO_PLAYER = 0;
+    private static final byte RED_PLAYER = 1;
+    private static final byte BLUE_PLAYER = 2;
+
+    private static final ItemType[] ALL_ITEM_TYPES = ItemType.values();
+    private static final int NUM_ITEM_TYPES = ALL_ITEM_TYPES.length;
+    private static final int AUTOMINER_INDEX = ItemType.AUTOMINER.ordinal();
+
+    private final int boardSize;
+    private final byte[] tileKinds;
+    // The ItemType ordinal of the resource each RESOURCE tile gives
+    private final byte[] tileResources;
+    private final int[] timesMined;
+    // itemCounts[tileIndex * NUM_ITEM_TYPES + ItemType ordinal] is how many of that item are on the tile
+    private final byte[] itemCounts;
+    private final int[] autominerTurnsMined;
+    private final byte[] playersOnTiles;
+    // The indexes of every tile with an autominer on it, in no particular order
+    private final int[] autominerTileIndexes;
+    private int numAutominers;
+    private int redStartTileIndex;
+    private int blueStartTileIndex;
+
+    // What strategies get to see, kept up to date as the tiles change
+    private final TileType[][] tileView;
+    private final ItemsOnGround itemsOnGround;
+    private final ResourceTileIndex resourceTiles;
+    private final List<InventoryItem> itemsOnTileScratch;
+
+    public PrimitiveGameBoard(int boardSize) {
+        int numTiles = boardSize * boardSize;
+        this.boardSize = boardSize;
+        this.tileKinds = new byte[numTiles];
+        this.tileResources = new byte[numTiles];
+        this.timesMined = new int[numTiles];
+        this.itemCounts = new byte[numTiles * NUM_ITEM_TYPES];
+        this.autominerTurnsMined = new int[numTiles];
+        this.playersOnTiles = new byte[numTiles];
+        // Each tile can hold at most one autominer
+        this.autominerTileIndexes = new int[numTiles];
+        this.tileView = new TileType[boardSize][boardSize];
+        this.itemsOnGround = new ItemsOnGround(boardSize);
+        this.resourceTiles = new ResourceTileIndex(boardSize);
+        this.itemsOnTileScratch = new ArrayList<>(NUM_ITEM_TYPES);
+        this.clear();
+    }
+
+    /**
+     * Returns every tile on this board to an empty tile with no items, no player and no autominer progress, so a
+     *  world can be generated into it
+     */
+    protected void clear() {
+        Arrays.fill(tileKinds, EMPTY);
+        Arrays.fill(tileResources, (byte) 0);
+        Arrays.fill(timesMined, 0);
+        Arrays.fill(itemCounts, (byte) 0);
+        Arrays.fill(autominerTurnsMined, 0);
+        Arrays.fill(playersOnTiles, NO_PLAYER);
+        numAutominers = 0;
+        for (TileType[] tileViewRow : tileView) {
+            Arrays.fill(tileViewRow, TileType.EMPTY);
+        }
+        itemsOnGround.clear();
+        resourceTiles.clear();
+        redStartTileIndex = -1;
+        blueStartTileIndex = -1;
+    }
+
+    @Override
+    public int getSize() {
+        return boardSize;
+    }
+
+    public int getTileIndex(int x, int y) {
+        return y * boardSize + x;
+    }
+
+    public int getX(int tileIndex) {
+        return tileIndex % boardSize;
+    }
+
+    public int getY(int tileIndex) {
+        return tileIndex / boardSize;
+    }
+
+    public int getRedStartTileIndex() {
+        return redStartTileIndex;
+    }
+
+    public int getBlueStartTileIndex() {
+        return blueStartTileIndex;
+    }
+
+    /**
+     * @param x The x coordinate of the tile
+     * @param y The y coordinate of the tile
+     * @return One of EMPTY, CRACKED, RESOURCE, RECHARGE, RED_MARKET or BLUE_MARKET
+     */
+    public byte getTileKind(int x, int y) {
+        return tileKinds[getTileIndex(x, y)];
+    }
+
+    @Override
+    public TileType getTileTypeAtLocation(int x, int y) {
+        return tileView[(boardSize - 1) - y][x];
+    }
+
+    /**
+     * @param x The x coordinate of the tile
+     * @param y The y coordinate of the tile
+     * @param itemType The type of item to count
+     * @return The number of items of that type on the tile
+     */
+    public int getNumItemsOnTile(int x, int y, ItemType itemType) {
+        return itemCounts[getTileIndex(x, y) * NUM_ITEM_TYPES + itemType.ordinal()];
+    }
+
+    public int getNumAutominers() {
+        return numAutominers;
+    }
+
+    @Override
+    public void placeRechargeTile(int x, int y) {
+        setTileKind(getTileIndex(x, y), RECHARGE, TileType.RECHARGE);
+    }
+
+    @Override
+    public void placeMarketTile(int x, int y, boolean isRedMarket) {
+        if (isRedMarket) {
+            setTileKind(getTileIndex(x, y), RED_MARKET, TileType.RED_MARKET);
+        } else {
+            setTileKind(getTileIndex(x, y), BLUE_MARKET, TileType.BLUE_MARKET);
+        }
+    }
+
+    @Override
+    public void placeResourceTile(int x, int y, ItemType tileResource) {
+        int tileIndex = getTileIndex(x, y);
+        setTileKind(tileIndex, RESOURCE, tileResource.getResourceTileType());
+        tileResources[tileIndex] = (byte) tileResource.ordinal();
+        timesMined[tileIndex] = 0;
+    }
+
+    @Override
+    public void placeItemOnGround(int x, int y, ItemType itemType) {
+        int tileIndex = getTileIndex(x, y);
+        itemCounts[tileIndex * NUM_ITEM_TYPES + itemType.ordinal()]++;
+        if (itemType == ItemType.AUTOMINER) {
+            autominerTileIndexes[numAutominers++] = tileIndex;
+        }
+        trackItemsOnTile(tileIndex);
+    }
+
+    @Override
+    public void setRedStartLocation(TileLocation redStartLocation) {
+        this.redStartTileIndex = getTileIndex(redStartLocation.getX(), redStartLocation.getY());
+    }
+
+    @Override
+    public void setBlueStartLocation(TileLocation blueStartLocation) {
+        this.blueStartTileIndex = getTileIndex(blueStartLocation.getX(), blueStartLocation.getY());
+    }
+
+    private void setTileKind(int tileIndex, byte tileKind, TileType tileType) {
+        tileKinds[tileIndex] = tileKind;
+        tileView[(boardSize - 1) - getY(tileIndex)][getX(tileIndex)] = tileType;
+        resourceTiles.setTileType(getX(tileIndex), getY(tileIndex), tileType);
+    }
+
+    /**
+     * Puts a player on a tile, which sells their items if the tile is their market, like Tile.onEnter()
+     *
+     * @param player The player entering the tile
+     * @param tileIndex The index of the tile being entered
+     * @param economy The Economy the player sells to
+     */
+    protected void enterTile(PrimitivePlayer player, int tileIndex, Economy economy) {
+        playersOnTiles[tileIndex] = player.isRedPlayer() ? RED_PLAYER : BLUE_PLAYER;
+        player.setTileIndex(tileIndex);
+        if (isOwnMarket(tileIndex, player)) {
+            player.sellItems(economy);
+        }
+    }
+
+    private boolean isOwnMarket(int tileIndex, PrimitivePlayer player) {
+        byte tileKind = tileKinds[tileIndex];
+        return player.isRedPlayer() ? (tileKind == RED_MARKET) : (tileKind == BLUE_MARKET);
+    }
+
+    /**
+     * Moves a player one tile, the same as MoveAction.performAction()
+     *
+     * @param player The player moving
+     * @param xChange How far to move in the x direction
+     * @param yChange How far to move in the y direction
+     * @param economy The Economy the player sells to if they enter their market
+     */
+    protected void movePlayer(PrimitivePlayer player, int xChange, int yChange, Economy economy) {
+        int currentTileIndex = player.getTileIndex();
+        int nextX = getX(currentTileIndex) + xChange;
+        int nextY = getY(currentTileIndex) + yChange;
+        boolean nextXInBounds = (nextX >= 0 && nextX < boardSize);
+        boolean nextYInBounds = (nextY >= 0 && nextY < boardSize);
+        if (!nextXInBounds || !nextYInBounds) {
+            // Can't step outside the world
+            return;
+        }
+
+        int nextTileIndex = getTileIndex(nextX, nextY);
+        if (playersOnTiles[nextTileIndex] != NO_PLAYER) {
+            // Can't step on a tile if there's another player there
+            return;
+        }
+
+        boolean hasEnergyLeft = (player.getCurrentEnergy() > 0);
+        boolean canMoveWithNoEnergyLeft = MoveAction.canMoveWithNoEnergyLeft(player.getRandomNumberGenerator());
+        if (hasEnergyLeft || canMoveWithNoEnergyLeft) {
+            playersOnTiles[currentTileIndex] = NO_PLAYER;
+            enterTile(player, nextTileIndex, economy);
+            player.useEnergy();
+        }
+    }
+
+    /**
+     * Performs a mining, picking up or placing action on the tile a player is standing on, the same as
+     *  TileInteractAction.performAction()
+     *
+     * @param player The player performing the action
+     * @param action One of MINE, PICK_UP_RESOURCE, PICK_UP_AUTOMINER or PLACE_AUTOMINER
+     */
+    protected void interact(PrimitivePlayer player, TurnAction action) {
+        int tileIndex = player.getTileIndex();
+        int itemsIndex = tileIndex * NUM_ITEM_TYPES;
+        boolean itemsChanged = false;
+
+        // Ensure there already is not an autominer here
+        if (action == TurnAction.PLACE_AUTOMINER && itemCounts[itemsIndex + AUTOMINER_INDEX] == 0) {
+            if (player.removeItemFromInventory(ItemType.AUTOMINER)) {
+                itemCounts[itemsIndex + AUTOMINER_INDEX]++;
+                autominerTileIndexes[numAutominers++] = tileIndex;
+                itemsChanged = true;
+            }
+        } else {
+            ItemType toPickUp = null;
+            if (action == TurnAction.PICK_UP_RESOURCE) {
+                toPickUp = getResourceOnTile(tileIndex);
+            } else if (action == TurnAction.PICK_UP_AUTOMINER && itemCounts[itemsIndex + AUTOMINER_INDEX] > 0) {
+                toPickUp = ItemType.AUTOMINER;
+            }
+
+            if (toPickUp != null && player.addItemToInventory(toPickUp)) {
+                itemCounts[itemsIndex + toPickUp.ordinal()]--;
+                if (toPickUp == ItemType.AUTOMINER) {
+                    removeAutominer(tileIndex);
+                }
+                itemsChanged = true;
+            }
+        }
+
+        if (action == TurnAction.MINE) {
+            itemsChanged |= mineTile(tileIndex);
+        }
+        if (itemsChanged) {
+            trackItemsOnTile(tileIndex);
+        }
+    }
+
+    private ItemType getResourceOnTile(int tileIndex) {
+        int itemsIndex = tileIndex * NUM_ITEM_TYPES;
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            if (itemType.isResource() && itemCounts[itemsIndex + itemType.ordinal()] > 0) {
+                return itemType;
+            }
+        }
+        return null;
+    }
+
+    private void removeAutominer(int tileIndex) {
+        for (int i = 0; i < numAutominers; i++) {
+            if (autominerTileIndexes[i] == tileIndex) {
+                autominerTileIndexes[i] = autominerTileIndexes[--numAutominers];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Mines a tile once. Empty tiles crack right away, and resource tiles crack and drop their resource once they
+     *  have been mined enough times
+     *
+     * @param tileIndex The index of the tile to mine
+     * @return True if the items on the tile changed
+     */
+    private boolean mineTile(int tileIndex) {
+        byte tileKind = tileKinds[tileIndex];
+        if (tileKind == EMPTY) {
+            // There's really no reason to do this, but sure you can mine empty tiles
+            tileKinds[tileIndex] = CRACKED;
+        } else if (tileKind == RESOURCE) {
+            timesMined[tileIndex]++;
+
+            ItemType tileResource = ALL_ITEM_TYPES[tileResources[tileIndex]];
+            if (timesMined[tileIndex] >= tileResource.getTurnsToMine()) {
+                setTileKind(tileIndex, CRACKED, TileType.EMPTY);
+                itemCounts[tileIndex * NUM_ITEM_TYPES + tileResource.ordinal()]++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Called every turn for the board to update its internal state, the same as GameBoard.update()
+     *
+     * @param redPlayer The red player, who may be recharging or standing on an autominer's tile
+     * @param bluePlayer The blue player, who may be recharging or standing on an autominer's tile
+     * @param economy The Economy a player standing on an autominer's tile at their market sells to
+     */
+    protected void update(PrimitivePlayer redPlayer, PrimitivePlayer bluePlayer, Economy economy) {
+        // Recharge tiles are the only tiles that do anything on their own
+        rechargeIfOnRechargeTile(redPlayer);
+        rechargeIfOnRechargeTile(bluePlayer);
+
+        for (int i = 0; i < numAutominers; i++) {
+            int autominerTileIndex = autominerTileIndexes[i];
+            int x = getX(autominerTileIndex);
+            int y = getY(autominerTileIndex);
+
+            updateAutominedTile(autominerTileIndex, redPlayer, bluePlayer, economy);
+            if (x > 0) updateAutominedTile(autominerTileIndex - 1, redPlayer, bluePlayer, economy);
+            if (x < boardSize - 1) updateAutominedTile(autominerTileIndex + 1, redPlayer, bluePlayer, economy);
+            if (y > 0) updateAutominedTile(autominerTileIndex - boardSize, redPlayer, bluePlayer, economy);
+            if (y < boardSize - 1) updateAutominedTile(autominerTileIndex + boardSize, redPlayer, bluePlayer, economy);
+        }
+    }
+
+    private void rechargeIfOnRechargeTile(PrimitivePlayer player) {
+        if (tileKinds[player.getTileIndex()] == RECHARGE) {
+            player.rechargeEnergy(TileKind.RECHARGE_PERCENT_PER_TURN);
+        }
+    }
+
+    private void updateAutominedTile(int tileIndex, PrimitivePlayer redPlayer, PrimitivePlayer bluePlayer,
+                                     Economy economy) {
+        int turnsMined = autominerTurnsMined[tileIndex];
+
+        byte tileKind = tileKinds[tileIndex];
+        if (tileKind == EMPTY) {
+            mineTile(tileIndex);
+        } else if (turnsMined > 0 && tileKind == RESOURCE) {
+            if (turnsMined % GameBoard.AUTOMINER_MULTIPLIER == 0 && mineTile(tileIndex)) {
+                trackItemsOnTile(tileIndex);
+            }
+        }
+
+        // A player standing on their own market where an autominer works sells again, the same as GameBoard
+        byte playerOnTile = playersOnTiles[tileIndex];
+        if (playerOnTile != NO_PLAYER) {
+            PrimitivePlayer player = (playerOnTile == RED_PLAYER) ? redPlayer : bluePlayer;
+            if (isOwnMarket(tileIndex, player)) {
+                player.sellItems(economy);
+            }
+        }
+
+        autominerTurnsMined[tileIndex] = turnsMined + 1;
+    }
+
+    private void trackItemsOnTile(int tileIndex) {
+        int itemsIndex = tileIndex * NUM_ITEM_TYPES;
+        itemsOnTileScratch.clear();
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            for (int i = 0; i < itemCounts[itemsIndex + itemType.ordinal()]; i++) {
+                itemsOnTileScratch.add(InventoryItem.of(itemType));
+            }
+        }
+        itemsOnGround.setItems(getX(tileIndex), getY(tileIndex), itemsOnTileScratch);
+    }
+
+    /**
+     * Converts this board into a restricted information view of the board relative to what one player is
+     *  allowed to know, the same as GameBoard.convertToView()
+     *
+     * @param playerReceivingView The player who will receive this restricted information view
+     * @param otherPlayerTileIndex The index of the tile the opposing player is on
+     * @param otherPlayerScore The opposing player's current score
+     * @return A PlayerBoardView that contains all the information about this board for this turn which a
+     *          player strategy is allowed to know
+     */
+    public PlayerBoardView convertToView(PrimitivePlayer playerReceivingView, int otherPlayerTileIndex,
+                                         int otherPlayerScore) {
+        return this.convertToView(playerReceivingView, otherPlayerTileIndex, otherPlayerScore, null);
+    }
+
+    /**
+     * Converts this board into a view for one player like convertToView(PrimitivePlayer, int, int), but updates an
+     *  existing view in place when given one, the same as GameBoard.convertToView(MinePlayer, MinePlayer,
+     *  PlayerBoardView). A view updated in place shows the live items map instead of a snapshot
+     *
+     * @param playerReceivingView The player who will receive this restricted information view
+     * @param otherPlayerTileIndex The index of the tile the opposing player is on
+     * @param otherPlayerScore The opposing player's current score
+     * @param viewToReuse A view to update in place, or null to create a new one
+     * @return The view for this turn, which is viewToReuse if it wasn't null
+     */
+    public PlayerBoardView convertToView(PrimitivePlayer playerReceivingView, int otherPlayerTileIndex,
+                                         int otherPlayerScore, PlayerBoardView viewToReuse) {
+        int playerTileIndex = playerReceivingView.getTileIndex();
+        TileLocation playerLocation = TileLocation.of(getX(playerTileIndex), getY(playerTileIndex));
+        TileLocation otherPlayerLocation = TileLocation.of(getX(otherPlayerTileIndex), getY(otherPlayerTileIndex));
+        int effectiveActions = getEffectiveActions(playerReceivingView, otherPlayerTileIndex);
+        if (viewToReuse == null) {
+            return new PlayerBoardView(tileView, itemsOnGround.getSnapshot(), resourceTiles, playerLocation,
+                                       otherPlayerLocation, otherPlayerScore, effectiveActions);
+        }
+
+        viewToReuse.update(tileView, itemsOnGround.getView(), resourceTiles, playerLocation, otherPlayerLocation,
+                           otherPlayerScore, effectiveActions);
+        return viewToReuse;
+    }
+
+    /**
+     * Works out which TurnActions would do something for a player this turn, the same as
+     *  GameBoard.getEffectiveActions()
+     *
+     * @param player The player to work out the actions for
+     * @param otherPlayerTileIndex The index of the tile the opposing player is on, which it blocks
+     * @return The mask of TurnActions that would do something
+     */
+    public int getEffectiveActions(PrimitivePlayer player, int otherPlayerTileIndex) {
+        int playerTileIndex = player.getTileIndex();
+        int itemsIndex = playerTileIndex * NUM_ITEM_TYPES;
+        int numResourcesOnTile = 0;
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            if (itemType.isResource()) {
+                numResourcesOnTile += itemCounts[itemsIndex + itemType.ordinal()];
+            }
+        }
+
+        int x = getX(playerTileIndex);
+        int y = getY(playerTileIndex);
+        int moveMask = TurnActionMask.getMoveMask(boardSize, x, y, getX(otherPlayerTileIndex),
+                                                  getY(otherPlayerTileIndex));
+        int interactMask = TurnActionMask.getInteractMask(getTileTypeAtLocation(x, y), numResourcesOnTile,
+                                                          itemCounts[itemsIndex + AUTOMINER_INDEX] > 0,
+                                                          player.getInventorySize(), MinePlayer.MAX_ITEMS,
+                                                          player.getNumItemsInInventory(ItemType.AUTOMINER) > 0);
+        return moveMask | interactMask;
+    }
+}
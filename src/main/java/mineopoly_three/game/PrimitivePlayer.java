@@ -0,0 +1,169 @@
+package mineopoly_three.game;
+
+import mineopoly_three.action.ActionLog;
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.item.InventoryItem;
+import mineopoly_three.item.ItemType;
+import mineopoly_three.strategy.MinePlayerStrategy;
+
+import java.util.Random;
+
+/**
+ * The HeadlessGameEngine's internal representation of a player, the counterpart of MinePlayer for a
+ *  PrimitiveGameBoard. The inventory is kept as a count of each ItemType instead of a list of InventoryItems.
+ * Therefore, do not try to use this class in your strategy.
+ */
+public class PrimitivePlayer {
+    private static final ItemType[] ALL_ITEM_TYPES = ItemType.values();
+
+    private MinePlayerStrategy strategy;
+    private final boolean isRedPlayer;
+    private int tileIndex;
+    private int score;
+    private final int[] inventoryCounts;
+    private int inventorySize;
+    private ActionLog actions;
+    private int currentEnergy;
+    private final Random randomNumberGenerator;
+
+    protected PrimitivePlayer(MinePlayerStrategy strategy, int startTileIndex, long randomSeed, boolean isRedPlayer) {
+        this.isRedPlayer = isRedPlayer;
+        this.inventoryCounts = new int[ALL_ITEM_TYPES.length];
+        this.randomNumberGenerator = new Random(randomSeed);
+        this.reset(strategy, startTileIndex, randomSeed);
+    }
+
+    /**
+     * Clears this player in place so it can play another game, as if it had just been constructed
+     *
+     * @param strategy The strategy controlling this player in the next game
+     * @param startTileIndex The index on the PrimitiveGameBoard of the tile this player starts the next game on
+     * @param randomSeed The seed for this player's random number generator
+     */
+    protected void reset(MinePlayerStrategy strategy, int startTileIndex, long randomSeed) {
+        this.strategy = strategy;
+        this.tileIndex = startTileIndex;
+        this.score = 0;
+        for (int i = 0; i < inventoryCounts.length; i++) {
+            inventoryCounts[i] = 0;
+        }
+        this.inventorySize = 0;
+        // A Replay of the last game may still hold the old action log, so it can't be cleared in place
+        this.actions = new ActionLog(GameEngine.MAX_TURNS_PER_GAME);
+        this.currentEnergy = MinePlayer.MAX_ENERGY;
+        this.randomNumberGenerator.setSeed(randomSeed);
+    }
+
+    public MinePlayerStrategy getStrategy() {
+        return strategy;
+    }
+
+    public boolean isRedPlayer() {
+        return isRedPlayer;
+    }
+
+    public int getTileIndex() {
+        return tileIndex;
+    }
+
+    protected void setTileIndex(int tileIndex) {
+        this.tileIndex = tileIndex;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    protected void setScore(int newScore) {
+        this.score = newScore;
+    }
+
+    /**
+     * @param itemType The type of item to count
+     * @return The number of items of that type in this player's inventory
+     */
+    public int getNumItemsInInventory(ItemType itemType) {
+        return inventoryCounts[itemType.ordinal()];
+    }
+
+    public int getInventorySize() {
+        return inventorySize;
+    }
+
+    /**
+     * Adds an item to the player's inventory, if the inventory isn't full
+     *
+     * @param itemType The type of item to be added to the inventory
+     * @return True if the item is successfully added, false otherwise
+     */
+    protected boolean addItemToInventory(ItemType itemType) {
+        if (inventorySize >= MinePlayer.MAX_ITEMS) {
+            // Inventory full, could not add the item
+            return false;
+        }
+
+        // Let the strategy know this player received an item
+        strategy.onReceiveItem(InventoryItem.of(itemType));
+        inventoryCounts[itemType.ordinal()]++;
+        inventorySize++;
+        return true;
+    }
+
+    /**
+     * Removes an item from the player's inventory, if there is one of that type
+     *
+     * @param itemType The type of item to be removed from the inventory
+     * @return True if an item was removed, false if there were none of that type
+     */
+    protected boolean removeItemFromInventory(ItemType itemType) {
+        if (inventoryCounts[itemType.ordinal()] == 0) {
+            return false;
+        }
+
+        inventoryCounts[itemType.ordinal()]--;
+        inventorySize--;
+        return true;
+    }
+
+    protected void sellItems(Economy economy) {
+        int totalItemSellPrice = economy.sellResources(inventoryCounts);
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            if (itemType.isResource()) {
+                inventorySize -= inventoryCounts[itemType.ordinal()];
+                inventoryCounts[itemType.ordinal()] = 0;
+            }
+        }
+
+        if (totalItemSellPrice > 0) {
+            score += totalItemSellPrice;
+            // Let the strategy know this player sold all items
+            strategy.onSoldInventory(totalItemSellPrice);
+        }
+    }
+
+    protected void addTurnAction(TurnAction actionTaken) {
+        actions.addAction(actionTaken);
+    }
+
+    public ActionLog getAllTurnActions() {
+        return actions;
+    }
+
+    public int getCurrentEnergy() {
+        return currentEnergy;
+    }
+
+    protected void useEnergy() {
+        if (currentEnergy > 0) {
+            currentEnergy--;
+        }
+    }
+
+    protected void rechargeEnergy(float percentToRecharge) {
+        currentEnergy = MinePlayer.getRechargedEnergy(currentEnergy, percentToRecharge, 1);
+    }
+
+    protected Random getRandomNumberGenerator() {
+        return randomNumberGenerator;
+    }
+}
@@ -0,0 +1,151 @@
+package mineopoly_three.game;
+
+import mineopoly_three.item.ItemType;
+import mineopoly_three.tiles.TileType;
+import mineopoly_three.util.TileLocation;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of where the unmined resource tiles of a board are, as one set of tiles per resource TileType, so
+ *  strategies can go through every resource tile in O(number of resource tiles) instead of checking every tile.
+ * Each set is an array of tile indexes, and every tile remembers its position in its set, so adding or removing a
+ *  tile is O(1) and never allocates once the arrays have grown. Removing a tile moves the last tile of its set into
+ *  the gap, so the tiles of a set are in no particular order
+ */
+public class ResourceTileIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NOT_TRACKED = -1;
+    private static final boolean[] IS_RESOURCE_TILE_TYPE = new boolean[TileType.values().length];
+    static {
+        for (ItemType itemType : ItemType.values()) {
+            if (itemType.isResource()) {
+                IS_RESOURCE_TILE_TYPE[itemType.getResourceTileType().ordinal()] = true;
+            }
+        }
+    }
+
+    private final int boardSize;
+    // tilesOfType[type][i] is y * boardSize + x of the i-th tile of the TileType with that ordinal
+    private final int[][] tilesOfType;
+    private final int[] numTilesOfType;
+    private int numTiles;
+    // The TileType ordinal each tile is tracked under and its position in that set, or NOT_TRACKED
+    private final byte[] trackedTypes;
+    private final int[] positions;
+
+    public ResourceTileIndex(int boardSize) {
+        int numTilesOnBoard = boardSize * boardSize;
+        this.boardSize = boardSize;
+        this.tilesOfType = new int[IS_RESOURCE_TILE_TYPE.length][];
+        for (int type = 0; type < tilesOfType.length; type++) {
+            if (IS_RESOURCE_TILE_TYPE[type]) {
+                tilesOfType[type] = new int[INITIAL_CAPACITY];
+            }
+        }
+        this.numTilesOfType = new int[IS_RESOURCE_TILE_TYPE.length];
+        this.numTiles = 0;
+        this.trackedTypes = new byte[numTilesOnBoard];
+        this.positions = new int[numTilesOnBoard];
+        Arrays.fill(trackedTypes, (byte) NOT_TRACKED);
+    }
+
+    /**
+     * Creates an index of every resource tile in a grid of tile types, for views of a board not created by the engine
+     *
+     * @param tiles The tile types of the board, indexed by row then column with the top left tile at [0][0]
+     * @return A new index holding every resource tile in tiles
+     */
+    public static ResourceTileIndex of(TileType[][] tiles) {
+        ResourceTileIndex index = new ResourceTileIndex(tiles.length);
+        for (int row = 0; row < tiles.length; row++) {
+            for (int column = 0; column < tiles[row].length; column++) {
+                if (tiles[row][column] != null) {
+                    index.setTileType(column, (tiles.length - 1) - row, tiles[row][column]);
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return The number of unmined resource tiles of every type together
+     */
+    public int getNumTiles() {
+        return numTiles;
+    }
+
+    /**
+     * @param resourceTileType A resource TileType, like RESOURCE_DIAMOND
+     * @return The number of unmined resource tiles of that type, which is 0 for types that aren't resources
+     */
+    public int getNumTiles(TileType resourceTileType) {
+        return numTilesOfType[resourceTileType.ordinal()];
+    }
+
+    /**
+     * Gets one of the resource tiles of a type. Going through i from 0 to getNumTiles(resourceTileType) - 1 visits
+     *  each of them once, as long as the board doesn't change in between
+     *
+     * @param resourceTileType A resource TileType, like RESOURCE_DIAMOND
+     * @param i Which of the tiles of that type to get
+     * @return The location of the tile
+     * @throws IndexOutOfBoundsException If i is not less than getNumTiles(resourceTileType)
+     */
+    public TileLocation getTileLocation(TileType resourceTileType, int i) {
+        int type = resourceTileType.ordinal();
+        if (i < 0 || i >= numTilesOfType[type]) {
+            throw new IndexOutOfBoundsException("Tile " + i + " of " + numTilesOfType[type] + " " + resourceTileType
+                                                        + " tiles");
+        }
+        int tileIndex = tilesOfType[type][i];
+        return TileLocation.of(tileIndex % boardSize, tileIndex / boardSize);
+    }
+
+    /**
+     * Records the type of a tile, adding it to the set of its type if it is a resource tile and removing it from
+     *  the set it was in before
+     *
+     * @param x The x coordinate of the tile
+     * @param y The y coordinate of the tile
+     * @param type The type the tile has now
+     */
+    void setTileType(int x, int y, TileType type) {
+        int tileIndex = y * boardSize + x;
+        int newType = IS_RESOURCE_TILE_TYPE[type.ordinal()] ? type.ordinal() : NOT_TRACKED;
+        int oldType = trackedTypes[tileIndex];
+        if (oldType == newType) {
+            return;
+        }
+
+        if (oldType != NOT_TRACKED) {
+            int position = positions[tileIndex];
+            int lastTileIndex = tilesOfType[oldType][--numTilesOfType[oldType]];
+            tilesOfType[oldType][position] = lastTileIndex;
+            positions[lastTileIndex] = position;
+            numTiles--;
+        }
+        if (newType != NOT_TRACKED) {
+            if (numTilesOfType[newType] == tilesOfType[newType].length) {
+                tilesOfType[newType] = Arrays.copyOf(tilesOfType[newType], 2 * tilesOfType[newType].length);
+            }
+            positions[tileIndex] = numTilesOfType[newType];
+            tilesOfType[newType][numTilesOfType[newType]++] = tileIndex;
+            numTiles++;
+        }
+        trackedTypes[tileIndex] = (byte) newType;
+    }
+
+    /**
+     * Removes every tile, in O(number of resource tiles)
+     */
+    void clear() {
+        for (int type = 0; type < tilesOfType.length; type++) {
+            for (int i = 0; i < numTilesOfType[type]; i++) {
+                trackedTypes[tilesOfType[type][i]] = NOT_TRACKED;
+            }
+            numTilesOfType[type] = 0;
+        }
+        numTiles = 0;
+    }
+}
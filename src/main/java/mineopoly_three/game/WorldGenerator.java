@@ -1,17 +1,13 @@
 package mineopoly_three.game;
 
-import mineopoly_three.item.InventoryItem;
 import mineopoly_three.item.ItemType;
-import mineopoly_three.tiles.EmptyTile;
-import mineopoly_three.tiles.MarketTile;
-import mineopoly_three.tiles.RechargeTile;
-import mineopoly_three.tiles.ResourceTile;
 import mineopoly_three.tiles.Tile;
+import mineopoly_three.tiles.TileKind;
 import mineopoly_three.tiles.TileType;
+import mineopoly_three.util.TileLocation;
 
-import java.awt.Point;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * A class to generate a random GameBoard based on an initial seed value. Giving a random number generator
@@ -20,12 +16,29 @@ import java.util.Random;
  *  generate that same exact GameBoard if necessary for replaying a match / reproducing bugs / other purposes
  */
 public class WorldGenerator {
-    private static final float RANDOM_RESOURCE_CHANCE = 0.2f;
+    private static final double RANDOM_RESOURCE_CHANCE = 0.2;
     private static final int MAX_EMPTY_TILE_SEARCHES = 50;
-    private final Random randomGenerator;
+    private static final ItemType[] RESOURCE_TYPES =
+            Arrays.stream(ItemType.values()).filter(ItemType::isResource).toArray(ItemType[]::new);
+    private SplittableRandom randomGenerator;
+    // The target for the last GameBoard generated into, so generating into the same board again doesn't allocate
+    private GameBoardTarget lastBoardTarget;
 
+    /**
+     * @param rngSeedValue The seed value, which for a game is GameSeeds.getWorldSeed() rather than the game seed
+     */
     public WorldGenerator(long rngSeedValue) {
-        this.randomGenerator = new Random(rngSeedValue);
+        this.randomGenerator = new SplittableRandom(rngSeedValue);
+    }
+
+    /**
+     * Restarts this generator's random sequence, so it generates the same worlds as a new WorldGenerator
+     *  created with the same seed value
+     *
+     * @param rngSeedValue The new seed value
+     */
+    protected void setSeed(long rngSeedValue) {
+        randomGenerator = new SplittableRandom(rngSeedValue);
     }
 
     /**
@@ -41,54 +54,84 @@ public class WorldGenerator {
             for (int j = 0; j < tilesOnBoard[i].length; j++) {
                 // The top left corner is index (0, 0) but location (0, maxY)
                 // This is so MOVE_UP actually moves up relative to the bottom of the screen
-                Point tileLocation = new Point(j, (boardSize - 1) - i);
-                tilesOnBoard[i][j] = new EmptyTile(tileLocation);
+                TileLocation tileLocation = TileLocation.of(j, (boardSize - 1) - i);
+                tilesOnBoard[i][j] = new Tile(tileLocation);
             }
         }
 
         GameBoard board = new GameBoard(tilesOnBoard);
+        this.populateBoard(new GameBoardTarget(board));
+        return board;
+    }
 
+    /**
+     * Generates a new world into an existing GameBoard instead of allocating a new one. The board is cleared first,
+     *  and the world generated is the same one generateBoard(int) would generate for the board's size
+     *
+     * @param boardToReuse A GameBoard from an earlier game, which nothing else should still be using
+     * @return boardToReuse, ready for use in a round of Mine-opoly
+     */
+    protected GameBoard generateBoard(GameBoard boardToReuse) {
+        if (lastBoardTarget == null || lastBoardTarget.board != boardToReuse) {
+            lastBoardTarget = new GameBoardTarget(boardToReuse);
+        }
+        boardToReuse.clear();
+        this.populateBoard(lastBoardTarget);
+        return boardToReuse;
+    }
+
+    /**
+     * Generates a world into a PrimitiveGameBoard. The board is cleared first, and the world generated is the same
+     *  one generateBoard(int) would generate for the board's size
+     *
+     * @param boardToReuse The PrimitiveGameBoard to fill in, which nothing else should still be using
+     * @return boardToReuse, ready for use in a round of Mine-opoly
+     */
+    protected PrimitiveGameBoard generateBoard(PrimitiveGameBoard boardToReuse) {
+        boardToReuse.clear();
+        this.populateBoard(boardToReuse);
+        return boardToReuse;
+    }
+
+    private void populateBoard(Target board) {
         this.addChargingTiles(board);
         this.addMarketTiles(board);
         this.generateResources(board);
         this.addAutominerTiles(board);
-
-        return board;
     }
 
-    private void addChargingTiles(GameBoard board) {
+    private void addChargingTiles(Target board) {
         // Create a square of charging tiles right at the center of the board
         int halfBoardSize = board.getSize() / 2;
         for (int y = halfBoardSize - 1; y <= halfBoardSize; y++) {
             for (int x = halfBoardSize - 1; x <= halfBoardSize; x++) {
-                Point chargingSquareLocation = new Point(x, y);
-                board.setTileAtTileLocation(new RechargeTile(chargingSquareLocation));
+                board.placeRechargeTile(x, y);
             }
         }
     }
 
-    private void addMarketTiles(GameBoard board) {
+    private void addMarketTiles(Target board) {
         int boardSize = board.getSize();
-        Point redLowerMarketPoint = new Point(boardSize / 4, boardSize * 3 / 4);
-        Point redUpperMarketPoint = new Point(boardSize * 3 / 4, boardSize / 4);
-        Point blueLowerMarketPoint = new Point(boardSize * 3 / 4, boardSize * 3 / 4);
-        Point blueUpperMarketPoint = new Point(boardSize / 4, boardSize / 4);
+        TileLocation redLowerMarketPoint = TileLocation.of(boardSize / 4, boardSize * 3 / 4);
+        TileLocation redUpperMarketPoint = TileLocation.of(boardSize * 3 / 4, boardSize / 4);
+        TileLocation blueLowerMarketPoint = TileLocation.of(boardSize * 3 / 4, boardSize * 3 / 4);
+        TileLocation blueUpperMarketPoint = TileLocation.of(boardSize / 4, boardSize / 4);
 
-        board.setTileAtTileLocation(new MarketTile(redLowerMarketPoint, true));
-        board.setTileAtTileLocation(new MarketTile(redUpperMarketPoint, true));
-        board.setTileAtTileLocation(new MarketTile(blueLowerMarketPoint, false));
-        board.setTileAtTileLocation(new MarketTile(blueUpperMarketPoint, false));
+        board.placeMarketTile(redLowerMarketPoint.getX(), redLowerMarketPoint.getY(), true);
+        board.placeMarketTile(redUpperMarketPoint.getX(), redUpperMarketPoint.getY(), true);
+        board.placeMarketTile(blueLowerMarketPoint.getX(), blueLowerMarketPoint.getY(), false);
+        board.placeMarketTile(blueUpperMarketPoint.getX(), blueUpperMarketPoint.getY(), false);
 
         // Set the start points for both players to be their lower market
         board.setRedStartLocation(redLowerMarketPoint);
         board.setBlueStartLocation(blueLowerMarketPoint);
     }
 
-    private void generateResources(GameBoard board) {
+    private void generateResources(Target board) {
         assert board.getSize() >= 10;
         final int numTilesOnBoard = board.getSize() * board.getSize();
         final int halfBoardSize = board.getSize() / 2;
-        final ItemType[] resourceTypes = Arrays.stream(ItemType.values()).filter(ItemType::isResource).toArray(ItemType[]::new);
+        final ItemType[] resourceTypes = RESOURCE_TYPES;
 
         // Spawn rings of resources at increasing distances around the center of the board
         for (ItemType currentResourceType : resourceTypes) {
@@ -109,7 +152,7 @@ public class WorldGenerator {
                     randomY = (int) (randomRadius * Math.sin(randomAngle)) + halfBoardSize;
 
                     numAttempts++;
-                    tileEmpty = (board.getTileAtLocation(randomX, randomY).getType() == TileType.EMPTY);
+                    tileEmpty = (board.getTileTypeAtLocation(randomX, randomY) == TileType.EMPTY);
                 } while (!tileEmpty && (numAttempts <= MAX_EMPTY_TILE_SEARCHES));
 
                 if (!tileEmpty) {
@@ -119,28 +162,95 @@ public class WorldGenerator {
 
                 // Rarely spawn a resource of a different type
                 ItemType typeToSpawn = currentResourceType;
-                if (randomGenerator.nextFloat() <= RANDOM_RESOURCE_CHANCE) {
+                if (randomGenerator.nextDouble() <= RANDOM_RESOURCE_CHANCE) {
                     int randomIndex = randomGenerator.nextInt(resourceTypes.length);
                     typeToSpawn = resourceTypes[randomIndex];
                 }
 
                 // Plop this resource down at the random empty tile
-                Point randomLocation = new Point(randomX, randomY);
-                Tile resourceTile = new ResourceTile(randomLocation, typeToSpawn);
-                board.setTileAtTileLocation(resourceTile);
+                board.placeResourceTile(randomX, randomY, typeToSpawn);
             }
         }
     }
 
-    private void addAutominerTiles(GameBoard board) {
-        Point[] autominers = new Point[] {
-                new Point(1, board.getSize() - 2),
-                new Point(board.getSize() - 2, board.getSize() - 2)
-        };
+    private void addAutominerTiles(Target board) {
+        // One autominer near each top corner of the board
+        board.placeItemOnGround(1, board.getSize() - 2, ItemType.AUTOMINER);
+        board.placeItemOnGround(board.getSize() - 2, board.getSize() - 2, ItemType.AUTOMINER);
+    }
+
+    /**
+     * The changes this generator makes to a board while generating a world, so the same world can be generated into
+     *  a GameBoard or a PrimitiveGameBoard
+     */
+    interface Target {
+        int getSize();
+
+        TileType getTileTypeAtLocation(int x, int y);
+
+        void placeRechargeTile(int x, int y);
+
+        void placeMarketTile(int x, int y, boolean isRedMarket);
+
+        void placeResourceTile(int x, int y, ItemType tileResource);
+
+        void placeItemOnGround(int x, int y, ItemType itemType);
+
+        void setRedStartLocation(TileLocation redStartLocation);
+
+        void setBlueStartLocation(TileLocation blueStartLocation);
+    }
+
+    /**
+     * Generates a world into a GameBoard by changing the kinds of its Tile objects
+     */
+    private static class GameBoardTarget implements Target {
+        private final GameBoard board;
+
+        private GameBoardTarget(GameBoard board) {
+            this.board = board;
+        }
+
+        @Override
+        public int getSize() {
+            return board.getSize();
+        }
+
+        @Override
+        public TileType getTileTypeAtLocation(int x, int y) {
+            return board.getTileAtLocation(x, y).getType();
+        }
+
+        @Override
+        public void placeRechargeTile(int x, int y) {
+            board.setTileKind(x, y, TileKind.RECHARGE, null);
+        }
+
+        @Override
+        public void placeMarketTile(int x, int y, boolean isRedMarket) {
+            board.setTileKind(x, y, isRedMarket ? TileKind.RED_MARKET : TileKind.BLUE_MARKET, null);
+        }
+
+        @Override
+        public void placeResourceTile(int x, int y, ItemType tileResource) {
+            board.setTileKind(x, y, TileKind.RESOURCE, tileResource);
+        }
+
+        @Override
+        public void placeItemOnGround(int x, int y, ItemType itemType) {
+            Tile tile = board.getTileAtLocation(x, y);
+            tile.getItemsOnTile().addItem(itemType);
+            board.trackItemsOnPoint(tile.getLocation(), tile.getItemsOnTile());
+        }
+
+        @Override
+        public void setRedStartLocation(TileLocation redStartLocation) {
+            board.setRedStartLocation(redStartLocation);
+        }
 
-        for(Point p : autominers) {
-            board.getTileAtLocation(p.x, p.y).getItemsOnTile().add(new InventoryItem(ItemType.AUTOMINER));
-            board.trackItemsOnPoint(p, board.getTileAtLocation(p.x, p.y).getItemsOnTile());
+        @Override
+        public void setBlueStartLocation(TileLocation blueStartLocation) {
+            board.setBlueStartLocation(blueStartLocation);
         }
     }
 }
@@ -1,21 +1,28 @@
 package mineopoly_three.graphics;
 
+import mineopoly_three.event.GameEvent;
+import mineopoly_three.event.GameEventListener;
 import mineopoly_three.game.GameBoard;
 
 import java.awt.*;
-import java.util.Observable;
-import java.util.Observer;
+import java.util.Set;
 import javax.swing.*;
 
 /**
  * A panel on the JFrame for the main.game which can display the current GameBoard
  */
-public class GameBoardDisplayPanel extends JPanel implements Observer {
+public class GameBoardDisplayPanel extends JPanel implements GameEventListener {
     private GameBoard boardToRender;
-    private ImageManager imageManager;
+    private TileRenderer tileRenderer;
     private int preferredSize;
 
-    public GameBoardDisplayPanel(int preferredSize, GameBoard board, ImageManager imageManager) {
+    /**
+     * @param preferredSize The preferred width and height of this panel
+     * @param board The GameBoard to display
+     * @param imageManager The ImageManager holding every image used to draw the board
+     * @param renderingSeed The seed for the random texturing of the tiles, see GameSeeds.getRenderingSeed()
+     */
+    public GameBoardDisplayPanel(int preferredSize, GameBoard board, ImageManager imageManager, long renderingSeed) {
         super();
         this.boardToRender = board;
         this.setLayout(new BorderLayout());
@@ -26,13 +33,13 @@ public class GameBoardDisplayPanel extends JPanel implements Observer {
         int imageWidth = this.preferredSize / board.getSize();
         int imageHeight = this.preferredSize / board.getSize();
         imageManager.rescaleImages(imageWidth, imageHeight);
-        this.imageManager = imageManager;
+        this.tileRenderer = new TileRenderer(imageManager, renderingSeed);
     }
 
     @Override
     public void paint(Graphics g) {
         super.paint(g);
-        boardToRender.paint((Graphics2D) g, imageManager);
+        tileRenderer.paintBoard((Graphics2D) g, boardToRender);
     }
 
     @Override
@@ -41,7 +48,7 @@ public class GameBoardDisplayPanel extends JPanel implements Observer {
     }
 
     @Override
-    public void update(Observable o, Object arg) {
+    public void onGameEvents(Set<GameEvent> events) {
         repaint();
     }
 }
@@ -0,0 +1,218 @@
+package mineopoly_three.graphics;
+
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.game.GameBoard;
+import mineopoly_three.game.MinePlayer;
+import mineopoly_three.item.InventoryItem;
+import mineopoly_three.item.ItemType;
+import mineopoly_three.tiles.Tile;
+import mineopoly_three.tiles.TileKind;
+import mineopoly_three.util.SeedUtil;
+import mineopoly_three.util.TileLocation;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.SplittableRandom;
+
+/**
+ * Draws a GameBoard, one Tile at a time. Tiles and players only hold game state, everything about how they look
+ *  lives here so the engine itself never touches AWT
+ */
+public class TileRenderer {
+    private static final int NUM_RENDER_LAYERS = TileRenderLayer.values().length;
+    // The direction a player faces after each TurnAction by ordinal, null for actions that aren't moves
+    private static final String[] moveToDirectionNames = new String[TurnAction.values().length];
+    static {
+        moveToDirectionNames[TurnAction.MOVE_UP.ordinal()] = "back";
+        moveToDirectionNames[TurnAction.MOVE_DOWN.ordinal()] = "front";
+        moveToDirectionNames[TurnAction.MOVE_LEFT.ordinal()] = "left";
+        moveToDirectionNames[TurnAction.MOVE_RIGHT.ordinal()] = "right";
+    }
+
+    private final ImageManager imageManager;
+    private final long renderingSeed;
+
+    /**
+     * @param imageManager The ImageManager object that manages all images for the JPanel component rendering tiles
+     * @param renderingSeed The seed the stone texturing of every tile is derived from
+     */
+    public TileRenderer(ImageManager imageManager, long renderingSeed) {
+        this.imageManager = imageManager;
+        this.renderingSeed = renderingSeed;
+    }
+
+    /**
+     * Specifies how to render a whole GameBoard on the Graphics2D object passed in
+     *
+     * @param brush The Graphics2D object on which to render the GameBoard
+     * @param board The GameBoard to render
+     */
+    public void paintBoard(Graphics2D brush, GameBoard board) {
+        for (int x = 0; x < board.getSize(); x++) {
+            for (int y = 0; y < board.getSize(); y++) {
+                paintTile(brush, board.getTileAtLocation(x, y), board.getSize());
+            }
+        }
+    }
+
+    /**
+     * Specifies how to render a Tile on the Graphics object passed in
+     *
+     * @param brush The Graphics object on which to render the Tile
+     * @param tile The Tile to render
+     * @param boardSize The size of the board for use in finding the starting point on the screen to render
+     */
+    public void paintTile(Graphics2D brush, Tile tile, int boardSize) {
+        int imageWidth = imageManager.getImageWidth();
+        int imageHeight = imageManager.getImageHeight();
+        Point screenIndex = getScreenIndexFromLocation(tile.getLocation(), imageWidth, imageHeight, boardSize);
+
+        // Draw overlays in the order of their TileRenderLayer
+        Image[] imageOverlays = this.getImageOverlays(tile);
+        for (Image layerImage : imageOverlays) {
+            // Nothing is drawn if layerImage is null
+            brush.drawImage(layerImage, screenIndex.x, screenIndex.y, null);
+        }
+    }
+
+    /**
+     * Gets the Image[] that encodes how to render a Tile
+     * Images with later TileRenderLayer values will be rendered on top of Images with earlier values
+     *
+     * @param tile The Tile to render
+     * @return The Image[] specifying the overlays to render in the order to render them
+     */
+    private Image[] getImageOverlays(Tile tile) {
+        Image[] imageOverlays = new Image[NUM_RENDER_LAYERS];
+
+        // Draw players if they're standing on this tile
+        MinePlayer playerOnTile = tile.getPlayerOnTile();
+        if (playerOnTile != null) {
+            imageOverlays[TileRenderLayer.LAYER_PLAYER.ordinal()] = getPlayerImage(playerOnTile);
+        }
+
+        // Draw the items that could be on this tile
+        for (InventoryItem item : tile.getItemsOnTile()) {
+            String itemImageName = item.getItemType().getItemImageName();
+            Image itemImage = imageManager.getScaledImage(itemImageName);
+            int itemOverlayIndex = item.getItemType() == ItemType.AUTOMINER ?
+                    TileRenderLayer.LAYER_AUTOMINER.ordinal() : TileRenderLayer.LAYER_ITEM.ordinal();
+            imageOverlays[itemOverlayIndex] = itemImage;
+        }
+
+        TileKind kind = tile.getKind();
+        if (kind == TileKind.RED_MARKET || kind == TileKind.BLUE_MARKET) {
+            addMarketOverlays(imageOverlays, kind == TileKind.RED_MARKET);
+            return imageOverlays;
+        }
+
+        // Every other kind of tile is stone underneath
+        addStoneOverlays(imageOverlays, tile.getLocation());
+        if (kind == TileKind.RECHARGE) {
+            // Add charging station on top of tile
+            imageOverlays[TileRenderLayer.LAYER_RECHARGE.ordinal()] = imageManager.getScaledImage("charging_station");
+        } else if (kind == TileKind.CRACKED) {
+            imageOverlays[TileRenderLayer.LAYER_CRACK.ordinal()] = imageManager.getScaledImage("crack_3");
+        } else if (kind == TileKind.RESOURCE) {
+            // Add texture for resource
+            Image resourceTileOverlay = imageManager.getScaledImage(tile.getTileResource().getTileImageName());
+            imageOverlays[TileRenderLayer.LAYER_RESOURCE_TYPE.ordinal()] = resourceTileOverlay;
+
+            // Add crack textures if this has been mined
+            Image crackOverlay = imageManager.getScaledImage("crack_" + tile.getNumTimesMined());
+            imageOverlays[TileRenderLayer.LAYER_CRACK.ordinal()] = crackOverlay;
+        }
+        return imageOverlays;
+    }
+
+    private void addStoneOverlays(Image[] imageOverlays, TileLocation location) {
+        String backgroundTileName = "stone_background";
+        if (!imageManager.hasImageWithName(backgroundTileName)) {
+            final int defaultGreyValue = 140;
+            Color backgroundColor = new Color(defaultGreyValue, defaultGreyValue, defaultGreyValue);
+            ImageIcon backgroundImage = imageManager.generateBackgroundImageIcon(backgroundColor);
+            imageManager.addImageFromIcon(backgroundTileName, backgroundImage);
+        }
+
+        // Get the randomly generated stone texturing overlay
+        String stoneTexturingImageName = location.getX() + "_" + location.getY() + "_stone_texturing";
+        if (!imageManager.hasImageWithName(stoneTexturingImageName)) {
+            // Each location gets its own stream, so the texturing doesn't depend on the order tiles are first drawn in
+            long locationIndex = ((long) location.getX() << Integer.SIZE) | location.getY();
+            SplittableRandom random = new SplittableRandom(SeedUtil.deriveSeed(renderingSeed, locationIndex));
+            ImageIcon randomTexturing = createRandomTexturing(random, imageManager.getImageWidth(),
+                                                              imageManager.getImageHeight());
+            imageManager.addImageFromIcon(stoneTexturingImageName, randomTexturing);
+        }
+
+        imageOverlays[TileRenderLayer.LAYER_BASE.ordinal()] = imageManager.getScaledImage(backgroundTileName);
+        imageOverlays[TileRenderLayer.LAYER_TEXTURING.ordinal()] = imageManager.getScaledImage(stoneTexturingImageName);
+    }
+
+    private void addMarketOverlays(Image[] imageOverlays, boolean isRedMarket) {
+        // Base tile is just red or blue
+        String backgroundTileName = (isRedMarket) ? ("red_market_background") : ("blue_market_background");
+        if (!imageManager.hasImageWithName(backgroundTileName)) {
+            Color backgroundColor = (isRedMarket) ? (new Color(240, 72, 60)) : (new Color(50, 85, 240));
+            ImageIcon backgroundImage = imageManager.generateBackgroundImageIcon(backgroundColor);
+            imageManager.addImageFromIcon(backgroundTileName, backgroundImage);
+        }
+        imageOverlays[TileRenderLayer.LAYER_BASE.ordinal()] = imageManager.getScaledImage(backgroundTileName);
+
+        // Add player specific market overlay
+        String marketImageName = (isRedMarket) ? ("red_market") : ("blue_market");
+        imageOverlays[TileRenderLayer.LAYER_BUILDING.ordinal()] = imageManager.getScaledImage(marketImageName);
+    }
+
+    private ImageIcon createRandomTexturing(SplittableRandom random, int imageWidth, int imageHeight) {
+        BufferedImage bufferedImage = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D imageBrush = bufferedImage.createGraphics();
+        final int numRandomTextures = 50;
+        final int minGreyValue = 90;
+        final int maxGreyValue = 140;
+        final int maxTextureSize = 4;
+
+        for (int i = 0; i < numRandomTextures; i++) {
+            int randomRGB = random.nextInt(minGreyValue, maxGreyValue);
+            Color randomGreyShade = new Color(randomRGB, randomRGB, randomRGB);
+            imageBrush.setColor(randomGreyShade);
+
+            int randomX = random.nextInt(imageWidth);
+            int randomY = random.nextInt(imageHeight);
+            int randomWidth = random.nextInt(maxTextureSize) + 1;
+            int randomHeight = random.nextInt(maxTextureSize) + 1;
+            imageBrush.fillRect(randomX, randomY, randomWidth, randomHeight);
+        }
+
+        return new ImageIcon(bufferedImage);
+    }
+
+    /**
+     * Gets the Image corresponding the direction a player is currently facing
+     *
+     * @param player The player to get the Image of
+     * @return An Image for the direction the player is facing
+     */
+    private Image getPlayerImage(MinePlayer player) {
+        String playerColor = player.isRedPlayer() ? "red_bot_" : "blue_bot_";
+        String directionName = moveToDirectionNames[player.getLastMove().ordinal()];
+        return imageManager.getScaledImage(playerColor + directionName);
+    }
+
+    /**
+     * Computes the (x, y) coordinates of the pixel on the screen corresponding to the top left of a Tile
+     *
+     * @param location The location of the Tile on the board
+     * @param imageWidth The width of the image to be rendered
+     * @param imageHeight The height of the image to be rendered
+     * @param boardSize The size of the board
+     * @return The (x, y) coordinates on the screen of the top left image pixel
+     */
+    private static Point getScreenIndexFromLocation(TileLocation location, int imageWidth, int imageHeight,
+                                                    int boardSize) {
+        int xScreenIndex = location.getX() * imageWidth;
+        int yScreenIndex = ((boardSize - 1) - location.getY()) * imageHeight;
+        return new Point(xScreenIndex, yScreenIndex);
+    }
+}
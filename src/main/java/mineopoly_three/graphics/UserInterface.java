@@ -1,5 +1,7 @@
 package mineopoly_three.graphics;
 
+import mineopoly_three.event.EventDelivery;
+import mineopoly_three.event.GameEventBus;
 import mineopoly_three.game.Economy;
 import mineopoly_three.game.GameBoard;
 import mineopoly_three.game.GameEngine;
@@ -51,8 +53,9 @@ public class UserInterface {
         gameDisplayFrame.add(topInfoDisplayPanel);
 
         // Create the panel that actually renders the game board
-        GameBoardDisplayPanel gameBoardDisplayPanel = new GameBoardDisplayPanel(preferredGuiWidth, board, boardImageManager);
-        engine.addObserver(gameBoardDisplayPanel);
+        GameBoardDisplayPanel gameBoardDisplayPanel = new GameBoardDisplayPanel(preferredGuiWidth, board, boardImageManager,
+                                                                                engine.getSeeds().getRenderingSeed());
+        engine.getEventBus().subscribeAsync(gameBoardDisplayPanel, EventDelivery.everyTurn(), SwingUtilities::invokeLater);
         gameDisplayFrame.add(gameBoardDisplayPanel);
 
         // Tell the application window to resize its contents to their preferred dimensions
@@ -98,10 +101,11 @@ public class UserInterface {
         topInfoDisplayPanel.add(economyDisplayPanel);
         topInfoDisplayPanel.add(blueDisplayPanel);
 
-        // Set these panels to update when the engine tells them something changed
-        engine.addObserver(redDisplayPanel);
-        engine.addObserver(blueDisplayPanel);
-        engine.getEconomy().addObserver(economyDisplayPanel);
+        // Set these panels to repaint on the Swing thread when the engine tells them something changed
+        GameEventBus eventBus = engine.getEventBus();
+        eventBus.subscribeAsync(redDisplayPanel, EventDelivery.everyTurn(), SwingUtilities::invokeLater);
+        eventBus.subscribeAsync(blueDisplayPanel, EventDelivery.everyTurn(), SwingUtilities::invokeLater);
+        eventBus.subscribeAsync(economyDisplayPanel, EventDelivery.everyTurn(), SwingUtilities::invokeLater);
         return topInfoDisplayPanel;
     }
 }
@@ -1,12 +1,30 @@
 package mineopoly_three.item;
 
 public class InventoryItem {
+    // Strategies only ever see the type of an item, so the engine uses the same object for every item of a type
+    private static final InventoryItem[] ITEMS_OF_EACH_TYPE;
+    static {
+        ItemType[] allItemTypes = ItemType.values();
+        ITEMS_OF_EACH_TYPE = new InventoryItem[allItemTypes.length];
+        for (ItemType itemType : allItemTypes) {
+            ITEMS_OF_EACH_TYPE[itemType.ordinal()] = new InventoryItem(itemType);
+        }
+    }
+
     private ItemType itemType;
 
     public InventoryItem(ItemType itemType) {
         this.itemType = itemType;
     }
 
+    /**
+     * @param itemType The type of item to get
+     * @return The one shared InventoryItem the engine uses for every item of that type
+     */
+    public static InventoryItem of(ItemType itemType) {
+        return ITEMS_OF_EACH_TYPE[itemType.ordinal()];
+    }
+
     public ItemType getItemType() {
         return itemType;
     }
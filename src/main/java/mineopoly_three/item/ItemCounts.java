@@ -0,0 +1,156 @@
+package mineopoly_three.item;
+
+import java.util.AbstractList;
+
+/**
+ * A collection of items kept as how many of each ItemType there are, used for the items on a tile and in a player's
+ *  inventory. Adding, removing and counting items are O(1) and never allocate.
+ * An ItemCounts is also a read-only List of the shared InventoryItem for each item, listed in ItemType order, so it
+ *  can be handed to anything that expects a List of InventoryItems. Items are added and removed by type instead
+ */
+public class ItemCounts extends AbstractList<InventoryItem> {
+    private static final ItemType[] ALL_ITEM_TYPES = ItemType.values();
+    /** The length of the arrays copyTo() and copyFrom() work with */
+    public static final int NUM_ITEM_TYPES = ALL_ITEM_TYPES.length;
+
+    private final int[] counts;
+    private int numItems;
+
+    public ItemCounts() {
+        this.counts = new int[NUM_ITEM_TYPES];
+        this.numItems = 0;
+    }
+
+    /**
+     * @param itemType The type of item to count
+     * @return The number of items of that type
+     */
+    public int getCount(ItemType itemType) {
+        return counts[itemType.ordinal()];
+    }
+
+    /**
+     * @return The number of items that are resources
+     */
+    public int getNumResources() {
+        int numResources = 0;
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            if (itemType.isResource()) {
+                numResources += counts[itemType.ordinal()];
+            }
+        }
+        return numResources;
+    }
+
+    /**
+     * @return The first type of resource there is at least one of in ItemType order, or null if there are none
+     */
+    public ItemType getFirstResource() {
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            if (itemType.isResource() && counts[itemType.ordinal()] > 0) {
+                return itemType;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param itemType The type of item to add one of
+     */
+    public void addItem(ItemType itemType) {
+        counts[itemType.ordinal()]++;
+        numItems++;
+    }
+
+    /**
+     * Removes one item of a type, if there is one
+     *
+     * @param itemType The type of item to remove one of
+     * @return True if an item was removed, false if there were none of that type
+     */
+    public boolean removeItem(ItemType itemType) {
+        if (counts[itemType.ordinal()] == 0) {
+            return false;
+        }
+        counts[itemType.ordinal()]--;
+        numItems--;
+        return true;
+    }
+
+    /**
+     * Removes every resource, leaving items like autominers alone
+     */
+    public void removeResources() {
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            if (itemType.isResource()) {
+                numItems -= counts[itemType.ordinal()];
+                counts[itemType.ordinal()] = 0;
+            }
+        }
+    }
+
+    /**
+     * Copies the count of each item type into an array, indexed by ItemType.ordinal() from an offset
+     *
+     * @param destination The array to copy into, which must have room for NUM_ITEM_TYPES counts after the offset
+     * @param offset Where the count of the first ItemType goes
+     */
+    public void copyTo(int[] destination, int offset) {
+        System.arraycopy(counts, 0, destination, offset, NUM_ITEM_TYPES);
+    }
+
+    /**
+     * Replaces every count with ones from an array laid out like copyTo() writes them
+     *
+     * @param source The array to copy from
+     * @param offset Where the count of the first ItemType is
+     */
+    public void copyFrom(int[] source, int offset) {
+        numItems = 0;
+        for (int i = 0; i < NUM_ITEM_TYPES; i++) {
+            counts[i] = source[offset + i];
+            numItems += counts[i];
+        }
+    }
+
+    /**
+     * @param source The array to compare with, laid out like copyTo() writes it
+     * @param offset Where the count of the first ItemType is
+     * @return True if copyFrom() with the same arguments would change nothing
+     */
+    public boolean hasCounts(int[] source, int offset) {
+        for (int i = 0; i < NUM_ITEM_TYPES; i++) {
+            if (counts[i] != source[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < NUM_ITEM_TYPES; i++) {
+            counts[i] = 0;
+        }
+        numItems = 0;
+    }
+
+    @Override
+    public InventoryItem get(int index) {
+        if (index < 0 || index >= numItems) {
+            throw new IndexOutOfBoundsException("Item " + index + " is not in a list of " + numItems + " items");
+        }
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            index -= counts[itemType.ordinal()];
+            if (index < 0) {
+                return InventoryItem.of(itemType);
+            }
+        }
+        throw new IllegalStateException("Item counts don't add up to " + numItems);
+    }
+
+    @Override
+    public int size() {
+        return numItems;
+    }
+}
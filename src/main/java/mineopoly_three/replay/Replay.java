@@ -1,12 +1,12 @@
 package mineopoly_three.replay;
 
+import mineopoly_three.action.ActionLog;
 import mineopoly_three.action.TurnAction;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Scanner;
 
@@ -86,6 +86,15 @@ public class Replay {
 
     private static String encodeActionList(List<TurnAction> actionList, boolean exceptionThrown) {
         StringBuilder actionListEncoder = new StringBuilder();
+        if (actionList instanceof ActionLog) {
+            // An action log already holds the encoded actions, no need to look at each TurnAction
+            ActionLog actionLog = (ActionLog) actionList;
+            for (int turn = 0; turn < actionLog.size(); turn++) {
+                actionListEncoder.append(actionLog.getActionCode(turn)).append(',');
+            }
+            return finishActionListEncoding(actionListEncoder, exceptionThrown);
+        }
+
         for (TurnAction action : actionList) {
             if (action == null) {
                 // There is no turn action at the length of the list, it will be treated as no action
@@ -95,7 +104,10 @@ public class Replay {
             }
             actionListEncoder.append(',');
         }
+        return finishActionListEncoding(actionListEncoder, exceptionThrown);
+    }
 
+    private static String finishActionListEncoding(StringBuilder actionListEncoder, boolean exceptionThrown) {
         if (exceptionThrown) {
             // A negative number indicates an exception
             actionListEncoder.append("-1");
@@ -106,8 +118,8 @@ public class Replay {
         return actionListEncoder.toString();
     }
 
-    private static List<TurnAction> decodeActionList(String[] encodedList) {
-        List<TurnAction> turnActions = new LinkedList<>();
+    private static ActionLog decodeActionList(String[] encodedList) {
+        ActionLog turnActions = new ActionLog(encodedList.length);
 
         for (String encodedAction : encodedList) {
             int actionIndex = Integer.parseInt(encodedAction);
@@ -118,9 +130,9 @@ public class Replay {
 
             if (actionIndex >= allTurnActions.length) {
                 // Player did nothing on this turn
-                turnActions.add(null);
+                turnActions.addAction(null);
             } else {
-                turnActions.add(allTurnActions[actionIndex]);
+                turnActions.addAction(allTurnActions[actionIndex]);
             }
         }
 
@@ -0,0 +1,504 @@
+package mineopoly_three.strategy;
+
+import mineopoly_three.action.MoveAction;
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.action.TurnActionMask;
+import mineopoly_three.game.Economy;
+import mineopoly_three.game.GameBoard;
+import mineopoly_three.item.InventoryItem;
+import mineopoly_three.item.ItemType;
+import mineopoly_three.tiles.TileKind;
+import mineopoly_three.tiles.TileType;
+import mineopoly_three.util.TileLocation;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A sandboxed copy of the game that a strategy can use to try out sequences of TurnActions without affecting
+ *  the real game. It follows the same rules as the GameEngine: moving, mining, picking up and placing items,
+ *  selling on your market, recharging, autominers and resource prices going up every turn.
+ *
+ * Only your own player is simulated. The other player is treated as standing still where it is, blocking its tile.
+ * Some things are not visible to a strategy, so the model starts them from what it can see: resource tiles start
+ *  unmined and autominers start with no progress unless setTimesMined() says otherwise, and a move with no energy
+ *  left never succeeds unless a Random is given with setRandom().
+ *
+ * All state is kept in primitive arrays, so once created a model can be stepped with step() and simulate(), and
+ *  copied with copyFrom() between models of the same board size, as often as needed without allocating. reset()
+ *  reads the view's items map and the inventory through their iterators, so it allocates a little for every tile
+ *  with items on it. To try several different plans from the same starting point, reset() one model once and
+ *  copyFrom() it into a second model before each plan
+ */
+public class ForwardModel {
+    private static final TileType[] ALL_TILE_TYPES = TileType.values();
+    private static final ItemType[] ALL_ITEM_TYPES = ItemType.values();
+    private static final int NUM_ITEM_TYPES = ALL_ITEM_TYPES.length;
+    private static final int AUTOMINER = ItemType.AUTOMINER.ordinal();
+    // The resource each tile type gives when mined, or null if the tile type isn't a resource
+    private static final ItemType[] RESOURCE_OF_TILE_TYPE = new ItemType[ALL_TILE_TYPES.length];
+    static {
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            if (itemType.isResource()) {
+                RESOURCE_OF_TILE_TYPE[itemType.getResourceTileType().ordinal()] = itemType;
+            }
+        }
+    }
+
+    private final int maxInventorySize;
+    private final int maxCharge;
+    private Random random;
+
+    // Board state, indexed by y * boardSize + x
+    private int boardSize;
+    private byte[] tileTypes;
+    private int[] timesMined;
+    private int[] autominerTurnsMined;
+    // Number of items of each type on each tile, indexed by tileIndex * NUM_ITEM_TYPES + itemType.ordinal()
+    private int[] itemCounts;
+    // Tiles that currently have an autominer on them, in no particular order
+    private int[] autominerTiles;
+    private int numAutominers;
+
+    // Your player
+    private boolean isRedPlayer;
+    private int x;
+    private int y;
+    private int charge;
+    private final int[] inventoryCounts;
+    private int inventorySize;
+    private int pointsEarned;
+    private int turnsSimulated;
+
+    // The other player, who stands still
+    private int otherX;
+    private int otherY;
+
+    // Prices indexed by ItemType.ordinal()
+    private final int[] prices;
+
+    /**
+     * @param maxInventorySize The maximum number of items your player can carry, as given to initialize()
+     * @param maxCharge The maximum charge of your robot, as given to initialize()
+     */
+    public ForwardModel(int maxInventorySize, int maxCharge) {
+        this.maxInventorySize = maxInventorySize;
+        this.maxCharge = maxCharge;
+        this.inventoryCounts = new int[NUM_ITEM_TYPES];
+        this.prices = new int[NUM_ITEM_TYPES];
+        this.boardSize = -1;
+    }
+
+    /**
+     * Sets the random number generator used to decide whether a move with no energy left succeeds, like the
+     *  GameEngine does. With no Random such moves always fail
+     *
+     * @param random The Random to use, or null for moves with no energy to always fail
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Loads the current state of the real game into this model, replacing anything simulated so far. Only the
+     *  board's arrays are reused, going through the items on the ground and the inventory allocates iterators and
+     *  map entries, so this is meant to be called once per turn rather than once per plan
+     *
+     * @param boardView The board view given to getTurnAction()
+     * @param economy The economy given to getTurnAction(), or null to use the starting prices
+     * @param currentCharge The charge given to getTurnAction()
+     * @param isRedPlayer True if your strategy is the red player
+     * @param inventory The items your player is currently carrying
+     */
+    public void reset(PlayerBoardView boardView, Economy economy, int currentCharge, boolean isRedPlayer,
+                      Collection<InventoryItem> inventory) {
+        int newBoardSize = boardView.getBoardSize();
+        if (newBoardSize != boardSize) {
+            int numTiles = newBoardSize * newBoardSize;
+            this.boardSize = newBoardSize;
+            this.tileTypes = new byte[numTiles];
+            this.timesMined = new int[numTiles];
+            this.autominerTurnsMined = new int[numTiles];
+            this.itemCounts = new int[numTiles * NUM_ITEM_TYPES];
+            this.autominerTiles = new int[numTiles];
+        }
+
+        for (int tileY = 0; tileY < boardSize; tileY++) {
+            for (int tileX = 0; tileX < boardSize; tileX++) {
+                int tileIndex = tileY * boardSize + tileX;
+                tileTypes[tileIndex] = (byte) boardView.getTileTypeAtLocation(tileX, tileY).ordinal();
+                timesMined[tileIndex] = 0;
+                autominerTurnsMined[tileIndex] = 0;
+            }
+        }
+
+        Arrays.fill(itemCounts, 0);
+        numAutominers = 0;
+        for (Map.Entry<Point, List<InventoryItem>> tileItems : boardView.getItemsOnGround().entrySet()) {
+            int tileIndex = toTileIndex(tileItems.getKey().x, tileItems.getKey().y);
+            for (InventoryItem item : tileItems.getValue()) {
+                addItemToTile(tileIndex, item.getItemType().ordinal());
+            }
+        }
+
+        this.isRedPlayer = isRedPlayer;
+        this.x = boardView.getYourTileLocation().getX();
+        this.y = boardView.getYourTileLocation().getY();
+        this.charge = currentCharge;
+        Arrays.fill(inventoryCounts, 0);
+        this.inventorySize = 0;
+        for (InventoryItem item : inventory) {
+            inventoryCounts[item.getItemType().ordinal()]++;
+            inventorySize++;
+        }
+        this.pointsEarned = 0;
+        this.turnsSimulated = 0;
+
+        TileLocation otherPlayerLocation = boardView.getOtherPlayerTileLocation();
+        this.otherX = (otherPlayerLocation == null) ? -1 : otherPlayerLocation.getX();
+        this.otherY = (otherPlayerLocation == null) ? -1 : otherPlayerLocation.getY();
+
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            boolean hasPrice = (economy != null) && economy.getCurrentPrices().containsKey(itemType);
+            prices[itemType.ordinal()] = hasPrice ? economy.getPrice(itemType) : itemType.getStartingPrice();
+        }
+    }
+
+    /**
+     * Makes this model an exact copy of another model, reusing this model's arrays when the board sizes match
+     *
+     * @param other The model to copy, which must have been reset() at least once
+     */
+    public void copyFrom(ForwardModel other) {
+        if (other.boardSize != boardSize) {
+            this.boardSize = other.boardSize;
+            this.tileTypes = other.tileTypes.clone();
+            this.timesMined = other.timesMined.clone();
+            this.autominerTurnsMined = other.autominerTurnsMined.clone();
+            this.itemCounts = other.itemCounts.clone();
+            this.autominerTiles = other.autominerTiles.clone();
+        } else {
+            System.arraycopy(other.tileTypes, 0, tileTypes, 0, tileTypes.length);
+            System.arraycopy(other.timesMined, 0, timesMined, 0, timesMined.length);
+            System.arraycopy(other.autominerTurnsMined, 0, autominerTurnsMined, 0, autominerTurnsMined.length);
+            System.arraycopy(other.itemCounts, 0, itemCounts, 0, itemCounts.length);
+            System.arraycopy(other.autominerTiles, 0, autominerTiles, 0, other.numAutominers);
+        }
+        this.numAutominers = other.numAutominers;
+
+        this.isRedPlayer = other.isRedPlayer;
+        this.x = other.x;
+        this.y = other.y;
+        this.charge = other.charge;
+        System.arraycopy(other.inventoryCounts, 0, inventoryCounts, 0, NUM_ITEM_TYPES);
+        this.inventorySize = other.inventorySize;
+        this.pointsEarned = other.pointsEarned;
+        this.turnsSimulated = other.turnsSimulated;
+        this.otherX = other.otherX;
+        this.otherY = other.otherY;
+        System.arraycopy(other.prices, 0, prices, 0, NUM_ITEM_TYPES);
+        this.random = other.random;
+    }
+
+    /**
+     * Sets how many times a resource tile has already been mined, by players or by an autominer, for strategies
+     *  that keep track of it themselves
+     *
+     * @param tileX The x coordinate of the tile
+     * @param tileY The y coordinate of the tile
+     * @param numTimesMined The number of times the tile has been mined by a player
+     * @param autominerTurns The number of turns autominers have worked on the tile
+     */
+    public void setTimesMined(int tileX, int tileY, int numTimesMined, int autominerTurns) {
+        int tileIndex = toTileIndex(tileX, tileY);
+        timesMined[tileIndex] = numTimesMined;
+        autominerTurnsMined[tileIndex] = autominerTurns;
+    }
+
+    /**
+     * Simulates one full turn: your player performs the action, then the board updates and prices go up
+     *
+     * @param action The action your player performs, or null to do nothing
+     */
+    public void step(TurnAction action) {
+        if (action != null) {
+            switch (action) {
+                case MOVE_UP:
+                    move(0, 1);
+                    break;
+                case MOVE_DOWN:
+                    move(0, -1);
+                    break;
+                case MOVE_RIGHT:
+                    move(1, 0);
+                    break;
+                case MOVE_LEFT:
+                    move(-1, 0);
+                    break;
+                default:
+                    interact(action);
+                    break;
+            }
+        }
+
+        updateBoard();
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            if (itemType.isResource()) {
+                prices[itemType.ordinal()] = Economy.getIncreasedPrice(itemType, prices[itemType.ordinal()]);
+            }
+        }
+        turnsSimulated++;
+    }
+
+    /**
+     * Simulates several turns in a row
+     *
+     * @param actions The actions to perform, one per turn, where null means doing nothing
+     * @param numActions The number of actions from the start of the array to perform
+     * @return The points earned from selling over all turns simulated since the last reset()
+     */
+    public int simulate(TurnAction[] actions, int numActions) {
+        for (int i = 0; i < numActions; i++) {
+            step(actions[i]);
+        }
+        return pointsEarned;
+    }
+
+    private void move(int xChange, int yChange) {
+        int nextX = x + xChange;
+        int nextY = y + yChange;
+        boolean nextXInBounds = (nextX >= 0 && nextX < boardSize);
+        boolean nextYInBounds = (nextY >= 0 && nextY < boardSize);
+        if (!nextXInBounds || !nextYInBounds || (nextX == otherX && nextY == otherY)) {
+            // Can't step outside the world or onto the other player
+            return;
+        }
+
+        boolean hasEnergyLeft = (charge > 0);
+        boolean canMoveWithNoEnergyLeft = (random != null && MoveAction.canMoveWithNoEnergyLeft(random));
+        if (hasEnergyLeft || canMoveWithNoEnergyLeft) {
+            x = nextX;
+            y = nextY;
+            if (charge > 0) {
+                charge--;
+            }
+            onEnterTile();
+        }
+    }
+
+    private void interact(TurnAction action) {
+        int tileIndex = toTileIndex(x, y);
+        int itemsIndex = tileIndex * NUM_ITEM_TYPES;
+        boolean hasAutominer = (itemCounts[itemsIndex + AUTOMINER] > 0);
+
+        if (action == TurnAction.PLACE_AUTOMINER && !hasAutominer) {
+            if (inventoryCounts[AUTOMINER] > 0) {
+                inventoryCounts[AUTOMINER]--;
+                inventorySize--;
+                addItemToTile(tileIndex, AUTOMINER);
+            }
+        } else {
+            int itemToPickUp = -1;
+            if (action == TurnAction.PICK_UP_RESOURCE) {
+                itemToPickUp = findResourceOnTile(itemsIndex);
+            } else if (action == TurnAction.PICK_UP_AUTOMINER && hasAutominer) {
+                itemToPickUp = AUTOMINER;
+            }
+
+            if (itemToPickUp >= 0 && inventorySize < maxInventorySize) {
+                inventoryCounts[itemToPickUp]++;
+                inventorySize++;
+                removeItemFromTile(tileIndex, itemToPickUp);
+            }
+        }
+
+        if (action == TurnAction.MINE) {
+            mineTile(tileIndex);
+        }
+    }
+
+    private void updateBoard() {
+        // Recharge tiles only do anything when a player is standing on them
+        if (tileTypes[toTileIndex(x, y)] == TileType.RECHARGE.ordinal()) {
+            charge = (int) (charge + maxCharge * TileKind.RECHARGE_PERCENT_PER_TURN);
+            if (charge > maxCharge) {
+                charge = maxCharge;
+            }
+        }
+
+        // Autominers work on their own tile and each neighbour. A tile next to two autominers is worked twice
+        for (int i = 0; i < numAutominers; i++) {
+            int autominerIndex = autominerTiles[i];
+            int autominerX = autominerIndex % boardSize;
+            int autominerY = autominerIndex / boardSize;
+            autominerWorkOnTile(autominerIndex);
+            if (autominerX > 0) {
+                autominerWorkOnTile(autominerIndex - 1);
+            }
+            if (autominerX < boardSize - 1) {
+                autominerWorkOnTile(autominerIndex + 1);
+            }
+            if (autominerY > 0) {
+                autominerWorkOnTile(autominerIndex - boardSize);
+            }
+            if (autominerY < boardSize - 1) {
+                autominerWorkOnTile(autominerIndex + boardSize);
+            }
+        }
+    }
+
+    private void autominerWorkOnTile(int tileIndex) {
+        int turnsMined = autominerTurnsMined[tileIndex];
+        if (turnsMined > 0 && (turnsMined % GameBoard.AUTOMINER_MULTIPLIER) == 0) {
+            mineTile(tileIndex);
+        }
+        autominerTurnsMined[tileIndex] = turnsMined + 1;
+
+        // The GameEngine sets the tile again after an autominer works on it, so a player on it enters it again
+        if (tileIndex == toTileIndex(x, y)) {
+            onEnterTile();
+        }
+    }
+
+    private void mineTile(int tileIndex) {
+        ItemType tileResource = RESOURCE_OF_TILE_TYPE[tileTypes[tileIndex]];
+        if (tileResource == null) {
+            // Mining anything that isn't a resource doesn't do anything useful
+            return;
+        }
+
+        timesMined[tileIndex]++;
+        if (timesMined[tileIndex] >= tileResource.getTurnsToMine()) {
+            tileTypes[tileIndex] = (byte) TileType.EMPTY.ordinal();
+            timesMined[tileIndex] = 0;
+            addItemToTile(tileIndex, tileResource.ordinal());
+        }
+    }
+
+    private void onEnterTile() {
+        TileType yourMarket = isRedPlayer ? TileType.RED_MARKET : TileType.BLUE_MARKET;
+        if (tileTypes[toTileIndex(x, y)] != yourMarket.ordinal()) {
+            return;
+        }
+
+        // Sell every resource in the inventory, prices drop by how many of each were sold
+        int totalSellPrice = 0;
+        for (ItemType itemType : ALL_ITEM_TYPES) {
+            if (!itemType.isResource()) {
+                continue;
+            }
+            int numSold = inventoryCounts[itemType.ordinal()];
+            int priceForResource = prices[itemType.ordinal()];
+            totalSellPrice += numSold * priceForResource;
+            prices[itemType.ordinal()] = Economy.getPriceAfterSale(priceForResource, numSold);
+            inventorySize -= numSold;
+            inventoryCounts[itemType.ordinal()] = 0;
+        }
+        pointsEarned += totalSellPrice;
+    }
+
+    /**
+     * Works out which TurnActions would do something in the simulated state, the same way the GameEngine works out
+     *  PlayerBoardView.getEffectiveActions(). Searches can use this to skip actions that would waste a turn
+     *
+     * @return The mask of TurnActions that would do something for your player, see TurnActionMask
+     */
+    public int getEffectiveActions() {
+        int itemsIndex = toTileIndex(x, y) * NUM_ITEM_TYPES;
+        int numResourcesOnTile = 0;
+        for (int itemType = 0; itemType < NUM_ITEM_TYPES; itemType++) {
+            if (ALL_ITEM_TYPES[itemType].isResource()) {
+                numResourcesOnTile += itemCounts[itemsIndex + itemType];
+            }
+        }
+
+        int moveMask = TurnActionMask.getMoveMask(boardSize, x, y, otherX, otherY);
+        int interactMask = TurnActionMask.getInteractMask(getTileType(x, y), numResourcesOnTile,
+                                                          itemCounts[itemsIndex + AUTOMINER] > 0, inventorySize,
+                                                          maxInventorySize, inventoryCounts[AUTOMINER] > 0);
+        return moveMask | interactMask;
+    }
+
+    private int findResourceOnTile(int itemsIndex) {
+        for (int itemType = 0; itemType < NUM_ITEM_TYPES; itemType++) {
+            if (ALL_ITEM_TYPES[itemType].isResource() && itemCounts[itemsIndex + itemType] > 0) {
+                return itemType;
+            }
+        }
+        return -1;
+    }
+
+    private void addItemToTile(int tileIndex, int itemType) {
+        itemCounts[tileIndex * NUM_ITEM_TYPES + itemType]++;
+        if (itemType == AUTOMINER && itemCounts[tileIndex * NUM_ITEM_TYPES + itemType] == 1) {
+            autominerTiles[numAutominers++] = tileIndex;
+        }
+    }
+
+    private void removeItemFromTile(int tileIndex, int itemType) {
+        itemCounts[tileIndex * NUM_ITEM_TYPES + itemType]--;
+        if (itemType == AUTOMINER && itemCounts[tileIndex * NUM_ITEM_TYPES + itemType] == 0) {
+            for (int i = 0; i < numAutominers; i++) {
+                if (autominerTiles[i] == tileIndex) {
+                    autominerTiles[i] = autominerTiles[--numAutominers];
+                    break;
+                }
+            }
+        }
+    }
+
+    private int toTileIndex(int tileX, int tileY) {
+        return tileY * boardSize + tileX;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getCharge() {
+        return charge;
+    }
+
+    public int getInventorySize() {
+        return inventorySize;
+    }
+
+    public int getInventoryCount(ItemType itemType) {
+        return inventoryCounts[itemType.ordinal()];
+    }
+
+    /**
+     * @return The points earned from selling in all turns simulated since the last reset()
+     */
+    public int getPointsEarned() {
+        return pointsEarned;
+    }
+
+    public int getTurnsSimulated() {
+        return turnsSimulated;
+    }
+
+    public int getPrice(ItemType resourceType) {
+        return prices[resourceType.ordinal()];
+    }
+
+    public TileType getTileType(int tileX, int tileY) {
+        return ALL_TILE_TYPES[tileTypes[toTileIndex(tileX, tileY)]];
+    }
+
+    public int getItemCount(int tileX, int tileY, ItemType itemType) {
+        return itemCounts[toTileIndex(tileX, tileY) * NUM_ITEM_TYPES + itemType.ordinal()];
+    }
+}
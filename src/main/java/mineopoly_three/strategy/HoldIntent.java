@@ -0,0 +1,53 @@
+package mineopoly_three.strategy;
+
+/**
+ * A promise from a strategy that it would return the same TurnAction again on the turns after this one, until the
+ *  intent runs out. While a player holds, the GameEngine performs and records that action every turn without calling
+ *  getTurnAction() or building a PlayerBoardView, and when both players are holding still it skips the held turns
+ *  all at once. A hold never changes what happens in a game, so only promise what the strategy would really do
+ */
+public final class HoldIntent {
+    private static final HoldIntent UNTIL_FULL_CHARGE = new HoldIntent(Integer.MAX_VALUE, true);
+
+    private final int numTurns;
+    private final boolean untilFullCharge;
+
+    private HoldIntent(int numTurns, boolean untilFullCharge) {
+        this.numTurns = numTurns;
+        this.untilFullCharge = untilFullCharge;
+    }
+
+    /**
+     * @param numTurns The number of turns after this one to repeat the action for
+     * @return An intent to repeat the action for a fixed number of turns
+     * @throws IllegalArgumentException If numTurns is negative
+     */
+    public static HoldIntent forTurns(int numTurns) {
+        if (numTurns < 0) {
+            throw new IllegalArgumentException("Can't hold for " + numTurns + " turns");
+        }
+        return new HoldIntent(numTurns, false);
+    }
+
+    /**
+     * @return An intent to repeat the action until the robot starts a turn fully charged, like doing nothing on a
+     *          recharge tile. The action is repeated until the end of the game if the robot never gets there
+     */
+    public static HoldIntent untilFullCharge() {
+        return UNTIL_FULL_CHARGE;
+    }
+
+    /**
+     * @return The most turns after the one the intent was given on that the action is repeated for
+     */
+    public int getNumTurns() {
+        return numTurns;
+    }
+
+    /**
+     * @return True if the hold also ends on the first turn the robot starts fully charged
+     */
+    public boolean isUntilFullCharge() {
+        return untilFullCharge;
+    }
+}
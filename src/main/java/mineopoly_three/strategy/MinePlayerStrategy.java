@@ -30,7 +30,8 @@ public interface MinePlayerStrategy {
      * The main part of your strategy, this method returns what action your player should do on this turn
      *
      * @param boardView A PlayerBoardView object representing all the information about the board and the other player
-     *                   that your strategy is allowed to access
+     *                   that your strategy is allowed to access. See PlayerBoardView for what stays the same
+     *                   after this turn
      * @param economy The GameEngine's economy object which holds current prices for resources
      * @param currentCharge The amount of charge your robot has (number of tile moves before needing to recharge)
      * @param isRedTurn For use when two players attempt to move to the same spot on the same turn
@@ -40,6 +41,17 @@ public interface MinePlayerStrategy {
      */
     TurnAction getTurnAction(PlayerBoardView boardView, Economy economy, int currentCharge, boolean isRedTurn);
 
+    /**
+     * Called right after every call to getTurnAction(). Return a HoldIntent to promise that getTurnAction() would
+     *  return the same action on the next turns, and it won't be called again until the intent runs out. The held
+     *  action is still performed and recorded on every one of those turns
+     *
+     * @return How long to keep repeating the action just returned, or null to be asked again next turn
+     */
+    default HoldIntent getHoldIntent() {
+        return null;
+    }
+
     /**
      * Called when the player receives an item from performing a TurnAction that gives an item.
      * At the moment this is only from using PICK_UP on top of a mined resource
@@ -1,27 +1,151 @@
 package mineopoly_three.strategy;
 
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.action.TurnActionMask;
+import mineopoly_three.game.ResourceTileIndex;
 import mineopoly_three.item.InventoryItem;
+import mineopoly_three.item.ItemType;
 import mineopoly_three.tiles.TileType;
+import mineopoly_three.util.TileLocation;
 
 import java.awt.*;
 import java.util.Map;
 import java.util.List;
 
+/**
+ * Everything a strategy is allowed to know about the board on its turn: the tile types, the items on the ground,
+ *  where both players are and the other player's score.
+ * By default the engine hands a strategy a new view every turn, and the map returned by getItemsOnGround() never
+ *  changes once handed out, so a strategy can keep an earlier turn's view and its items. The tile types are read
+ *  from the board itself, as they always have been, so those follow along as tiles are mined out.
+ * An engine with view reuse enabled, see GameEngine.setViewReuseEnabled(), hands each strategy the same view every
+ *  turn and updates it in place, and the items map is one live map that changes along with the board. Strategies
+ *  run that way have to copy anything they want to remember instead of keeping the view or the map
+ */
 @SuppressWarnings("unused")
 public class PlayerBoardView {
     private TileType[][] tiles;
     private Map<Point, List<InventoryItem>> itemsOnGround;
-    private Point thisPlayerLocation;
-    private Point otherPlayerLocation;
+    private ResourceTileIndex resourceTiles;
+    private TileLocation thisPlayerLocation;
+    private TileLocation otherPlayerLocation;
     private int otherPlayerScore;
+    // The TurnActions that would do something for the player receiving this view, see TurnActionMask
+    private int effectiveActions;
+    // Only created if a strategy asks for a location as a Point, because Points can be changed by whoever holds them
+    private Point thisPlayerPoint;
+    private Point otherPlayerPoint;
+
+    /**
+     * Creates a view knowing which TurnActions would do something, which is how the engine creates views
+     *
+     * @param tiles The tile types of the board, indexed by row then column with the top left tile at [0][0]
+     * @param itemsOnGround The read-only map of every location with items on it to those items
+     * @param resourceTiles Where the unmined resource tiles in tiles are
+     * @param thisPlayerLocation The location of the player receiving this view
+     * @param otherPlayerLocation The location of the other player
+     * @param otherPlayerScore The score of the other player
+     * @param effectiveActions The mask of TurnActions that would do something for the player receiving this view
+     */
+    public PlayerBoardView(TileType[][] tiles, Map<Point, List<InventoryItem>> itemsOnGround,
+                           ResourceTileIndex resourceTiles, TileLocation thisPlayerLocation,
+                           TileLocation otherPlayerLocation, int otherPlayerScore, int effectiveActions) {
+        this.tiles = tiles;
+        this.itemsOnGround = itemsOnGround;
+        this.resourceTiles = resourceTiles;
+        this.thisPlayerLocation = thisPlayerLocation;
+        this.otherPlayerLocation = otherPlayerLocation;
+        this.otherPlayerScore = otherPlayerScore;
+        this.effectiveActions = effectiveActions;
+    }
+
+    public PlayerBoardView(TileType[][] tiles, Map<Point, List<InventoryItem>> itemsOnGround,
+                           TileLocation thisPlayerLocation, TileLocation otherPlayerLocation, int otherPlayerScore) {
+        this(tiles, itemsOnGround, ResourceTileIndex.of(tiles), thisPlayerLocation, otherPlayerLocation,
+             otherPlayerScore, TurnActionMask.NONE);
+        this.effectiveActions = this.guessEffectiveActions();
+    }
 
     public PlayerBoardView(TileType[][] tiles, Map<Point, List<InventoryItem>> itemsOnGround,
                            Point thisPlayerLocation, Point otherPlayerLocation, int otherPlayerScore) {
+        this(tiles, itemsOnGround, toTileLocation(thisPlayerLocation), toTileLocation(otherPlayerLocation),
+             otherPlayerScore);
+        this.thisPlayerPoint = thisPlayerLocation;
+        this.otherPlayerPoint = otherPlayerLocation;
+    }
+
+    /**
+     * Points this view at the board as it is on a new turn, so an engine with view reuse enabled can hand the same
+     *  view to a strategy every turn instead of creating a new one. Points handed out for an earlier turn are never
+     *  changed
+     *
+     * @param tiles The tile types of the board, indexed by row then column with the top left tile at [0][0]
+     * @param itemsOnGround The read-only map of every location with items on it to those items
+     * @param resourceTiles Where the unmined resource tiles in tiles are
+     * @param thisPlayerLocation The location of the player receiving this view
+     * @param otherPlayerLocation The location of the other player
+     * @param otherPlayerScore The score of the other player
+     * @param effectiveActions The mask of TurnActions that would do something for the player receiving this view
+     */
+    public void update(TileType[][] tiles, Map<Point, List<InventoryItem>> itemsOnGround,
+                       ResourceTileIndex resourceTiles, TileLocation thisPlayerLocation,
+                       TileLocation otherPlayerLocation, int otherPlayerScore, int effectiveActions) {
         this.tiles = tiles;
         this.itemsOnGround = itemsOnGround;
+        this.resourceTiles = resourceTiles;
         this.thisPlayerLocation = thisPlayerLocation;
         this.otherPlayerLocation = otherPlayerLocation;
         this.otherPlayerScore = otherPlayerScore;
+        this.effectiveActions = effectiveActions;
+        this.thisPlayerPoint = null;
+        this.otherPlayerPoint = null;
+    }
+
+    private static TileLocation toTileLocation(Point location) {
+        return (location == null) ? null : TileLocation.of(location.x, location.y);
+    }
+
+    /**
+     * Works out the effective actions from what this view shows, for views not created by the engine. The
+     *  inventory isn't part of a view, so it is taken to be empty
+     */
+    private int guessEffectiveActions() {
+        if (thisPlayerLocation == null) {
+            return TurnActionMask.ALL;
+        }
+
+        int x = thisPlayerLocation.getX();
+        int y = thisPlayerLocation.getY();
+        int moveMask = (otherPlayerLocation == null)
+                ? TurnActionMask.getMoveMask(tiles.length, x, y, -1, -1)
+                : TurnActionMask.getMoveMask(tiles.length, x, y, otherPlayerLocation.getX(),
+                                             otherPlayerLocation.getY());
+
+        int numResourcesOnTile = 0;
+        boolean hasAutominerOnTile = false;
+        List<InventoryItem> itemsOnTile = itemsOnGround.get(new Point(x, y));
+        if (itemsOnTile != null) {
+            for (InventoryItem item : itemsOnTile) {
+                if (item.getItemType().isResource()) {
+                    numResourcesOnTile++;
+                } else if (item.getItemType() == ItemType.AUTOMINER) {
+                    hasAutominerOnTile = true;
+                }
+            }
+        }
+        TileType tileType = getTileTypeAtLocation(x, y);
+        if (tileType == null) {
+            return moveMask;
+        }
+        return moveMask | TurnActionMask.getInteractMask(tileType, numResourcesOnTile, hasAutominerOnTile,
+                                                         0, 1, false);
+    }
+
+    /**
+     * @return The length and width of the square game board
+     */
+    public int getBoardSize() {
+        return tiles.length;
     }
 
     /**
@@ -34,6 +158,16 @@ public class PlayerBoardView {
         return this.getTileTypeAtLocation(location.x, location.y);
     }
 
+    /**
+     * Gets the type of tile at the specified location
+     *
+     * @param location The location at which to get the type of the tile
+     * @return The type of tile at the location, or null if the location is outside the board
+     */
+    public TileType getTileTypeAtLocation(TileLocation location) {
+        return this.getTileTypeAtLocation(location.getX(), location.getY());
+    }
+
     /**
      * Gets the type of tile at the specified (x, y) coordinates
      *
@@ -56,9 +190,61 @@ public class PlayerBoardView {
     }
 
     /**
-     * Gets a map from every Point with an item on the ground to the InventoryItem on theground
+     * @return The number of tiles that still have a resource to be mined out of them
+     */
+    public int getNumResourceTiles() {
+        return resourceTiles.getNumTiles();
+    }
+
+    /**
+     * @param resourceTileType A resource TileType, like RESOURCE_DIAMOND
+     * @return The number of tiles of that type, which is 0 for types that aren't resources
+     */
+    public int getNumResourceTiles(TileType resourceTileType) {
+        return resourceTiles.getNumTiles(resourceTileType);
+    }
+
+    /**
+     * Gets one of the tiles of a resource type, so every resource tile can be gone through without looking at every
+     *  tile on the board. Going through i from 0 to getNumResourceTiles(resourceTileType) - 1 visits each tile of
+     *  that type once, in no particular order. Like the tile types, this follows along as the board changes
      *
-     * @return The mapping for all locations with InventoryItems to those items
+     * @param resourceTileType A resource TileType, like RESOURCE_DIAMOND
+     * @param i Which of the tiles of that type to get
+     * @return The location of the tile
+     * @throws IndexOutOfBoundsException If i is not less than getNumResourceTiles(resourceTileType)
+     */
+    public TileLocation getResourceTileLocation(TileType resourceTileType, int i) {
+        return resourceTiles.getTileLocation(resourceTileType, i);
+    }
+
+    /**
+     * Gets which TurnActions would have a useful effect this turn, one bit per TurnAction as described in
+     *  TurnActionMask. Moves off the board or onto the other player, picking up with a full inventory or with nothing
+     *  to pick up, mining a tile that isn't a resource and placing an autominer you don't have are all left out
+     *
+     * @return The mask of TurnActions that would do something for your player
+     */
+    public int getEffectiveActions() {
+        return effectiveActions;
+    }
+
+    /**
+     * @param action A TurnAction, or null for doing nothing
+     * @return True if performing the action this turn would have a useful effect, see getEffectiveActions()
+     */
+    public boolean isEffective(TurnAction action) {
+        return TurnActionMask.contains(effectiveActions, action);
+    }
+
+    /**
+     * Gets a map from every Point with an item on the ground to the InventoryItems on the ground there. Only tiles
+     *  that have items on them are in the map, so get() returns null for a tile with nothing on it instead of an
+     *  empty list, and iterating over the map only visits tiles with items.
+     * The map never changes once handed out, unless the engine has view reuse enabled, in which case it is the same
+     *  live map on every turn and changes as items are mined, picked up and placed
+     *
+     * @return The read-only mapping for all locations with InventoryItems to those items
      */
     public Map<Point, List<InventoryItem>> getItemsOnGround() {
         return itemsOnGround;
@@ -70,6 +256,18 @@ public class PlayerBoardView {
      * @return A Point representing your player's location, (0, 0) is the bottom left of the board
      */
     public Point getYourLocation() {
+        if (thisPlayerPoint == null && thisPlayerLocation != null) {
+            thisPlayerPoint = new Point(thisPlayerLocation.getX(), thisPlayerLocation.getY());
+        }
+        return this.thisPlayerPoint;
+    }
+
+    /**
+     * Gives you your location like getYourLocation(), as an immutable TileLocation that costs nothing to get
+     *
+     * @return Your player's location, (0, 0) is the bottom left of the board
+     */
+    public TileLocation getYourTileLocation() {
         return this.thisPlayerLocation;
     }
 
@@ -80,6 +278,18 @@ public class PlayerBoardView {
      */
     public Point getOtherPlayerLocation() {
         // Viewing range for Mine-opoly is the whole board, this will never be null
+        if (otherPlayerPoint == null && otherPlayerLocation != null) {
+            otherPlayerPoint = new Point(otherPlayerLocation.getX(), otherPlayerLocation.getY());
+        }
+        return otherPlayerPoint;
+    }
+
+    /**
+     * Gets the other player's location like getOtherPlayerLocation(), as an immutable TileLocation
+     *
+     * @return Your opponent's location, or null if they are outside viewing range
+     */
+    public TileLocation getOtherPlayerTileLocation() {
         return otherPlayerLocation;
     }
 
@@ -2,90 +2,228 @@ package mineopoly_three.tiles;
 
 import mineopoly_three.game.MinePlayer;
 import mineopoly_three.action.TurnAction;
-import mineopoly_three.graphics.ImageManager;
-import mineopoly_three.graphics.TileRenderLayer;
-import mineopoly_three.item.InventoryItem;
+import mineopoly_three.item.ItemCounts;
 import mineopoly_three.item.ItemType;
+import mineopoly_three.util.TileLocation;
+
+/**
+ * One location on a board and everything about it that changes during a game. A board creates one Tile per location
+ *  and keeps it for as long as the board exists, what the tile does comes from its TileKind, which changes in place
+ *  instead of the board swapping in a new Tile
+ */
+public final class Tile {
+    private final TileLocation location;
+    private final ItemCounts itemsOnTile;
+    private MinePlayer playerOnTile;
+    private TileKind kind;
+    // The resource a RESOURCE tile gives once it has been mined, null for every other kind
+    private ItemType tileResource;
+    private int numTimesMined;
+    private TileUpdateScheduler updateScheduler;
+    // This tile's position in its scheduler's list of scheduled tiles, only used by TileUpdateScheduler
+    int scheduledIndex;
 
-import java.awt.*;
-import java.util.ArrayList;
-import java.util.List;
+    /**
+     * Creates an EMPTY tile with nothing on it
+     *
+     * @param tileLocation Where this tile is on the board
+     */
+    public Tile(TileLocation tileLocation) {
+        this.location = tileLocation;
+        this.itemsOnTile = new ItemCounts();
+        this.playerOnTile = null;
+        this.kind = TileKind.EMPTY;
+        this.tileResource = null;
+        this.numTimesMined = 0;
+        this.updateScheduler = null;
+        this.scheduledIndex = -1;
+    }
 
+    /**
+     * Sets the scheduler this tile uses to have update() called every turn, which the board does when it places
+     *  this tile. If this tile was scheduled with a different scheduler, it is unscheduled from that one
+     *
+     * @param updateScheduler The scheduler of the board this tile is on, or null if it is no longer on a board
+     */
+    public void setUpdateScheduler(TileUpdateScheduler updateScheduler) {
+        if (this.updateScheduler != null && this.updateScheduler != updateScheduler) {
+            this.updateScheduler.unschedule(this);
+        }
+        this.updateScheduler = updateScheduler;
+    }
 
-public abstract class Tile {
-    private static final int NUM_RENDER_LAYERS = TileRenderLayer.values().length;
-    protected MinePlayer playerOnTile;
-    protected List<InventoryItem> itemsOnTile;
-    protected Point location;
+    /**
+     * Starts having update() called on this tile every turn, until unscheduleUpdates() is called
+     */
+    void scheduleUpdates() {
+        if (updateScheduler != null) {
+            updateScheduler.schedule(this);
+        }
+    }
 
-    protected Tile(Point tileLocation) {
-        this.playerOnTile = null;
-        this.itemsOnTile = new ArrayList<>();
-        this.location = tileLocation;
+    /**
+     * Stops having update() called on this tile every turn
+     */
+    void unscheduleUpdates() {
+        if (updateScheduler != null) {
+            updateScheduler.unschedule(this);
+        }
+    }
+
+    /**
+     * Whether this tile does anything in update() in its current state. A board uses this to know which tiles to
+     *  schedule when it puts back saved state without calling onEnter() or onExit()
+     *
+     * @return True if update() should be called on this tile every turn
+     */
+    public boolean needsUpdates() {
+        return kind.needsUpdates(this);
     }
 
     public MinePlayer getPlayerOnTile() {
         return playerOnTile;
     }
 
-    public Point getLocation() {
+    /**
+     * Sets the player standing on this tile without calling onEnter() or onExit(), for putting back saved game state
+     *
+     * @param playerOnTile The player standing on this tile, or null if there is none
+     */
+    public void setPlayerOnTile(MinePlayer playerOnTile) {
+        this.playerOnTile = playerOnTile;
+    }
+
+    public TileLocation getLocation() {
         return location;
     }
 
-    public List<InventoryItem> getItemsOnTile() {
+    /**
+     * @return The items on this tile, which change in place as items are added and removed
+     */
+    public ItemCounts getItemsOnTile() {
         return itemsOnTile;
     }
 
+    public TileKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return The resource this tile gives once it has been mined, or null if this isn't a RESOURCE tile
+     */
+    public ItemType getTileResource() {
+        return tileResource;
+    }
+
+    public int getNumTimesMined() {
+        return numTimesMined;
+    }
+
+    public void setNumTimesMined(int numTimesMined) {
+        this.numTimesMined = numTimesMined;
+    }
+
+    /**
+     * Turns this tile into an unmined tile of another kind that isn't RESOURCE, keeping the items and player on it
+     *
+     * @param kind The new kind of this tile
+     */
+    public void setKind(TileKind kind) {
+        this.setKind(kind, null);
+    }
+
+    /**
+     * Turns this tile into an unmined tile of another kind, keeping the items and player on it. Neither onEnter()
+     *  nor onExit() is called for the player standing here
+     *
+     * @param kind The new kind of this tile
+     * @param tileResource The resource the tile gives once it has been mined if kind is RESOURCE, otherwise null
+     * @throws IllegalArgumentException If a resource is given for any kind but RESOURCE, or missing for RESOURCE
+     */
+    public void setKind(TileKind kind, ItemType tileResource) {
+        boolean isResourceKind = (kind == TileKind.RESOURCE);
+        if (isResourceKind != (tileResource != null) || (isResourceKind && !tileResource.isResource())) {
+            throw new IllegalArgumentException("A " + kind + " tile can't give " + tileResource);
+        }
+        this.kind = kind;
+        this.tileResource = tileResource;
+        this.numTimesMined = 0;
+    }
+
+    /**
+     * Returns this Tile to the state it was created in, so a board being reused for another game can place it again
+     */
+    public void clear() {
+        unscheduleUpdates();
+        playerOnTile = null;
+        itemsOnTile.clear();
+        kind = TileKind.EMPTY;
+        tileResource = null;
+        numTimesMined = 0;
+    }
+
     /**
      * @return The TileType enum that represents this Tile
      */
-    public abstract TileType getType();
+    public TileType getType() {
+        return kind.getType(this);
+    }
 
     /**
      * Called when an action is performed on a Tile by a player to determine
-     *  A. What happens for that action and B. What changes are made to the Tile as a result of that action
+     *  A. What happens for that action and B. What changes are made to the Tile as a result of that action.
+     * The tile changes in place, so its kind and type may be different once this returns
      *
      * @param playerOnTile The player performing the action on this tile
      * @param actionOnTile The TurnAction being performed on this tile
-     * @return A Tile representing what the Tile at this location on the game board should be set to after this turn.
-     *          Return this Tile if no change should happen
-     *          Return a new Tile of the next type if the action does result in a change on the tile
      */
-    public Tile interact(MinePlayer playerOnTile, TurnAction actionOnTile) {
-
-        InventoryItem resource = itemsOnTile.stream().filter(x -> x.getItemType().isResource()).findFirst().orElse(null);
-        InventoryItem autominer = itemsOnTile.stream().filter(x -> x.getItemType() == ItemType.AUTOMINER).findFirst().orElse(null);
+    public void interact(MinePlayer playerOnTile, TurnAction actionOnTile) {
+        boolean hasAutominer = itemsOnTile.getCount(ItemType.AUTOMINER) > 0;
 
         // Ensure there already is not an autominer here
-        if(actionOnTile == TurnAction.PLACE_AUTOMINER && autominer == null) {
-            InventoryItem playerAutominer = playerOnTile.getInventory().stream().filter(x -> x.getItemType() == ItemType.AUTOMINER).findFirst().orElse(null);
-
-            if(playerAutominer != null) {
-                playerOnTile.getInventory().remove(playerAutominer);
-                itemsOnTile.add(playerAutominer);
+        if(actionOnTile == TurnAction.PLACE_AUTOMINER && !hasAutominer) {
+            if(playerOnTile.removeItemFromInventory(ItemType.AUTOMINER)) {
+                itemsOnTile.addItem(ItemType.AUTOMINER);
             }
         } else {
-            InventoryItem toPickUp = null;
+            ItemType toPickUp = null;
 
-            if (actionOnTile == TurnAction.PICK_UP_RESOURCE && resource != null) {
-                toPickUp = resource;
-            } else if(actionOnTile == TurnAction.PICK_UP_AUTOMINER && autominer != null) {
-                toPickUp = autominer;
+            if (actionOnTile == TurnAction.PICK_UP_RESOURCE) {
+                toPickUp = itemsOnTile.getFirstResource();
+            } else if(actionOnTile == TurnAction.PICK_UP_AUTOMINER && hasAutominer) {
+                toPickUp = ItemType.AUTOMINER;
             }
 
             if(toPickUp != null && playerOnTile.addItemToInventory(toPickUp))
-                itemsOnTile.remove(toPickUp);
+                itemsOnTile.removeItem(toPickUp);
         }
 
+        if (actionOnTile == TurnAction.MINE) {
+            this.mine();
+        }
+    }
 
-        return this;
+    /**
+     * Mines this tile once, which may crack it and drop its resource on it
+     */
+    public void mine() {
+        kind.mine(this);
     }
 
     /**
-     * Called every turn for tiles to update their internal state, if they need to do so
+     * Called every turn for tiles to update their internal state while they are scheduled with scheduleUpdates()
      */
     public void update() {
-        // By default tiles don't do anything
+        kind.update(this, 1);
+    }
+
+    /**
+     * Updates this tile for several turns in a row in which no player acts, like calling update() that many times
+     *
+     * @param numTurns The number of turns to update this tile for
+     */
+    public void update(int numTurns) {
+        kind.update(this, numTurns);
     }
 
     /**
@@ -95,6 +233,7 @@ public abstract class Tile {
      */
     public void onEnter(MinePlayer playerEnteringTile) {
         playerOnTile = playerEnteringTile;
+        kind.onEnter(this, playerEnteringTile);
     }
 
     /**
@@ -104,68 +243,6 @@ public abstract class Tile {
      */
     public void onExit(MinePlayer playerExitingTile) {
         playerOnTile = null;
-    }
-
-    /**
-     * Gets the Image[] that encodes how to render this Tile
-     * Images with later TileRenderLayer values will be rendered on top of Images with earlier values
-     *
-     * @param imageManager The ImageManager object that manages all images for the JPanel component rendering this Tile
-     * @return The Image[] specifying the overlays to render in the order to render them
-     */
-    protected Image[] getImageOverlays(ImageManager imageManager) {
-        Image[] imageOverlays = new Image[NUM_RENDER_LAYERS];
-
-        // Draw players if they're standing on this tile
-        if (playerOnTile != null) {
-            Image playerImage = playerOnTile.getImage(imageManager);
-            int playerOverlayIndex = TileRenderLayer.LAYER_PLAYER.ordinal();
-            imageOverlays[playerOverlayIndex] = playerImage;
-        }
-
-        // Draw the items that could be on this tile
-        for(InventoryItem item : itemsOnTile) {
-            String itemImageName = item.getItemType().getItemImageName();
-            Image itemImage = imageManager.getScaledImage(itemImageName);
-            int itemOverlayIndex = item.getItemType() == ItemType.AUTOMINER ?
-                    TileRenderLayer.LAYER_AUTOMINER.ordinal() : TileRenderLayer.LAYER_ITEM.ordinal();
-            imageOverlays[itemOverlayIndex] = itemImage;
-        }
-
-        return imageOverlays;
-    }
-
-    /**
-     * Specifies how to render this Tile on the Graphics object passed in
-     *
-     * @param brush The Graphics object on which to render this Tile
-     * @param boardSize The size of the board for use in finding the starting point on the screen to render
-     * @param imageManager The ImageManager object that manages all images for the JPanel component rendering this Tile
-     */
-    public void paint(Graphics2D brush, int boardSize, ImageManager imageManager) {
-        int imageWidth = imageManager.getImageWidth();
-        int imageHeight = imageManager.getImageHeight();
-        Point screenIndex = this.getScreenIndexFromLocation(imageWidth, imageHeight, boardSize);
-
-        // Draw overlays as specified by Tile subclasses
-        Image[] imageOverlays = this.getImageOverlays(imageManager);
-        for (Image layerImage : imageOverlays) {
-            // Nothing is drawn if layerImage is null
-            brush.drawImage(layerImage, screenIndex.x, screenIndex.y, null);
-        }
-    }
-
-    /**
-     * Computes the (x, y) coordinates of the pixel on the screen corresponding to the top left of this Tile
-     *
-     * @param imageWidth The width of the image to be rendered
-     * @param imageHeight The height of the image to be rendered
-     * @param boardSize The size of the board
-     * @return The (x, y) coordinates on the screen of the top left image pixel
-     */
-    protected Point getScreenIndexFromLocation(int imageWidth, int imageHeight, int boardSize) {
-        int xScreenIndex = this.location.x * imageWidth;
-        int yScreenIndex = ((boardSize - 1) - location.y) * imageHeight;
-        return new Point(xScreenIndex, yScreenIndex);
+        kind.onExit(this, playerExitingTile);
     }
 }
@@ -0,0 +1,160 @@
+package mineopoly_three.tiles;
+
+import mineopoly_three.game.MinePlayer;
+import mineopoly_three.item.ItemType;
+
+/**
+ * What a Tile does, one shared instance per kind of tile. A TileKind holds no state of its own, everything that
+ *  differs between two tiles of the same kind (mining progress, items, the player standing there) lives on the Tile,
+ *  so a tile turning into another kind, like a resource tile cracking once it's mined out, is just a field write.
+ * Unlike TileType, a mined out CRACKED tile is told apart from an EMPTY one, and every resource shares RESOURCE
+ */
+public enum TileKind {
+    EMPTY {
+        @Override
+        void mine(Tile tile) {
+            // There's really no reason to do this, but sure you can mine empty tiles
+            tile.setKind(CRACKED);
+        }
+    },
+    CRACKED,
+    RESOURCE {
+        @Override
+        public TileType getType(Tile tile) {
+            return tile.getTileResource().getResourceTileType();
+        }
+
+        @Override
+        void mine(Tile tile) {
+            ItemType tileResource = tile.getTileResource();
+            int numTimesMined = tile.getNumTimesMined() + 1;
+            if (numTimesMined >= tileResource.getTurnsToMine()) {
+                tile.setKind(CRACKED);
+                tile.getItemsOnTile().addItem(tileResource);
+            } else {
+                tile.setNumTimesMined(numTimesMined);
+            }
+        }
+    },
+    RECHARGE {
+        @Override
+        public TileType getType(Tile tile) {
+            return TileType.RECHARGE;
+        }
+
+        @Override
+        void onEnter(Tile tile, MinePlayer playerEnteringTile) {
+            // Only recharge while someone is standing here
+            tile.scheduleUpdates();
+        }
+
+        @Override
+        void onExit(Tile tile, MinePlayer playerExitingTile) {
+            tile.unscheduleUpdates();
+        }
+
+        @Override
+        boolean needsUpdates(Tile tile) {
+            return tile.getPlayerOnTile() != null;
+        }
+
+        @Override
+        void update(Tile tile, int numTurns) {
+            if (tile.getPlayerOnTile() != null) {
+                tile.getPlayerOnTile().rechargeEnergy(RECHARGE_PERCENT_PER_TURN, numTurns);
+            } else {
+                tile.unscheduleUpdates();
+            }
+        }
+    },
+    RED_MARKET {
+        @Override
+        public TileType getType(Tile tile) {
+            return TileType.RED_MARKET;
+        }
+
+        @Override
+        public boolean isMarketFor(MinePlayer player) {
+            return player.isRedPlayer();
+        }
+    },
+    BLUE_MARKET {
+        @Override
+        public TileType getType(Tile tile) {
+            return TileType.BLUE_MARKET;
+        }
+
+        @Override
+        public boolean isMarketFor(MinePlayer player) {
+            return !player.isRedPlayer();
+        }
+    };
+
+    public static final float RECHARGE_PERCENT_PER_TURN = 0.1f;
+
+    /**
+     * @param tile A tile of this kind
+     * @return The TileType strategies see for the tile
+     */
+    public TileType getType(Tile tile) {
+        return TileType.EMPTY;
+    }
+
+    /**
+     * @param player A player standing on a tile of this kind
+     * @return True if this is the player's market, where they sell everything they carry
+     */
+    public boolean isMarketFor(MinePlayer player) {
+        return false;
+    }
+
+    /**
+     * Called when a tile of this kind is mined once, by a player or an autominer
+     *
+     * @param tile The tile being mined
+     */
+    void mine(Tile tile) {
+        // Most tiles can't be mined
+    }
+
+    /**
+     * Called after a player enters a tile of this kind, once the tile knows the player is on it
+     *
+     * @param tile The tile being entered
+     * @param playerEnteringTile The player entering the tile
+     */
+    void onEnter(Tile tile, MinePlayer playerEnteringTile) {
+        if (isMarketFor(playerEnteringTile)) {
+            playerEnteringTile.sellItems();
+        }
+    }
+
+    /**
+     * Called after a player exits a tile of this kind, once the tile knows the player is gone
+     *
+     * @param tile The tile being exited
+     * @param playerExitingTile The player leaving the tile
+     */
+    void onExit(Tile tile, MinePlayer playerExitingTile) {
+        // Most tiles don't care who leaves them
+    }
+
+    /**
+     * @param tile A tile of this kind
+     * @return True if update() should be called on the tile every turn
+     */
+    boolean needsUpdates(Tile tile) {
+        return false;
+    }
+
+    /**
+     * Called on a tile of this kind while it is scheduled for updates, once for every turn or once for several turns
+     *  in a row where no player acts
+     *
+     * @param tile The tile being updated
+     * @param numTurns The number of turns to update the tile for
+     */
+    void update(Tile tile, int numTurns) {
+        // By default tiles don't do anything
+    }
+}
@@ -0,0 +1,99 @@
+package mineopoly_three.tiles;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of the tiles on a board that currently need Tile.update() called every turn, so the board only has to
+ *  update those instead of every tile. A tile schedules itself when it starts doing something every turn, like a
+ *  RECHARGE tile when a player steps onto it, and unschedules itself once it goes idle again. Tiles that change on a
+ *  timer, like a resource that grows back, can stay scheduled until their timer runs out
+ */
+public class TileUpdateScheduler {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Tile[] scheduledTiles;
+    private int numScheduledTiles;
+
+    public TileUpdateScheduler() {
+        this.scheduledTiles = new Tile[INITIAL_CAPACITY];
+        this.numScheduledTiles = 0;
+    }
+
+    public int getNumScheduledTiles() {
+        return numScheduledTiles;
+    }
+
+    public boolean isScheduled(Tile tile) {
+        return tile.scheduledIndex >= 0 && tile.scheduledIndex < numScheduledTiles
+               && scheduledTiles[tile.scheduledIndex] == tile;
+    }
+
+    /**
+     * Starts calling update() on a tile every turn. Does nothing if the tile is already scheduled
+     *
+     * @param tile The tile to update every turn
+     */
+    public void schedule(Tile tile) {
+        if (isScheduled(tile)) {
+            return;
+        }
+
+        if (numScheduledTiles == scheduledTiles.length) {
+            scheduledTiles = Arrays.copyOf(scheduledTiles, 2 * scheduledTiles.length);
+        }
+        tile.scheduledIndex = numScheduledTiles;
+        scheduledTiles[numScheduledTiles++] = tile;
+    }
+
+    /**
+     * Stops calling update() on a tile. Does nothing if the tile isn't scheduled
+     *
+     * @param tile The tile to stop updating
+     */
+    public void unschedule(Tile tile) {
+        if (!isScheduled(tile)) {
+            return;
+        }
+
+        // Move the last scheduled tile into the gap so removing is O(1)
+        int removedIndex = tile.scheduledIndex;
+        Tile lastTile = scheduledTiles[--numScheduledTiles];
+        scheduledTiles[removedIndex] = lastTile;
+        lastTile.scheduledIndex = removedIndex;
+        scheduledTiles[numScheduledTiles] = null;
+        tile.scheduledIndex = -1;
+    }
+
+    /**
+     * Calls update() once on every scheduled tile. A tile may unschedule itself or schedule other tiles while being
+     *  updated, and tiles scheduled during this call are first updated on the next call
+     */
+    public void updateScheduledTiles() {
+        updateScheduledTiles(1);
+    }
+
+    /**
+     * Updates every scheduled tile for several turns in a row in which no player acts, see Tile.update(int)
+     *
+     * @param numTurns The number of turns to update the scheduled tiles for
+     */
+    public void updateScheduledTiles(int numTurns) {
+        // Going backwards, a tile that unschedules itself is replaced by a tile that was already updated
+        for (int i = numScheduledTiles - 1; i >= 0; i--) {
+            if (i < numScheduledTiles) {
+                scheduledTiles[i].update(numTurns);
+            }
+        }
+    }
+
+    /**
+     * Unschedules every tile
+     */
+    public void clear() {
+        for (int i = 0; i < numScheduledTiles; i++) {
+            scheduledTiles[i].scheduledIndex = -1;
+            scheduledTiles[i] = null;
+        }
+        numScheduledTiles = 0;
+    }
+}
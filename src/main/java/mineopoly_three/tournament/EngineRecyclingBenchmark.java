@@ -0,0 +1,78 @@
+package mineopoly_three.tournament;
+
+import mineopoly_three.game.GameEngine;
+import mineopoly_three.strategy.RandomStrategy;
+import mineopoly_three.util.SeedUtil;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Compares the memory allocated by GameEngine.reset() when the engine builds a new board, players and economy
+ *  for every game against a recycling engine that reuses them.
+ * Usage: EngineRecyclingBenchmark [board size] [number of games]
+ * Resets are measured on their own, then full games are played so the GC counts include the turn loop as well
+ */
+public class EngineRecyclingBenchmark {
+    private static final long MASTER_SEED = 0x5EED;
+
+    public static void main(String[] args) {
+        int boardSize = (args.length > 0) ? Integer.parseInt(args[0]) : 32;
+        int numGames = (args.length > 1) ? Integer.parseInt(args[1]) : 200;
+        System.out.println("Board size " + boardSize + ", " + numGames + " games");
+
+        for (boolean recyclingEnabled : new boolean[] {false, true}) {
+            String engineName = recyclingEnabled ? "Recycling engine" : "New objects every game";
+            GameEngine gameEngine = new GameEngine(boardSize, new RandomStrategy(), new RandomStrategy(), MASTER_SEED);
+            gameEngine.setRecyclingEnabled(recyclingEnabled);
+
+            // Warm up so the pools are filled and the JIT has compiled the reset path
+            for (int i = 0; i < 100; i++) {
+                gameEngine.reset(boardSize, SeedUtil.deriveSeed(MASTER_SEED, i), false);
+            }
+
+            long allocatedBefore = getAllocatedBytes();
+            for (int i = 0; i < numGames; i++) {
+                gameEngine.reset(boardSize, SeedUtil.deriveSeed(MASTER_SEED, i), false);
+            }
+            long bytesPerReset = (getAllocatedBytes() - allocatedBefore) / numGames;
+
+            long collectionsBefore = getCollectionCount();
+            long collectionMillisBefore = getCollectionMillis();
+            allocatedBefore = getAllocatedBytes();
+            long startTime = System.nanoTime();
+            for (int i = 0; i < numGames; i++) {
+                gameEngine.reset(boardSize, SeedUtil.deriveSeed(MASTER_SEED, i), false);
+                gameEngine.runGame();
+            }
+            double elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+            long bytesPerGame = (getAllocatedBytes() - allocatedBefore) / numGames;
+
+            System.out.printf("%-24s %,d bytes per reset, %,d bytes per game, %d GCs (%d ms), %.1f games/sec%n",
+                              engineName, bytesPerReset, bytesPerGame, getCollectionCount() - collectionsBefore,
+                              getCollectionMillis() - collectionMillisBefore, numGames / elapsedSeconds);
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long getCollectionCount() {
+        long collectionCount = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectionCount += Math.max(0, collector.getCollectionCount());
+        }
+        return collectionCount;
+    }
+
+    private static long getCollectionMillis() {
+        long collectionMillis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectionMillis += Math.max(0, collector.getCollectionTime());
+        }
+        return collectionMillis;
+    }
+}
@@ -0,0 +1,119 @@
+package mineopoly_three.tournament;
+
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.game.Economy;
+import mineopoly_three.item.InventoryItem;
+import mineopoly_three.strategy.MinePlayerStrategy;
+import mineopoly_three.strategy.PlayerBoardView;
+import mineopoly_three.strategy.RandomStrategy;
+import mineopoly_three.strategy.ZaidStrategy;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares match throughput on a fixed pool of platform threads against one virtual thread per match.
+ * Usage: MatchExecutorBenchmark [matches per pairing] [milliseconds each strategy blocks per turn]
+ * With a non-zero block time, every turn simulates waiting on a remote bot, which is where virtual threads
+ *  let far more matches make progress at once than there are platform threads
+ */
+public class MatchExecutorBenchmark {
+    private static final int[] BENCHMARK_BOARD_SIZES = new int[] {14};
+    private static final long MASTER_SEED = 0x5EED;
+
+    public static void main(String[] args) {
+        int matchesPerPairing = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+        long blockMillisPerTurn = (args.length > 1) ? Long.parseLong(args[1]) : 0;
+        int numPlatformThreads = Runtime.getRuntime().availableProcessors();
+
+        List<Supplier<MinePlayerStrategy>> entrants = new ArrayList<>();
+        entrants.add(() -> new BlockingStrategy(new ZaidStrategy(), blockMillisPerTurn));
+        entrants.add(() -> new BlockingStrategy(new RandomStrategy(), blockMillisPerTurn));
+        RoundRobinTournament tournament = new RoundRobinTournament(entrants, BENCHMARK_BOARD_SIZES,
+                                                                   matchesPerPairing, MASTER_SEED);
+        System.out.println(matchesPerPairing + " matches, strategies block " + blockMillisPerTurn + "ms per turn");
+
+        runBenchmark("Platform pool (" + numPlatformThreads + " threads)", tournament,
+                     MatchExecutors.newPlatformThreadPool(numPlatformThreads));
+        if (MatchExecutors.isVirtualThreadSupported()) {
+            runBenchmark("Virtual thread per match", tournament, MatchExecutors.newVirtualThreadPerTaskExecutor());
+        } else {
+            System.out.println("Virtual threads are not supported on Java " + System.getProperty("java.version"));
+        }
+    }
+
+    private static void runBenchmark(String executorName, RoundRobinTournament tournament,
+                                     ExecutorService matchExecutor) {
+        long startTime = System.nanoTime();
+        TournamentResults results;
+        try {
+            results = tournament.run(matchExecutor);
+        } finally {
+            // The tournament leaves the executor running, this benchmark created it so it shuts it down
+            matchExecutor.shutdown();
+        }
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.printf("%-32s %d games in %.2fs, %.1f games/sec%n", executorName,
+                          results.getTotalGamesPlayed(), elapsedSeconds, results.getTotalGamesPlayed() / elapsedSeconds);
+    }
+
+    /**
+     * Wraps another strategy and sleeps before every turn, standing in for a strategy that waits on something
+     *  outside the JVM
+     */
+    private static class BlockingStrategy implements MinePlayerStrategy {
+        private final MinePlayerStrategy wrappedStrategy;
+        private final long blockMillisPerTurn;
+
+        private BlockingStrategy(MinePlayerStrategy wrappedStrategy, long blockMillisPerTurn) {
+            this.wrappedStrategy = wrappedStrategy;
+            this.blockMillisPerTurn = blockMillisPerTurn;
+        }
+
+        @Override
+        public void initialize(int boardSize, int maxInventorySize, int maxCharge, int winningScore,
+                               PlayerBoardView startingBoard, Point startTileLocation, boolean isRedPlayer,
+                               Random random) {
+            wrappedStrategy.initialize(boardSize, maxInventorySize, maxCharge, winningScore, startingBoard,
+                                       startTileLocation, isRedPlayer, random);
+        }
+
+        @Override
+        public TurnAction getTurnAction(PlayerBoardView boardView, Economy economy, int currentCharge,
+                                        boolean isRedTurn) {
+            if (blockMillisPerTurn > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(blockMillisPerTurn);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return wrappedStrategy.getTurnAction(boardView, economy, currentCharge, isRedTurn);
+        }
+
+        @Override
+        public void onReceiveItem(InventoryItem itemReceived) {
+            wrappedStrategy.onReceiveItem(itemReceived);
+        }
+
+        @Override
+        public void onSoldInventory(int totalSellPrice) {
+            wrappedStrategy.onSoldInventory(totalSellPrice);
+        }
+
+        @Override
+        public String getName() {
+            return wrappedStrategy.getName();
+        }
+
+        @Override
+        public void endRound(int pointsScored, int opponentPointsScored) {
+            wrappedStrategy.endRound(pointsScored, opponentPointsScored);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package mineopoly_three.tournament;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executors that tournament matches can be played on. The project still targets Java 8, so the
+ *  virtual thread executor added in Java 21 is looked up at runtime instead of being linked against directly.
+ *  Build with the java21 profile (mvn -Pjava21) and run on a Java 21+ JVM to use it
+ */
+public class MatchExecutors {
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+
+    private static Method findVirtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            // Running on a JVM older than Java 21
+            return null;
+        }
+    }
+
+    /**
+     * @return True if the running JVM can create virtual threads
+     */
+    public static boolean isVirtualThreadSupported() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for every task. A match blocked inside a strategy,
+     *  for example waiting on a remote bot, then only parks its virtual thread instead of holding a platform thread
+     *
+     * @return A new virtual thread per task executor
+     * @throws UnsupportedOperationException If the running JVM does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!isVirtualThreadSupported()) {
+            throw new UnsupportedOperationException("Virtual threads need Java 21 or newer, running on "
+                                                    + System.getProperty("java.version"));
+        }
+
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create a virtual thread executor", e);
+        }
+    }
+
+    /**
+     * @param numThreads The number of platform threads in the pool
+     * @return A fixed size pool of platform threads
+     */
+    public static ExecutorService newPlatformThreadPool(int numThreads) {
+        return Executors.newFixedThreadPool(Math.max(1, numThreads));
+    }
+}
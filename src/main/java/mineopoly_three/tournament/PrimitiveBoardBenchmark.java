@@ -0,0 +1,75 @@
+package mineopoly_three.tournament;
+
+import mineopoly_three.game.GameEngine;
+import mineopoly_three.game.HeadlessGameEngine;
+import mineopoly_three.strategy.RandomStrategy;
+import mineopoly_three.util.SeedUtil;
+
+/**
+ * Compares a recycling GameEngine, which keeps a Tile object per location, against a HeadlessGameEngine, which keeps
+ *  the board in packed primitive arrays, on increasingly large boards.
+ * Usage: PrimitiveBoardBenchmark [number of games per size] [board sizes...]
+ * RandomStrategy is used for both players so the time measured is spent in the engine, not in the strategies
+ */
+public class PrimitiveBoardBenchmark {
+    private static final long MASTER_SEED = 0x5EED;
+    private static final int[] DEFAULT_BOARD_SIZES = {32, 64, 128, 256, 512};
+
+    public static void main(String[] args) {
+        int numGames = (args.length > 0) ? Integer.parseInt(args[0]) : 10;
+        int[] boardSizes = DEFAULT_BOARD_SIZES;
+        if (args.length > 1) {
+            boardSizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                boardSizes[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+        System.out.println(numGames + " games per board size");
+
+        for (int boardSize : boardSizes) {
+            long usedBefore = getUsedHeapBytes();
+            GameEngine gameEngine = new GameEngine(boardSize, new RandomStrategy(), new RandomStrategy(), MASTER_SEED);
+            gameEngine.setRecyclingEnabled(true);
+            gameEngine.setViewReuseEnabled(true);
+            long tileEngineBytes = getUsedHeapBytes() - usedBefore;
+            double tileEngineMillis = timeGames(numGames, boardSize, gameEngine::reset, gameEngine::runGame);
+            gameEngine = null;
+
+            usedBefore = getUsedHeapBytes();
+            HeadlessGameEngine headlessEngine =
+                    new HeadlessGameEngine(boardSize, new RandomStrategy(), new RandomStrategy(), MASTER_SEED);
+            headlessEngine.setViewReuseEnabled(true);
+            long primitiveEngineBytes = getUsedHeapBytes() - usedBefore;
+            double primitiveEngineMillis = timeGames(numGames, boardSize, headlessEngine::reset, headlessEngine::runGame);
+
+            System.out.printf("Board size %3d: Tile objects %,8.2f ms/game %,12d bytes, "
+                              + "primitive arrays %,8.2f ms/game %,12d bytes%n",
+                              boardSize, tileEngineMillis, tileEngineBytes, primitiveEngineMillis, primitiveEngineBytes);
+        }
+    }
+
+    private static double timeGames(int numGames, int boardSize, EngineReset reset, Runnable runGame) {
+        // Warm up with one game so the JIT has compiled the turn loop
+        reset.reset(boardSize, SeedUtil.deriveSeed(MASTER_SEED, -1), false);
+        runGame.run();
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < numGames; i++) {
+            reset.reset(boardSize, SeedUtil.deriveSeed(MASTER_SEED, i), false);
+            runGame.run();
+        }
+        return (System.nanoTime() - startTime) / 1e6 / numGames;
+    }
+
+    private static long getUsedHeapBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private interface EngineReset {
+        void reset(int newBoardSize, long newSeed, boolean swapPlayers);
+    }
+}
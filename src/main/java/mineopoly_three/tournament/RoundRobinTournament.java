@@ -0,0 +1,262 @@
+package mineopoly_three.tournament;
+
+import mineopoly_three.game.GameEngine;
+import mineopoly_three.strategy.MinePlayerStrategy;
+import mineopoly_three.util.SeedUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Plays every pair of strategies against each other on every board size without a GUI. Each match is played
+ *  twice on the same world, once with each strategy as the red player, and matches are spread across a pool
+ *  of worker threads. Every match seed is derived from one master seed, so the results do not depend on the
+ *  number of threads used
+ */
+public class RoundRobinTournament {
+    private static final int[] DEFAULT_BOARD_SIZES = new int[] {14, 20, 26, 32};
+    private static final int DEFAULT_MATCHES_PER_PAIRING = 100;
+
+    private final List<Supplier<MinePlayerStrategy>> entrants;
+    private final List<String> entrantNames;
+    private final int[] boardSizes;
+    private final int matchesPerPairing;
+    private final long masterSeed;
+
+    /**
+     * @param entrants Creates new instances of each strategy in the tournament. Strategies keep state between
+     *                  turns, so every match gets its own instances
+     * @param boardSizes The board sizes every pairing of strategies plays on
+     * @param matchesPerPairing The number of matches each pairing plays on each board size, where one match
+     *                           is a game with each strategy as the red player
+     * @param masterSeed The seed from which every match seed is derived
+     */
+    public RoundRobinTournament(List<Supplier<MinePlayerStrategy>> entrants, int[] boardSizes,
+                                int matchesPerPairing, long masterSeed) {
+        this.entrants = entrants;
+        this.boardSizes = boardSizes;
+        this.matchesPerPairing = matchesPerPairing;
+        this.masterSeed = masterSeed;
+
+        this.entrantNames = new ArrayList<>();
+        for (Supplier<MinePlayerStrategy> entrant : entrants) {
+            MinePlayerStrategy sampleStrategy = entrant.get();
+            String entrantName = sampleStrategy.getName();
+            if (entrantNames.contains(entrantName)) {
+                // Two strategies reported the same name, fall back to the class name to tell them apart
+                entrantName = sampleStrategy.getClass().getSimpleName();
+            }
+            entrantNames.add(entrantName);
+        }
+    }
+
+    public static void main(String[] args) {
+        // Strategy class names can be given on the command line, otherwise every registered strategy plays
+        List<Supplier<MinePlayerStrategy>> entrants = new ArrayList<>();
+        for (String strategyClassName : args) {
+            entrants.add(entrantFromClassName(strategyClassName));
+        }
+        if (entrants.isEmpty()) {
+            entrants = loadRegisteredEntrants();
+        }
+
+        long masterSeed = System.currentTimeMillis();
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        RoundRobinTournament tournament = new RoundRobinTournament(entrants, DEFAULT_BOARD_SIZES,
+                                                                   DEFAULT_MATCHES_PER_PAIRING, masterSeed);
+        System.out.println("Master seed: " + masterSeed + ", threads: " + numThreads);
+
+        long startTime = System.nanoTime();
+        TournamentResults results = tournament.run(numThreads);
+        double elapsedMinutes = (System.nanoTime() - startTime) / 6e10;
+
+        System.out.print(results);
+        System.out.printf("%d games in %.2f minutes, %.0f games/minute%n", results.getTotalGamesPlayed(),
+                          elapsedMinutes, results.getTotalGamesPlayed() / elapsedMinutes);
+    }
+
+    /**
+     * Finds every MinePlayerStrategy registered in a META-INF/services/mineopoly_three.strategy.MinePlayerStrategy
+     *  file on the classpath
+     *
+     * @return A supplier of new instances for each registered strategy
+     */
+    public static List<Supplier<MinePlayerStrategy>> loadRegisteredEntrants() {
+        List<Supplier<MinePlayerStrategy>> entrants = new ArrayList<>();
+        for (MinePlayerStrategy registeredStrategy : ServiceLoader.load(MinePlayerStrategy.class)) {
+            entrants.add(entrantFromClass(registeredStrategy.getClass()));
+        }
+        return entrants;
+    }
+
+    /**
+     * @param strategyClassName The fully qualified name of a MinePlayerStrategy with a no argument constructor
+     * @return A supplier of new instances of that strategy
+     * @throws IllegalArgumentException If the class does not exist or is not a MinePlayerStrategy
+     */
+    public static Supplier<MinePlayerStrategy> entrantFromClassName(String strategyClassName) {
+        try {
+            return entrantFromClass(Class.forName(strategyClassName).asSubclass(MinePlayerStrategy.class));
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IllegalArgumentException(strategyClassName + " is not a MinePlayerStrategy class", e);
+        }
+    }
+
+    private static Supplier<MinePlayerStrategy> entrantFromClass(Class<? extends MinePlayerStrategy> strategyClass) {
+        return () -> {
+            try {
+                return strategyClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not create a new " + strategyClass.getName(), e);
+            }
+        };
+    }
+
+    public List<String> getEntrantNames() {
+        return entrantNames;
+    }
+
+    /**
+     * Plays every match of the tournament
+     *
+     * @param numThreads The number of matches to play at the same time
+     * @return The combined results of every game played
+     */
+    public TournamentResults run(int numThreads) {
+        List<int[]> schedule = createSchedule();
+        AtomicInteger nextMatchIndex = new AtomicInteger();
+
+        ExecutorService workerPool = Executors.newFixedThreadPool(Math.max(1, numThreads));
+        List<Future<TournamentResults>> workerResults = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, numThreads); i++) {
+            // Each worker records into its own results so workers never contend, they are merged at the end
+            workerResults.add(workerPool.submit(() -> playScheduledMatches(schedule, nextMatchIndex)));
+        }
+        workerPool.shutdown();
+
+        TournamentResults results = new TournamentResults(entrantNames, boardSizes);
+        try {
+            for (Future<TournamentResults> workerResult : workerResults) {
+                results.merge(workerResult.get());
+            }
+        } catch (InterruptedException e) {
+            workerPool.shutdownNow();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            workerPool.shutdownNow();
+            throw new IllegalStateException("A tournament worker failed", e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Lists every match as {board size index, first entrant index, second entrant index}. A match's index in
+     *  this list determines its seed
+     */
+    private List<int[]> createSchedule() {
+        List<int[]> schedule = new ArrayList<>();
+        for (int b = 0; b < boardSizes.length; b++) {
+            for (int i = 0; i < entrants.size(); i++) {
+                for (int j = i + 1; j < entrants.size(); j++) {
+                    for (int m = 0; m < matchesPerPairing; m++) {
+                        schedule.add(new int[] {b, i, j});
+                    }
+                }
+            }
+        }
+        return schedule;
+    }
+
+    /**
+     * Plays every match of the tournament as its own task on the given executor. This suits executors that
+     *  start a cheap thread per task, like a virtual thread executor, where tens of thousands of matches can
+     *  be in progress at once even when strategies block. The executor belongs to the caller and is left
+     *  running, so shutting it down is up to whoever created it
+     *
+     * @param matchExecutor The executor to run every match on
+     * @return The combined results of every game played
+     */
+    public TournamentResults run(ExecutorService matchExecutor) {
+        List<int[]> schedule = createSchedule();
+        List<Future<int[]>> matchScores = new ArrayList<>(schedule.size());
+        for (int i = 0; i < schedule.size(); i++) {
+            final int matchIndex = i;
+            matchScores.add(matchExecutor.submit(() -> playMatch(schedule, matchIndex)));
+        }
+
+        TournamentResults results = new TournamentResults(entrantNames, boardSizes);
+        try {
+            for (int i = 0; i < schedule.size(); i++) {
+                recordMatch(results, schedule.get(i), matchScores.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            cancelMatches(matchScores);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            cancelMatches(matchScores);
+            throw new IllegalStateException("A tournament match failed", e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Stops the matches this tournament submitted without touching anything else running on their executor
+     */
+    private static void cancelMatches(List<Future<int[]>> matchScores) {
+        for (Future<int[]> matchScore : matchScores) {
+            matchScore.cancel(true);
+        }
+    }
+
+    private TournamentResults playScheduledMatches(List<int[]> schedule, AtomicInteger nextMatchIndex) {
+        TournamentResults workerResults = new TournamentResults(entrantNames, boardSizes);
+
+        int matchIndex;
+        while ((matchIndex = nextMatchIndex.getAndIncrement()) < schedule.size()) {
+            int[] matchScores = playMatch(schedule, matchIndex);
+            recordMatch(workerResults, schedule.get(matchIndex), matchScores);
+        }
+
+        return workerResults;
+    }
+
+    /**
+     * Plays both games of one match
+     *
+     * @return The scores {first entrant as red, second entrant as blue, second entrant as red,
+     *          first entrant as blue}
+     */
+    private int[] playMatch(List<int[]> schedule, int matchIndex) {
+        int[] match = schedule.get(matchIndex);
+        int boardSize = boardSizes[match[0]];
+        long matchSeed = SeedUtil.deriveSeed(masterSeed, matchIndex);
+        int[] matchScores = new int[4];
+
+        MinePlayerStrategy firstStrategy = entrants.get(match[1]).get();
+        MinePlayerStrategy secondStrategy = entrants.get(match[2]).get();
+        GameEngine gameEngine = new GameEngine(boardSize, firstStrategy, secondStrategy, matchSeed);
+        gameEngine.setRecyclingEnabled(true);
+        gameEngine.runGame();
+        matchScores[0] = gameEngine.getRedPlayerScore();
+        matchScores[1] = gameEngine.getBluePlayerScore();
+
+        // Play the same world again with the colours swapped
+        gameEngine.reset(boardSize, matchSeed, true);
+        gameEngine.runGame();
+        matchScores[2] = gameEngine.getRedPlayerScore();
+        matchScores[3] = gameEngine.getBluePlayerScore();
+        return matchScores;
+    }
+
+    private static void recordMatch(TournamentResults results, int[] match, int[] matchScores) {
+        results.recordGame(match[0], match[1], match[2], matchScores[0], matchScores[1]);
+        results.recordGame(match[0], match[2], match[1], matchScores[2], matchScores[3]);
+    }
+}
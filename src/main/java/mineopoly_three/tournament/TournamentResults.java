@@ -0,0 +1,142 @@
+package mineopoly_three.tournament;
+
+import java.util.List;
+
+/**
+ * The win and score matrices of a round robin tournament, one pair of matrices for each board size.
+ * Row i, column j of a matrix holds what entrant i did in its games against entrant j
+ */
+public class TournamentResults {
+    private final List<String> entrantNames;
+    private final int[] boardSizes;
+    private final int[][][] wins;
+    private final int[][][] gamesPlayed;
+    private final long[][][] pointsScored;
+
+    public TournamentResults(List<String> entrantNames, int[] boardSizes) {
+        int numEntrants = entrantNames.size();
+        this.entrantNames = entrantNames;
+        this.boardSizes = boardSizes;
+        this.wins = new int[boardSizes.length][numEntrants][numEntrants];
+        this.gamesPlayed = new int[boardSizes.length][numEntrants][numEntrants];
+        this.pointsScored = new long[boardSizes.length][numEntrants][numEntrants];
+    }
+
+    /**
+     * Records the outcome of one game between two entrants
+     *
+     * @param boardSizeIndex The index into the tournament's board sizes of the board the game was played on
+     * @param firstEntrant The index of one entrant in the game
+     * @param secondEntrant The index of the other entrant in the game
+     * @param firstScore The score of firstEntrant at the end of the game
+     * @param secondScore The score of secondEntrant at the end of the game
+     */
+    public void recordGame(int boardSizeIndex, int firstEntrant, int secondEntrant, int firstScore, int secondScore) {
+        gamesPlayed[boardSizeIndex][firstEntrant][secondEntrant]++;
+        gamesPlayed[boardSizeIndex][secondEntrant][firstEntrant]++;
+        pointsScored[boardSizeIndex][firstEntrant][secondEntrant] += firstScore;
+        pointsScored[boardSizeIndex][secondEntrant][firstEntrant] += secondScore;
+
+        // A tie is not a win for either entrant
+        if (firstScore > secondScore) {
+            wins[boardSizeIndex][firstEntrant][secondEntrant]++;
+        } else if (secondScore > firstScore) {
+            wins[boardSizeIndex][secondEntrant][firstEntrant]++;
+        }
+    }
+
+    /**
+     * Adds all the games recorded in another TournamentResults for the same entrants and board sizes to this one
+     *
+     * @param other The results to add to these results
+     */
+    public void merge(TournamentResults other) {
+        for (int b = 0; b < boardSizes.length; b++) {
+            for (int i = 0; i < entrantNames.size(); i++) {
+                for (int j = 0; j < entrantNames.size(); j++) {
+                    wins[b][i][j] += other.wins[b][i][j];
+                    gamesPlayed[b][i][j] += other.gamesPlayed[b][i][j];
+                    pointsScored[b][i][j] += other.pointsScored[b][i][j];
+                }
+            }
+        }
+    }
+
+    public List<String> getEntrantNames() {
+        return entrantNames;
+    }
+
+    public int[] getBoardSizes() {
+        return boardSizes;
+    }
+
+    public int getWins(int boardSizeIndex, int entrant, int opponent) {
+        return wins[boardSizeIndex][entrant][opponent];
+    }
+
+    public int getGamesPlayed(int boardSizeIndex, int entrant, int opponent) {
+        return gamesPlayed[boardSizeIndex][entrant][opponent];
+    }
+
+    public int getTotalGamesPlayed() {
+        int totalGames = 0;
+        for (int[][] boardGames : gamesPlayed) {
+            for (int[] entrantGames : boardGames) {
+                for (int numGames : entrantGames) {
+                    totalGames += numGames;
+                }
+            }
+        }
+        // Every game is counted once for each of the two entrants
+        return totalGames / 2;
+    }
+
+    public double getAverageScore(int boardSizeIndex, int entrant, int opponent) {
+        int numGames = gamesPlayed[boardSizeIndex][entrant][opponent];
+        if (numGames == 0) {
+            return 0;
+        }
+        return ((double) pointsScored[boardSizeIndex][entrant][opponent]) / numGames;
+    }
+
+    /**
+     * Formats a win percent matrix and an average score matrix for every board size
+     *
+     * @return The tournament results as a human readable table
+     */
+    @Override
+    public String toString() {
+        int nameWidth = "Strategy".length();
+        for (String entrantName : entrantNames) {
+            nameWidth = Math.max(nameWidth, entrantName.length());
+        }
+        String rowNameFormat = "%-" + nameWidth + "s";
+        String cellFormat = " %" + Math.max(10, nameWidth) + "s";
+
+        StringBuilder resultsTable = new StringBuilder();
+        for (int b = 0; b < boardSizes.length; b++) {
+            resultsTable.append("Board size ").append(boardSizes[b])
+                        .append(" (win percent | average score of row against column)").append(System.lineSeparator());
+            resultsTable.append(String.format(rowNameFormat, "Strategy"));
+            for (String entrantName : entrantNames) {
+                resultsTable.append(String.format(cellFormat, entrantName));
+            }
+            resultsTable.append(System.lineSeparator());
+
+            for (int i = 0; i < entrantNames.size(); i++) {
+                resultsTable.append(String.format(rowNameFormat, entrantNames.get(i)));
+                for (int j = 0; j < entrantNames.size(); j++) {
+                    String cell = "-";
+                    if (gamesPlayed[b][i][j] > 0) {
+                        double winPercent = 100.0 * wins[b][i][j] / gamesPlayed[b][i][j];
+                        cell = String.format("%.1f%% | %.0f", winPercent, getAverageScore(b, i, j));
+                    }
+                    resultsTable.append(String.format(cellFormat, cell));
+                }
+                resultsTable.append(System.lineSeparator());
+            }
+            resultsTable.append(System.lineSeparator());
+        }
+        return resultsTable.toString();
+    }
+}
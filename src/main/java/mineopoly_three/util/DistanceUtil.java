@@ -18,6 +18,17 @@ public class DistanceUtil {
         return getManhattanDistance(first.x, first.y, second.x, second.y);
     }
 
+    /**
+     * Computes the manhattan distance between two tile locations, same as the Point version without needing AWT
+     *
+     * @param first A location to compute a manhattan distance for relative to the other
+     * @param second A location to compute a manhattan distance for relative to the other
+     * @return The manhattan distance between the two locations
+     */
+    public static int getManhattanDistance(TileLocation first, TileLocation second) {
+        return getManhattanDistance(first.getX(), first.getY(), second.getX(), second.getY());
+    }
+
     /**
      * Computes the manhattan distance between two points.
      * A manhattan distance is the number of steps it would take to travel between the two points
@@ -0,0 +1,68 @@
+package mineopoly_three.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * The seeds for every source of randomness in one game, all split off the game's seed by a SplittableRandom.
+ * World generation, each player's moves, each player's strategy and rendering get separate streams, so none of them
+ *  shares a sequence or a generator with another, and a game plays out the same no matter which thread runs it
+ */
+public final class GameSeeds {
+    private final long gameSeed;
+    private final long worldSeed;
+    private final long redPlayerSeed;
+    private final long bluePlayerSeed;
+    private final long redStrategySeed;
+    private final long blueStrategySeed;
+    private final long renderingSeed;
+
+    /**
+     * @param gameSeed The seed for the whole game, which is what a Replay records
+     */
+    public GameSeeds(long gameSeed) {
+        this.gameSeed = gameSeed;
+
+        // The order the streams are split off in is part of what a game seed means, so new streams go at the end
+        SplittableRandom seedSplitter = new SplittableRandom(gameSeed);
+        this.worldSeed = seedSplitter.nextLong();
+        this.redPlayerSeed = seedSplitter.nextLong();
+        this.bluePlayerSeed = seedSplitter.nextLong();
+        this.redStrategySeed = seedSplitter.nextLong();
+        this.blueStrategySeed = seedSplitter.nextLong();
+        this.renderingSeed = seedSplitter.nextLong();
+    }
+
+    public long getGameSeed() {
+        return gameSeed;
+    }
+
+    /**
+     * @return The seed for generating the world
+     */
+    public long getWorldSeed() {
+        return worldSeed;
+    }
+
+    /**
+     * @param isRedPlayer Whether to get the seed of the red player or the blue player
+     * @return The seed for the random number generator deciding whether the player's moves with no energy succeed
+     */
+    public long getPlayerSeed(boolean isRedPlayer) {
+        return isRedPlayer ? redPlayerSeed : bluePlayerSeed;
+    }
+
+    /**
+     * @param isRedPlayer Whether to get the seed of the red player's strategy or the blue player's strategy
+     * @return The seed for the Random handed to the strategy when it is initialized
+     */
+    public long getStrategySeed(boolean isRedPlayer) {
+        return isRedPlayer ? redStrategySeed : blueStrategySeed;
+    }
+
+    /**
+     * @return The seed for anything random in how the game is drawn, which never affects how it plays out
+     */
+    public long getRenderingSeed() {
+        return renderingSeed;
+    }
+}
@@ -0,0 +1,30 @@
+package mineopoly_three.util;
+
+public class SeedUtil {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Derives the random seed for one game in a batch of games from a single master seed.
+     * Every game index gets a well mixed, independent seed, so a batch can be run in any order or on any
+     *  number of threads and still play out exactly the same games
+     *
+     * @param masterSeed The seed value for the whole batch of games
+     * @param gameIndex The index of the game in the batch
+     * @return The random seed to use for the game at gameIndex
+     */
+    public static long deriveSeed(long masterSeed, long gameIndex) {
+        return mix64(masterSeed + (gameIndex + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * The SplitMix64 finalizer, which scrambles the bits of a value so that nearby inputs give unrelated outputs
+     *
+     * @param value The value to scramble
+     * @return The scrambled value
+     */
+    public static long mix64(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
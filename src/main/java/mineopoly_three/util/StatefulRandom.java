@@ -0,0 +1,49 @@
+package mineopoly_three.util;
+
+import java.util.Random;
+
+/**
+ * A Random that produces exactly the same sequence as java.util.Random for the same seed, but whose internal
+ *  state can be read and written. This lets a saved game state include where a random sequence was
+ */
+public class StatefulRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Not initialized here because Random's constructor calls setSeed() before subclass fields are initialized
+    private long state;
+
+    public StatefulRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * @return The current internal state, which setState() can later return this generator to
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Returns this generator to a state previously returned by getState(). Unlike setSeed(), the state is used as is
+     *
+     * @param state The internal state to continue the random sequence from
+     */
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
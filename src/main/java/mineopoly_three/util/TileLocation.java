@@ -0,0 +1,94 @@
+package mineopoly_three.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An immutable (x, y) location of a tile on the board, where (0, 0) is the bottom left. Unlike java.awt.Point,
+ *  a TileLocation can be shared freely and doesn't pull in AWT, so the engine hands out the same object every time
+ *  instead of a defensive copy. Locations on boards up to CACHE_SIZE tiles across are cached, so of() doesn't
+ *  allocate for them after the first call
+ */
+public final class TileLocation {
+    public static final int CACHE_SIZE = 256;
+    // Rows of cached locations indexed by y then x, each row is created the first time a location in it is asked for
+    private static final AtomicReferenceArray<TileLocation[]> CACHE = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    private final int x;
+    private final int y;
+
+    private TileLocation(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * @param x The x coordinate of the location
+     * @param y The y coordinate of the location
+     * @return The TileLocation for (x, y), the same object every time when both coordinates are cached
+     */
+    public static TileLocation of(int x, int y) {
+        if (x < 0 || y < 0 || x >= CACHE_SIZE || y >= CACHE_SIZE) {
+            return new TileLocation(x, y);
+        }
+
+        TileLocation[] cachedRow = CACHE.get(y);
+        if (cachedRow == null) {
+            cachedRow = new TileLocation[CACHE_SIZE];
+            for (int i = 0; i < CACHE_SIZE; i++) {
+                cachedRow[i] = new TileLocation(i, y);
+            }
+            if (!CACHE.compareAndSet(y, null, cachedRow)) {
+                // Another thread created this row first, use theirs so every caller gets the same objects
+                cachedRow = CACHE.get(y);
+            }
+        }
+        return cachedRow[x];
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @param xChange How far to move in the x direction
+     * @param yChange How far to move in the y direction
+     * @return The location (x + xChange, y + yChange)
+     */
+    public TileLocation offset(int xChange, int yChange) {
+        return of(x + xChange, y + yChange);
+    }
+
+    /**
+     * @param other The location to measure the distance to
+     * @return The number of up, down, left and right steps between this location and the other
+     */
+    public int getManhattanDistance(TileLocation other) {
+        return DistanceUtil.getManhattanDistance(x, y, other.x, other.y);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TileLocation)) {
+            return false;
+        }
+        TileLocation otherLocation = (TileLocation) other;
+        return x == otherLocation.x && y == otherLocation.y;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * x + y;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ")";
+    }
+}
@@ -0,0 +1,248 @@
+package mineopoly_three;
+
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.competition.ZaidStrategyCompetition;
+import mineopoly_three.game.Economy;
+import mineopoly_three.game.GameEngine;
+import mineopoly_three.game.HeadlessGameEngine;
+import mineopoly_three.item.InventoryItem;
+import mineopoly_three.item.ItemType;
+import mineopoly_three.strategy.HoldIntent;
+import mineopoly_three.strategy.MinePlayerStrategy;
+import mineopoly_three.strategy.PlayerBoardView;
+import mineopoly_three.strategy.RandomStrategy;
+import mineopoly_three.strategy.ZaidStrategy;
+import mineopoly_three.tiles.Tile;
+
+import java.awt.*;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+
+/** Strategies and checks shared by every test that plays whole games. */
+public final class GameFixtures {
+  @SuppressWarnings("unchecked")
+  public static final Supplier<MinePlayerStrategy>[] STRATEGIES =
+      new Supplier[] {RandomStrategy::new, ZaidStrategy::new, ZaidStrategyCompetition::new};
+
+  private GameFixtures() {}
+
+  /** Checks that a GameEngine and a HeadlessGameEngine played exactly the same game. */
+  public static void assertSameGame(GameEngine gameEngine, HeadlessGameEngine headlessEngine) {
+    String seedMessage = "seed " + gameEngine.getRandomSeed();
+    assertEquals(seedMessage, gameEngine.getRedPlayerScore(), headlessEngine.getRedPlayerScore());
+    assertEquals(seedMessage, gameEngine.getBluePlayerScore(), headlessEngine.getBluePlayerScore());
+    assertEquals(seedMessage, gameEngine.getTurnNumber(), headlessEngine.getTurnNumber());
+    assertEquals(
+        seedMessage,
+        gameEngine.getReplay().getRedPlayerActions(),
+        headlessEngine.getReplay().getRedPlayerActions());
+    assertEquals(
+        seedMessage,
+        gameEngine.getReplay().getBluePlayerActions(),
+        headlessEngine.getReplay().getBluePlayerActions());
+
+    int boardSize = gameEngine.getBoard().getSize();
+    for (int x = 0; x < boardSize; x++) {
+      for (int y = 0; y < boardSize; y++) {
+        String locationMessage = seedMessage + " at (" + x + ", " + y + ")";
+        assertEquals(
+            locationMessage,
+            gameEngine.getBoard().getTileAtLocation(x, y).getType(),
+            headlessEngine.getBoard().getTileTypeAtLocation(x, y));
+        for (ItemType itemType : ItemType.values()) {
+          long numItems =
+              gameEngine.getBoard().getTileAtLocation(x, y).getItemsOnTile().stream()
+                  .filter(item -> item.getItemType() == itemType)
+                  .count();
+          assertEquals(
+              locationMessage,
+              numItems,
+              headlessEngine.getBoard().getNumItemsOnTile(x, y, itemType));
+        }
+      }
+    }
+  }
+
+  /** Checks that two GameEngines played exactly the same game. */
+  public static void assertSameGame(GameEngine expectedEngine, GameEngine actualEngine) {
+    String seedMessage = "seed " + expectedEngine.getRandomSeed();
+    assertEquals(seedMessage, expectedEngine.getRandomSeed(), actualEngine.getRandomSeed());
+    assertEquals(seedMessage, expectedEngine.getRedPlayerScore(), actualEngine.getRedPlayerScore());
+    assertEquals(seedMessage, expectedEngine.getBluePlayerScore(), actualEngine.getBluePlayerScore());
+    assertEquals(seedMessage, expectedEngine.getTurnNumber(), actualEngine.getTurnNumber());
+    assertEquals(
+        seedMessage,
+        expectedEngine.getReplay().getRedPlayerActions(),
+        actualEngine.getReplay().getRedPlayerActions());
+    assertEquals(
+        seedMessage,
+        expectedEngine.getReplay().getBluePlayerActions(),
+        actualEngine.getReplay().getBluePlayerActions());
+
+    int boardSize = expectedEngine.getBoard().getSize();
+    assertEquals(seedMessage, boardSize, actualEngine.getBoard().getSize());
+    for (int x = 0; x < boardSize; x++) {
+      for (int y = 0; y < boardSize; y++) {
+        Tile expectedTile = expectedEngine.getBoard().getTileAtLocation(x, y);
+        Tile actualTile = actualEngine.getBoard().getTileAtLocation(x, y);
+        String locationMessage = seedMessage + " at (" + x + ", " + y + ")";
+        assertEquals(locationMessage, expectedTile.getKind(), actualTile.getKind());
+        assertEquals(locationMessage, expectedTile.getType(), actualTile.getType());
+        assertEquals(locationMessage, expectedTile.getNumTimesMined(), actualTile.getNumTimesMined());
+        assertEquals(locationMessage, expectedTile.getItemsOnTile(), actualTile.getItemsOnTile());
+      }
+    }
+  }
+
+  /** Looks at what a strategy is handed right before it is asked for an action. */
+  public interface TurnObserver {
+    void onTurn(
+        ObservedStrategy strategy, PlayerBoardView boardView, Economy economy, boolean isRedTurn);
+  }
+
+  /** Plays exactly like another strategy, showing an observer every turn the strategy is asked about. */
+  public static class ObservedStrategy implements MinePlayerStrategy {
+    private final MinePlayerStrategy strategy;
+    private final TurnObserver observer;
+    private boolean askedEveryTurn = false;
+    private boolean isRedPlayer;
+    private int numTurnsObserved;
+
+    public ObservedStrategy(MinePlayerStrategy strategy, TurnObserver observer) {
+      this.strategy = strategy;
+      this.observer = observer;
+    }
+
+    /**
+     * Never holds an action, even when the strategy would, so the observer sees every turn. This only changes how
+     * often the strategy is asked, never what it does.
+     */
+    public ObservedStrategy askedEveryTurn() {
+      askedEveryTurn = true;
+      return this;
+    }
+
+    public boolean isRedPlayer() {
+      return isRedPlayer;
+    }
+
+    /** The number of turns observed before this one since the strategy was last initialized. */
+    public int getNumTurnsObserved() {
+      return numTurnsObserved;
+    }
+
+    @Override
+    public void initialize(
+        int boardSize,
+        int maxInventorySize,
+        int maxCharge,
+        int winningScore,
+        PlayerBoardView startingBoard,
+        Point startTileLocation,
+        boolean isRedPlayer,
+        Random random) {
+      this.isRedPlayer = isRedPlayer;
+      this.numTurnsObserved = 0;
+      strategy.initialize(
+          boardSize,
+          maxInventorySize,
+          maxCharge,
+          winningScore,
+          startingBoard,
+          startTileLocation,
+          isRedPlayer,
+          random);
+    }
+
+    @Override
+    public TurnAction getTurnAction(
+        PlayerBoardView boardView, Economy economy, int currentCharge, boolean isRedTurn) {
+      observer.onTurn(this, boardView, economy, isRedTurn);
+      numTurnsObserved++;
+      return strategy.getTurnAction(boardView, economy, currentCharge, isRedTurn);
+    }
+
+    @Override
+    public HoldIntent getHoldIntent() {
+      return askedEveryTurn ? null : strategy.getHoldIntent();
+    }
+
+    @Override
+    public void onReceiveItem(InventoryItem itemReceived) {
+      strategy.onReceiveItem(itemReceived);
+    }
+
+    @Override
+    public void onSoldInventory(int totalSellPrice) {
+      strategy.onSoldInventory(totalSellPrice);
+    }
+
+    @Override
+    public String getName() {
+      return strategy.getName();
+    }
+
+    @Override
+    public void endRound(int pointsScored, int opponentPointsScored) {
+      strategy.endRound(pointsScored, opponentPointsScored);
+    }
+  }
+
+  /** Never does anything, so nobody sells and prices only grow. */
+  public static class IdleStrategy implements MinePlayerStrategy {
+    private final int turnsToHold;
+    private int numTimesAsked = 0;
+
+    public IdleStrategy() {
+      this(0);
+    }
+
+    /** @param turnsToHold How many turns to promise to keep doing nothing for each time it's asked. */
+    public IdleStrategy(int turnsToHold) {
+      this.turnsToHold = turnsToHold;
+    }
+
+    public int getNumTimesAsked() {
+      return numTimesAsked;
+    }
+
+    @Override
+    public void initialize(
+        int boardSize,
+        int maxInventorySize,
+        int maxCharge,
+        int winningScore,
+        PlayerBoardView startingBoard,
+        Point startTileLocation,
+        boolean isRedPlayer,
+        Random random) {}
+
+    @Override
+    public TurnAction getTurnAction(
+        PlayerBoardView boardView, Economy economy, int currentCharge, boolean isRedTurn) {
+      numTimesAsked++;
+      return null;
+    }
+
+    @Override
+    public HoldIntent getHoldIntent() {
+      return (turnsToHold > 0) ? HoldIntent.forTurns(turnsToHold) : null;
+    }
+
+    @Override
+    public void onReceiveItem(InventoryItem itemReceived) {}
+
+    @Override
+    public void onSoldInventory(int totalSellPrice) {}
+
+    @Override
+    public String getName() {
+      return "Idle";
+    }
+
+    @Override
+    public void endRound(int pointsScored, int opponentPointsScored) {}
+  }
+}
@@ -1,22 +1,50 @@
 package mineopoly_three;
 
+import mineopoly_three.GameFixtures.IdleStrategy;
+import mineopoly_three.GameFixtures.ObservedStrategy;
 import mineopoly_three.action.TurnAction;
 import mineopoly_three.competition.ZaidStrategyCompetition;
+import mineopoly_three.event.EventDelivery;
+import mineopoly_three.event.GameEvent;
+import mineopoly_three.game.Economy;
+import mineopoly_three.game.GameEngine;
+import mineopoly_three.game.HeadlessGameEngine;
+import mineopoly_three.game.PriceHistory;
 import mineopoly_three.item.InventoryItem;
+import mineopoly_three.item.ItemCounts;
 import mineopoly_three.item.ItemType;
+import mineopoly_three.strategy.MinePlayerStrategy;
 import mineopoly_three.strategy.PlayerBoardView;
+import mineopoly_three.strategy.RandomStrategy;
 import mineopoly_three.strategy.ZaidStrategy;
+import mineopoly_three.tiles.Tile;
+import mineopoly_three.tiles.TileKind;
 import mineopoly_three.tiles.TileType;
+import mineopoly_three.util.GameSeeds;
+import mineopoly_three.util.SeedUtil;
+import mineopoly_three.util.TileLocation;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static mineopoly_three.GameFixtures.STRATEGIES;
+import static mineopoly_three.GameFixtures.assertSameGame;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class MineopolyTest {
   private final int boardSize = 4;
@@ -183,4 +211,390 @@ public class MineopolyTest {
 
     assertEquals(TurnAction.PICK_UP_RESOURCE, action);
   }
+
+  @Test
+  public void testHeadlessEngineMatchesGameEngineSeedBySeed() {
+    int[] boardSizes = {10, 14, 17, 24, 32};
+    for (int seed = 0; seed < 45; seed++) {
+      int boardSize = boardSizes[seed % boardSizes.length];
+      Supplier<MinePlayerStrategy> redStrategy = STRATEGIES[seed % STRATEGIES.length];
+      Supplier<MinePlayerStrategy> blueStrategy = STRATEGIES[(seed / 3) % STRATEGIES.length];
+
+      GameEngine gameEngine =
+          new GameEngine(boardSize, redStrategy.get(), blueStrategy.get(), seed * 7919L);
+      gameEngine.runGame();
+      HeadlessGameEngine headlessEngine =
+          new HeadlessGameEngine(boardSize, redStrategy.get(), blueStrategy.get(), seed * 7919L);
+      // Views updated in place must show strategies the same boards as new views do
+      headlessEngine.setViewReuseEnabled(seed % 2 == 1);
+      headlessEngine.runGame();
+
+      assertSameGame(gameEngine, headlessEngine);
+    }
+  }
+
+  @Test
+  public void testGamesOnWorkerThreadsMatchGamesPlayedInOrder() throws Exception {
+    int numGames = 24;
+    ExecutorService workers = Executors.newFixedThreadPool(4);
+    List<Future<HeadlessGameEngine>> headlessGames = new ArrayList<>();
+    try {
+      for (int game = 0; game < numGames; game++) {
+        long seed = SeedUtil.deriveSeed(23, game);
+        Supplier<MinePlayerStrategy> red = STRATEGIES[game % STRATEGIES.length];
+        Supplier<MinePlayerStrategy> blue = STRATEGIES[(game / STRATEGIES.length) % STRATEGIES.length];
+        headlessGames.add(
+            workers.submit(
+                () -> {
+                  HeadlessGameEngine headlessEngine =
+                      new HeadlessGameEngine(14, red.get(), blue.get(), seed);
+                  headlessEngine.runGame();
+                  return headlessEngine;
+                }));
+      }
+
+      for (int game = 0; game < numGames; game++) {
+        long seed = SeedUtil.deriveSeed(23, game);
+        GameSeeds seeds = new GameSeeds(seed);
+        assertNotEquals(seeds.getPlayerSeed(true), seeds.getPlayerSeed(false));
+        assertNotEquals(seeds.getStrategySeed(true), seeds.getStrategySeed(false));
+
+        Supplier<MinePlayerStrategy> red = STRATEGIES[game % STRATEGIES.length];
+        Supplier<MinePlayerStrategy> blue = STRATEGIES[(game / STRATEGIES.length) % STRATEGIES.length];
+        GameEngine gameEngine = new GameEngine(14, red.get(), blue.get(), seed);
+        gameEngine.runGame();
+        assertSameGame(gameEngine, headlessGames.get(game).get());
+      }
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testEarlyTerminationKeepsScoresOfFullGame() {
+    int[] boardSizes = {10, 14, 17, 24, 32};
+    int numGamesEndedEarly = 0;
+    for (int seed = 0; seed < 45; seed++) {
+      int boardSize = boardSizes[seed % boardSizes.length];
+      Supplier<MinePlayerStrategy> redStrategy = STRATEGIES[seed % STRATEGIES.length];
+      Supplier<MinePlayerStrategy> blueStrategy = STRATEGIES[(seed / 3) % STRATEGIES.length];
+
+      GameEngine fullEngine =
+          new GameEngine(boardSize, redStrategy.get(), blueStrategy.get(), seed * 7919L);
+      fullEngine.runGame();
+      GameEngine earlyEngine =
+          new GameEngine(boardSize, redStrategy.get(), blueStrategy.get(), seed * 7919L);
+      earlyEngine.setEarlyTerminationEnabled(true);
+      earlyEngine.runGame();
+
+      String seedMessage = "seed " + fullEngine.getRandomSeed();
+      assertEquals(seedMessage, fullEngine.getRedPlayerScore(), earlyEngine.getRedPlayerScore());
+      assertEquals(seedMessage, fullEngine.getBluePlayerScore(), earlyEngine.getBluePlayerScore());
+      int earlyTurns = earlyEngine.getTurnNumber();
+      assertTrue(seedMessage, earlyTurns <= fullEngine.getTurnNumber());
+      assertEquals(
+          seedMessage,
+          fullEngine.getReplay().getRedPlayerActions().subList(0, earlyTurns),
+          earlyEngine.getReplay().getRedPlayerActions());
+      if (earlyTurns < fullEngine.getTurnNumber()) {
+        numGamesEndedEarly++;
+      }
+    }
+    assertTrue(numGamesEndedEarly > 0);
+  }
+
+  @Test
+  public void testSkippedIdleTurnsCountTowardsEventDeliveries() {
+    // Both players promise to do nothing for 6 turns whenever asked, so the engine skips runs of turns shorter than a batch
+    GameEngine gameEngine = new GameEngine(12, new IdleStrategy(6), new IdleStrategy(6), 3);
+    List<Integer> deliveryTurns = new ArrayList<>();
+    gameEngine
+        .getEventBus()
+        .subscribe(
+            events -> {
+              if (!events.contains(GameEvent.GAME_ENDED)) {
+                deliveryTurns.add(gameEngine.getTurnNumber());
+              }
+            },
+            EventDelivery.everyNTurns(10));
+    gameEngine.runGame();
+
+    // One delivery on the first turn reached at or after every 10th turn, just like if every turn had been played
+    int finalTurn = gameEngine.getTurnNumber();
+    assertEquals(finalTurn / 10, deliveryTurns.size());
+    for (int i = 0; i < deliveryTurns.size(); i++) {
+      assertEquals(i + 1, deliveryTurns.get(i) / 10);
+      assertTrue(deliveryTurns.get(i) % 10 < 7);
+    }
+  }
+
+  @Test
+  public void testRecycledEngineMatchesNewGameEngine() {
+    MinePlayerStrategy firstStrategy = new ZaidStrategy();
+    MinePlayerStrategy secondStrategy = new RandomStrategy();
+    GameEngine recycledEngine = new GameEngine(20, firstStrategy, secondStrategy, 0);
+    recycledEngine.setRecyclingEnabled(true);
+    recycledEngine.runGame();
+    // The first board and players must be the ones every later game of the same size is played on
+    Object recycledBoard = recycledEngine.getBoard();
+    Object recycledRedPlayer = recycledEngine.getRedPlayer();
+
+    // Sizes change in between so recycling has to fall back to new objects and then start recycling those
+    int[] boardSizes = {20, 20, 20, 14, 14, 20};
+    for (int game = 0; game < boardSizes.length; game++) {
+      long seed = 2000 + game;
+      recycledEngine.reset(boardSizes[game], seed, game % 2 == 1);
+      recycledEngine.runGame();
+      if (game < 3) {
+        assertTrue(recycledBoard == recycledEngine.getBoard());
+        assertTrue(recycledRedPlayer == recycledEngine.getRedPlayer());
+      }
+
+      boolean firstIsRed = recycledEngine.getRedPlayer().getStrategy() == firstStrategy;
+      GameEngine newEngine =
+          firstIsRed
+              ? new GameEngine(boardSizes[game], new ZaidStrategy(), new RandomStrategy(), seed)
+              : new GameEngine(boardSizes[game], new RandomStrategy(), new ZaidStrategy(), seed);
+      newEngine.runGame();
+      assertSameGame(newEngine, recycledEngine);
+    }
+  }
+
+  @Test
+  public void testResetHeadlessEngineMatchesNewGameEngine() {
+    HeadlessGameEngine headlessEngine =
+        new HeadlessGameEngine(20, new RandomStrategy(), new ZaidStrategy(), 0);
+    int[] boardSizes = {20, 20, 12, 12, 20};
+    for (int game = 0; game < boardSizes.length; game++) {
+      long seed = 1000 + game;
+      boolean swapPlayers = (game % 2 == 1);
+      headlessEngine.reset(boardSizes[game], seed, swapPlayers);
+      headlessEngine.runGame();
+
+      MinePlayerStrategy redStrategy =
+          (headlessEngine.getRedPlayer().getStrategy() instanceof RandomStrategy)
+              ? new RandomStrategy()
+              : new ZaidStrategy();
+      MinePlayerStrategy blueStrategy =
+          (redStrategy instanceof RandomStrategy) ? new ZaidStrategy() : new RandomStrategy();
+      GameEngine gameEngine = new GameEngine(boardSizes[game], redStrategy, blueStrategy, seed);
+      gameEngine.runGame();
+
+      assertSameGame(gameEngine, headlessEngine);
+    }
+  }
+
+  @Test
+  public void testInterruptedGuiGameStopsBeforeNextTurn() {
+    ObservedStrategy interruptingStrategy =
+        new ObservedStrategy(
+                new ZaidStrategy(),
+                (strategy, boardView, economy, isRedTurn) -> {
+                  if (strategy.getNumTurnsObserved() == 3) {
+                    Thread.currentThread().interrupt();
+                  }
+                })
+            .askedEveryTurn();
+    GameEngine gameEngine = new GameEngine(10, interruptingStrategy, new RandomStrategy(), 3);
+    gameEngine.setGuiEnabled(true);
+    try {
+      gameEngine.runGame();
+      assertEquals(4, gameEngine.getTurnNumber());
+      assertNull(gameEngine.getExceptionThrown());
+      assertTrue(Thread.currentThread().isInterrupted());
+    } finally {
+      // Clear the interrupt so it doesn't leak into other tests
+      Thread.interrupted();
+    }
+  }
+
+  @Test
+  public void testProjectedPriceMatchesRepeatedDemandIncreases() {
+    for (ItemType resourceType : ItemType.values()) {
+      if (!resourceType.isResource()) {
+        continue;
+      }
+      // Start from the prices a resource can be left at after selling up to a full inventory
+      for (int numSold = 0; numSold <= 10; numSold++) {
+        int startPrice = Economy.getPriceAfterSale(resourceType.getMaxPrice(), numSold);
+        int price = startPrice;
+        for (int turns = 0; turns <= 200; turns++) {
+          assertEquals(price, Economy.getProjectedPrice(resourceType, startPrice, turns));
+          price = Economy.getIncreasedPrice(resourceType, price);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPriceHistoryMatchesPricesSeenByStrategies() {
+    // Records the prices each strategy sees whenever it moves first in a turn, counting turns by being asked.
+    //  ZaidStrategy holds still on a recharge tile until it is fully charged, and held turns are never shown to the
+    //  observer. Whether a game ever gets there depends on how the strategies happen to move, so instead of
+    //  counting on this seed never recharging, the strategies are asked every turn
+    Map<Integer, Map<ItemType, Integer>> openingPrices = new HashMap<>();
+    GameFixtures.TurnObserver priceRecorder =
+        (strategy, boardView, economy, isRedTurn) -> {
+          if (strategy.isRedPlayer() == isRedTurn) {
+            openingPrices.put(
+                strategy.getNumTurnsObserved(), new HashMap<>(economy.getCurrentPrices()));
+          }
+        };
+    ObservedStrategy redStrategy =
+        new ObservedStrategy(new ZaidStrategy(), priceRecorder).askedEveryTurn();
+    ObservedStrategy blueStrategy =
+        new ObservedStrategy(new ZaidStrategy(), priceRecorder).askedEveryTurn();
+    GameEngine gameEngine = new GameEngine(20, redStrategy, blueStrategy, 42);
+    gameEngine.runGame();
+
+    PriceHistory priceHistory = gameEngine.getEconomy().getPriceHistory();
+    assertEquals(0, priceHistory.getOldestTurn());
+    assertEquals(gameEngine.getTurnNumber(), priceHistory.getNewestTurn());
+    for (int turn = 0; turn < gameEngine.getTurnNumber(); turn++) {
+      for (Map.Entry<ItemType, Integer> price : openingPrices.get(turn).entrySet()) {
+        assertEquals(
+            "turn " + turn,
+            (int) price.getValue(),
+            priceHistory.getPrice(price.getKey(), turn));
+      }
+    }
+  }
+
+  @Test
+  public void testHeldTurnsMatchAskingEveryTurn() {
+    for (int seed = 0; seed < 12; seed++) {
+      boolean holdingIsRed = (seed % 2 == 0);
+      IdleStrategy holdingStrategy = new IdleStrategy(25);
+      GameEngine gameEngine =
+          holdingIsRed
+              ? new GameEngine(14, holdingStrategy, new ZaidStrategy(), seed)
+              : new GameEngine(14, new ZaidStrategy(), holdingStrategy, seed);
+      gameEngine.runGame();
+      HeadlessGameEngine headlessEngine =
+          holdingIsRed
+              ? new HeadlessGameEngine(14, new IdleStrategy(), new ZaidStrategy(), seed)
+              : new HeadlessGameEngine(14, new ZaidStrategy(), new IdleStrategy(), seed);
+      headlessEngine.runGame();
+
+      assertSameGame(gameEngine, headlessEngine);
+      int expectedTimesAsked = (gameEngine.getTurnNumber() + 25) / 26;
+      assertEquals(expectedTimesAsked, holdingStrategy.getNumTimesAsked());
+    }
+  }
+
+  @Test
+  public void testSteadyStateTurnsDoNotAllocate() {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+    Assume.assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+    allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+    long threadId = Thread.currentThread().getId();
+    for (int i = 0; i < STRATEGIES.length; i++) {
+      // How much the game thread had allocated before each turn of the measured strategy
+      long[] allocatedBytes = new long[1001];
+      ObservedStrategy measuringStrategy =
+          new ObservedStrategy(
+              STRATEGIES[i].get(),
+              (strategy, boardView, economy, isRedTurn) ->
+                  allocatedBytes[strategy.getNumTurnsObserved()] =
+                      allocationBean.getThreadAllocatedBytes(threadId));
+      MinePlayerStrategy opponent = STRATEGIES[(i + 1) % STRATEGIES.length].get();
+      GameEngine gameEngine = new GameEngine(20, measuringStrategy, opponent, 0);
+      gameEngine.setRecyclingEnabled(true);
+      gameEngine.setViewReuseEnabled(true);
+
+      // Warm up first, the first games load classes and fill the pools the engine reuses
+      long bytesAllocated = 0;
+      long numTurns = 0;
+      for (int game = 0; game < 40; game++) {
+        gameEngine.reset(20, game, false);
+        gameEngine.runGame();
+        int lastTurn = measuringStrategy.getNumTurnsObserved() - 1;
+        if (game >= 30 && lastTurn > 10) {
+          bytesAllocated += allocatedBytes[lastTurn] - allocatedBytes[10];
+          numTurns += lastTurn - 10;
+        }
+      }
+
+      double bytesPerTurn = (double) bytesAllocated / numTurns;
+      assertTrue(measuringStrategy.getName() + " allocated " + bytesPerTurn, bytesPerTurn < 16);
+    }
+  }
+
+  @Test
+  public void testProjectedSaleValuesMatchPricesWithoutSales() {
+    GameEngine gameEngine = new GameEngine(12, new IdleStrategy(), new IdleStrategy(), 7);
+    Economy economy = gameEngine.getEconomy();
+
+    // Plan p sells p % 4 diamonds, p % 3 emeralds and p % 5 rubies p turns from now
+    int numItemTypes = ItemType.values().length;
+    int numPlans = 1001;
+    int[] planItemCounts = new int[numPlans * numItemTypes];
+    int[] planTurnsFromNow = new int[numPlans];
+    for (int plan = 0; plan < numPlans; plan++) {
+      planItemCounts[plan * numItemTypes + ItemType.DIAMOND.ordinal()] = plan % 4;
+      planItemCounts[plan * numItemTypes + ItemType.EMERALD.ordinal()] = plan % 3;
+      planItemCounts[plan * numItemTypes + ItemType.RUBY.ordinal()] = plan % 5;
+      planTurnsFromNow[plan] = plan;
+    }
+    int[] saleValues = new int[numPlans];
+    economy.getProjectedSaleValues(planItemCounts, planTurnsFromNow, numPlans, saleValues);
+
+    gameEngine.runGame();
+    PriceHistory priceHistory = economy.getPriceHistory();
+    for (int plan = 0; plan < numPlans; plan++) {
+      int turn = planTurnsFromNow[plan];
+      int expectedValue =
+          (plan % 4) * priceHistory.getPrice(ItemType.DIAMOND, turn)
+              + (plan % 3) * priceHistory.getPrice(ItemType.EMERALD, turn)
+              + (plan % 5) * priceHistory.getPrice(ItemType.RUBY, turn);
+      assertEquals("turn " + turn, expectedValue, saleValues[plan]);
+    }
+  }
+
+  @Test
+  public void testMinedOutResourceTileCracksInPlace() {
+    Tile tile = new Tile(TileLocation.of(2, 3));
+    tile.setKind(TileKind.RESOURCE, ItemType.EMERALD);
+    assertEquals(TileType.RESOURCE_EMERALD, tile.getType());
+
+    for (int i = 1; i < ItemType.EMERALD.getTurnsToMine(); i++) {
+      tile.mine();
+      assertEquals(TileKind.RESOURCE, tile.getKind());
+      assertEquals(i, tile.getNumTimesMined());
+    }
+    tile.mine();
+
+    assertEquals(TileKind.CRACKED, tile.getKind());
+    assertEquals(TileType.EMPTY, tile.getType());
+    assertNull(tile.getTileResource());
+    assertEquals(1, tile.getItemsOnTile().size());
+    assertEquals(ItemType.EMERALD, tile.getItemsOnTile().get(0).getItemType());
+  }
+
+  @Test
+  public void testItemCountsListSharedItemsInTypeOrder() {
+    ItemCounts items = new ItemCounts();
+    items.addItem(ItemType.AUTOMINER);
+    items.addItem(ItemType.RUBY);
+    items.addItem(ItemType.DIAMOND);
+    items.addItem(ItemType.RUBY);
+    assertEquals(4, items.size());
+    assertEquals(ItemType.DIAMOND, items.getFirstResource());
+
+    List<InventoryItem> expectedItems = new ArrayList<>();
+    for (ItemType itemType : ItemType.values()) {
+      for (int i = 0; i < items.getCount(itemType); i++) {
+        expectedItems.add(InventoryItem.of(itemType));
+      }
+    }
+    assertEquals(expectedItems, items);
+
+    items.removeResources();
+    assertEquals(1, items.size());
+    assertEquals(InventoryItem.of(ItemType.AUTOMINER), items.get(0));
+    assertNull(items.getFirstResource());
+  }
 }
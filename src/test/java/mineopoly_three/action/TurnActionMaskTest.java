@@ -0,0 +1,103 @@
+package mineopoly_three.action;
+
+import mineopoly_three.tiles.TileType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TurnActionMaskTest {
+  private static final int ALL_MOVES =
+      TurnActionMask.of(TurnAction.MOVE_UP)
+          | TurnActionMask.of(TurnAction.MOVE_DOWN)
+          | TurnActionMask.of(TurnAction.MOVE_RIGHT)
+          | TurnActionMask.of(TurnAction.MOVE_LEFT);
+
+  @Test
+  public void testMasksHoldOneBitPerAction() {
+    int mask = TurnActionMask.NONE;
+    for (TurnAction action : TurnAction.values()) {
+      assertFalse(TurnActionMask.contains(mask, action));
+      mask |= TurnActionMask.of(action);
+      assertTrue(TurnActionMask.contains(mask, action));
+    }
+    assertEquals(TurnActionMask.ALL, mask);
+
+    // Doing nothing always does what it says
+    assertTrue(TurnActionMask.contains(TurnActionMask.NONE, null));
+  }
+
+  @Test
+  public void testMoveMasksLeaveOutBoardEdgesAndOtherPlayer() {
+    int size = 5;
+    int otherX = 1;
+    int otherY = 2;
+    int[] moveMasks = new int[size * size];
+    TurnActionMask.fillMoveMasks(size, otherX, otherY, moveMasks);
+    for (int x = 0; x < size; x++) {
+      for (int y = 0; y < size; y++) {
+        assertEquals(
+            "(" + x + ", " + y + ")",
+            TurnActionMask.getMoveMask(size, x, y, otherX, otherY),
+            moveMasks[y * size + x]);
+      }
+    }
+
+    int bottomRightMask = moveMasks[size - 1];
+    assertTrue(TurnActionMask.contains(bottomRightMask, TurnAction.MOVE_UP));
+    assertTrue(TurnActionMask.contains(bottomRightMask, TurnAction.MOVE_LEFT));
+    assertFalse(TurnActionMask.contains(bottomRightMask, TurnAction.MOVE_DOWN));
+    assertFalse(TurnActionMask.contains(bottomRightMask, TurnAction.MOVE_RIGHT));
+    int belowOtherMask = moveMasks[(otherY - 1) * size + otherX];
+    assertFalse(TurnActionMask.contains(belowOtherMask, TurnAction.MOVE_UP));
+    assertTrue(TurnActionMask.contains(belowOtherMask, TurnAction.MOVE_DOWN));
+    assertEquals(ALL_MOVES, moveMasks[3 * size + 3]);
+  }
+
+  @Test
+  public void testOtherPlayerOnBoardEdgeOnlyBlocksItsNeighbours() {
+    int size = 3;
+    int[] moveMasks = new int[size * size];
+    TurnActionMask.fillMoveMasks(size, 0, 0, moveMasks);
+    for (int x = 0; x < size; x++) {
+      for (int y = 0; y < size; y++) {
+        assertEquals(TurnActionMask.getMoveMask(size, x, y, 0, 0), moveMasks[y * size + x]);
+      }
+    }
+    // Right of the other player in the bottom left corner, and above it
+    assertEquals(
+        TurnActionMask.of(TurnAction.MOVE_UP) | TurnActionMask.of(TurnAction.MOVE_RIGHT),
+        moveMasks[1]);
+    assertEquals(
+        TurnActionMask.of(TurnAction.MOVE_UP) | TurnActionMask.of(TurnAction.MOVE_RIGHT),
+        moveMasks[size]);
+    assertEquals(ALL_MOVES, moveMasks[size + 1]);
+  }
+
+  @Test
+  public void testInteractMaskFollowsTileAndInventory() {
+    // Standing on an emerald tile with a diamond on it and nothing to place
+    assertEquals(
+        TurnActionMask.of(TurnAction.MINE) | TurnActionMask.of(TurnAction.PICK_UP_RESOURCE),
+        TurnActionMask.getInteractMask(TileType.RESOURCE_EMERALD, 1, false, 0, 5, false));
+    // The same with a full inventory
+    assertEquals(
+        TurnActionMask.of(TurnAction.MINE),
+        TurnActionMask.getInteractMask(TileType.RESOURCE_EMERALD, 1, false, 5, 5, false));
+
+    // Mining an EMPTY tile cracks it, but that is no use to anyone
+    assertEquals(
+        TurnActionMask.NONE,
+        TurnActionMask.getInteractMask(TileType.EMPTY, 0, false, 0, 5, false));
+    assertEquals(
+        TurnActionMask.of(TurnAction.PLACE_AUTOMINER),
+        TurnActionMask.getInteractMask(TileType.EMPTY, 0, false, 1, 5, true));
+    assertEquals(
+        TurnActionMask.of(TurnAction.PICK_UP_AUTOMINER),
+        TurnActionMask.getInteractMask(TileType.EMPTY, 0, true, 1, 5, true));
+    assertEquals(
+        TurnActionMask.NONE,
+        TurnActionMask.getInteractMask(TileType.RED_MARKET, 0, true, 5, 5, true));
+  }
+}
@@ -0,0 +1,183 @@
+package mineopoly_three.event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import static mineopoly_three.event.GameEvent.GAME_ENDED;
+import static mineopoly_three.event.GameEvent.PRICES_CHANGED;
+import static mineopoly_three.event.GameEvent.TURN_ENDED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GameEventBusTest {
+  private GameEventBus eventBus;
+  private RecordingListener listener;
+
+  @Before
+  public void setUpBus() {
+    eventBus = new GameEventBus();
+    listener = new RecordingListener();
+  }
+
+  private void publish(GameEvent... events) {
+    for (GameEvent event : events) {
+      eventBus.publish(event);
+    }
+  }
+
+  @Test
+  public void testEveryTurnDeliversEachTurnWithEverythingInIt() {
+    eventBus.subscribe(listener, EventDelivery.everyTurn());
+    publish(PRICES_CHANGED);
+    assertEquals(0, listener.deliveries.size());
+
+    publish(TURN_ENDED, TURN_ENDED, PRICES_CHANGED, GAME_ENDED);
+    assertEquals(
+        Arrays.asList(
+            EnumSet.of(PRICES_CHANGED, TURN_ENDED),
+            EnumSet.of(TURN_ENDED),
+            EnumSet.of(PRICES_CHANGED, GAME_ENDED)),
+        listener.deliveries);
+  }
+
+  @Test
+  public void testEveryNTurnsBatchesTurnsTogether() {
+    eventBus.subscribe(listener, EventDelivery.everyNTurns(3));
+    publish(TURN_ENDED, PRICES_CHANGED, TURN_ENDED);
+    assertEquals(0, listener.deliveries.size());
+    publish(TURN_ENDED);
+    assertEquals(Arrays.asList(EnumSet.of(TURN_ENDED, PRICES_CHANGED)), listener.deliveries);
+
+    // The end of the game is delivered straight away, and the next game counts turns from its own start
+    publish(TURN_ENDED, GAME_ENDED);
+    assertEquals(EnumSet.of(TURN_ENDED, GAME_ENDED), listener.deliveries.get(1));
+    publish(TURN_ENDED, TURN_ENDED);
+    assertEquals(2, listener.deliveries.size());
+    publish(TURN_ENDED);
+    assertEquals(EnumSet.of(TURN_ENDED), listener.deliveries.get(2));
+  }
+
+  @Test
+  public void testTurnsEndedTogetherCountOneByOne() {
+    eventBus.subscribe(listener, EventDelivery.everyNTurns(3));
+    // Five turns pass the third, so they are delivered together and the two after it count towards the next batch
+    eventBus.publishTurnsEnded(5);
+    assertEquals(1, listener.deliveries.size());
+    publish(TURN_ENDED);
+    assertEquals(2, listener.deliveries.size());
+
+    eventBus.publishTurnsEnded(2);
+    assertEquals(2, listener.deliveries.size());
+    // Nine turns since the last delivery make three whole batches, so nothing is carried over this time
+    eventBus.publishTurnsEnded(7);
+    assertEquals(3, listener.deliveries.size());
+    eventBus.publishTurnsEnded(2);
+    assertEquals(3, listener.deliveries.size());
+    publish(TURN_ENDED);
+    assertEquals(4, listener.deliveries.size());
+    for (Set<GameEvent> delivery : listener.deliveries) {
+      assertEquals(EnumSet.of(TURN_ENDED), delivery);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEndingNoTurnsThrows() {
+    eventBus.publishTurnsEnded(0);
+  }
+
+  @Test
+  public void testEndOfGameDeliversOnce() {
+    eventBus.subscribe(listener, EventDelivery.endOfGame());
+    for (int turn = 0; turn < 50; turn++) {
+      publish(PRICES_CHANGED, TURN_ENDED);
+    }
+    assertEquals(0, listener.deliveries.size());
+    publish(GAME_ENDED);
+    assertEquals(
+        Arrays.asList(EnumSet.of(TURN_ENDED, PRICES_CHANGED, GAME_ENDED)), listener.deliveries);
+  }
+
+  @Test
+  public void testAsyncListenerThatFallsBehindGetsOneBatch() {
+    Queue<Runnable> executorQueue = new ArrayDeque<>();
+    eventBus.subscribeAsync(listener, EventDelivery.everyTurn(), executorQueue::add);
+    publish(TURN_ENDED);
+    assertEquals(1, executorQueue.size());
+    assertEquals(0, listener.deliveries.size());
+
+    // The delivery already waiting picks up later turns instead of queueing more deliveries
+    publish(PRICES_CHANGED, TURN_ENDED, TURN_ENDED, GAME_ENDED);
+    assertEquals(1, executorQueue.size());
+    executorQueue.remove().run();
+    assertEquals(
+        Arrays.asList(EnumSet.of(TURN_ENDED, PRICES_CHANGED, GAME_ENDED)), listener.deliveries);
+
+    // Once it has run, the next turn gets a delivery of its own
+    publish(TURN_ENDED);
+    assertEquals(1, executorQueue.size());
+    executorQueue.remove().run();
+    assertEquals(EnumSet.of(TURN_ENDED), listener.deliveries.get(1));
+  }
+
+  @Test
+  public void testUnsubscribedListenerHearsNothingMore() {
+    RecordingListener otherListener = new RecordingListener();
+    assertFalse(eventBus.hasSubscribers());
+    eventBus.subscribe(listener, EventDelivery.everyTurn());
+    eventBus.subscribe(otherListener, EventDelivery.everyTurn());
+    assertTrue(eventBus.hasSubscribers());
+    publish(TURN_ENDED);
+
+    eventBus.unsubscribe(listener);
+    publish(TURN_ENDED, GAME_ENDED);
+    assertEquals(1, listener.deliveries.size());
+    assertEquals(3, otherListener.deliveries.size());
+
+    eventBus.unsubscribe(otherListener);
+    assertFalse(eventBus.hasSubscribers());
+  }
+
+  @Test
+  public void testUnsubscribingAsyncListenerKeepsDeliveryAlreadyQueued() {
+    Queue<Runnable> executorQueue = new ArrayDeque<>();
+    eventBus.subscribeAsync(listener, EventDelivery.everyTurn(), executorQueue::add);
+    publish(TURN_ENDED);
+    eventBus.unsubscribe(listener);
+    publish(TURN_ENDED, GAME_ENDED);
+
+    assertEquals(1, executorQueue.size());
+    executorQueue.remove().run();
+    assertEquals(Arrays.asList(EnumSet.of(TURN_ENDED)), listener.deliveries);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testDeliveredEventsCannotBeChanged() {
+    GameEventListener changingListener = events -> events.add(GAME_ENDED);
+    eventBus.subscribe(changingListener, EventDelivery.everyTurn());
+    publish(TURN_ENDED);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDeliveringEveryZeroTurnsThrows() {
+    EventDelivery.everyNTurns(0);
+  }
+
+  /** Keeps a copy of every set of events delivered to it. */
+  private static class RecordingListener implements GameEventListener {
+    private final List<Set<GameEvent>> deliveries = new ArrayList<>();
+
+    @Override
+    public void onGameEvents(Set<GameEvent> events) {
+      deliveries.add(EnumSet.copyOf(events));
+    }
+  }
+}
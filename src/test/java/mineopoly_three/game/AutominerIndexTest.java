@@ -0,0 +1,115 @@
+package mineopoly_three.game;
+
+import mineopoly_three.GameFixtures.IdleStrategy;
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.item.ItemType;
+import mineopoly_three.tiles.Tile;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AutominerIndexTest {
+  private static final int BOARD_SIZE = 32;
+  private static final long SEED = 7;
+  private static final int NUM_AUTOMINERS_PER_WAVE = 100;
+  private static final int TURNS_PER_WAVE = 60;
+
+  private static void placeAutominer(GameBoard board, PrimitiveGameBoard primitiveBoard, int x, int y) {
+    Tile tile = board.getTileAtLocation(x, y);
+    tile.getItemsOnTile().addItem(ItemType.AUTOMINER);
+    board.trackItemsOnPoint(tile.getLocation(), tile.getItemsOnTile());
+    primitiveBoard.placeItemOnGround(x, y, ItemType.AUTOMINER);
+  }
+
+  private static void pickUpAutominer(
+      GameBoard board, PrimitiveGameBoard primitiveBoard, PrimitivePlayer picker, int x, int y) {
+    Tile tile = board.getTileAtLocation(x, y);
+    tile.getItemsOnTile().removeItem(ItemType.AUTOMINER);
+    board.trackItemsOnPoint(tile.getLocation(), tile.getItemsOnTile());
+
+    picker.setTileIndex(primitiveBoard.getTileIndex(x, y));
+    primitiveBoard.interact(picker, TurnAction.PICK_UP_AUTOMINER);
+    assertTrue(picker.removeItemFromInventory(ItemType.AUTOMINER));
+  }
+
+  private static void assertSameBoard(String message, GameBoard board, PrimitiveGameBoard primitiveBoard) {
+    for (int x = 0; x < BOARD_SIZE; x++) {
+      for (int y = 0; y < BOARD_SIZE; y++) {
+        String locationMessage = message + " at (" + x + ", " + y + ")";
+        Tile tile = board.getTileAtLocation(x, y);
+        assertEquals(locationMessage, primitiveBoard.getTileTypeAtLocation(x, y), tile.getType());
+        for (ItemType itemType : ItemType.values()) {
+          assertEquals(
+              locationMessage + " " + itemType,
+              primitiveBoard.getNumItemsOnTile(x, y, itemType),
+              tile.getItemsOnTile().getCount(itemType));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testIndexFollowsHundredsOfAutominers() {
+    // PrimitiveGameBoard keeps its autominers in no particular order, so it checks the sorted index GameBoard keeps
+    GameBoard board = new WorldGenerator(SEED).generateBoard(BOARD_SIZE);
+    PrimitiveGameBoard primitiveBoard = new WorldGenerator(SEED).generateBoard(new PrimitiveGameBoard(BOARD_SIZE));
+    PrimitivePlayer redPlayer =
+        new PrimitivePlayer(new IdleStrategy(), primitiveBoard.getRedStartTileIndex(), SEED, true);
+    PrimitivePlayer bluePlayer =
+        new PrimitivePlayer(new IdleStrategy(), primitiveBoard.getBlueStartTileIndex(), SEED, false);
+    Economy economy =
+        new Economy(Arrays.stream(ItemType.values()).filter(ItemType::isResource).toArray(ItemType[]::new));
+    assertSameBoard("generated", board, primitiveBoard);
+
+    Random random = new Random(SEED);
+    List<Integer> freeTileIndexes = new ArrayList<>();
+    List<Integer> autominerTileIndexes = new ArrayList<>();
+    for (int tileIndex = 0; tileIndex < BOARD_SIZE * BOARD_SIZE; tileIndex++) {
+      int x = primitiveBoard.getX(tileIndex);
+      int y = primitiveBoard.getY(tileIndex);
+      if (primitiveBoard.getNumItemsOnTile(x, y, ItemType.AUTOMINER) == 0) {
+        freeTileIndexes.add(tileIndex);
+      } else {
+        autominerTileIndexes.add(tileIndex);
+      }
+    }
+    int turnNumber = 0;
+    for (int wave = 0; wave < 3; wave++) {
+      // Place a wave of autominers in random order, so the sorted index gets insertions all over it
+      for (int i = 0; i < NUM_AUTOMINERS_PER_WAVE; i++) {
+        int tileIndex = freeTileIndexes.remove(random.nextInt(freeTileIndexes.size()));
+        placeAutominer(board, primitiveBoard, primitiveBoard.getX(tileIndex), primitiveBoard.getY(tileIndex));
+        autominerTileIndexes.add(tileIndex);
+      }
+
+      // Tracking a tile again without changing its items must not count its autominer twice
+      for (int i = 0; i < 20; i++) {
+        int tileIndex = autominerTileIndexes.get(random.nextInt(autominerTileIndexes.size()));
+        Tile tile = board.getTileAtLocation(primitiveBoard.getX(tileIndex), primitiveBoard.getY(tileIndex));
+        board.trackItemsOnPoint(tile.getLocation(), tile.getItemsOnTile());
+      }
+
+      // Pick some of them back up again, from anywhere in the index
+      for (int i = 0; i < NUM_AUTOMINERS_PER_WAVE / 4; i++) {
+        int tileIndex = autominerTileIndexes.remove(random.nextInt(autominerTileIndexes.size()));
+        pickUpAutominer(
+            board, primitiveBoard, redPlayer, primitiveBoard.getX(tileIndex), primitiveBoard.getY(tileIndex));
+      }
+      assertEquals(autominerTileIndexes.size(), primitiveBoard.getNumAutominers());
+
+      for (int turn = 0; turn < TURNS_PER_WAVE; turn++) {
+        board.update();
+        primitiveBoard.update(redPlayer, bluePlayer, economy);
+        turnNumber++;
+        assertSameBoard("turn " + turnNumber, board, primitiveBoard);
+      }
+    }
+    assertTrue(primitiveBoard.getNumAutominers() >= 200);
+  }
+}
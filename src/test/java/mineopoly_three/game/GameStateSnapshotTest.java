@@ -0,0 +1,185 @@
+package mineopoly_three.game;
+
+import mineopoly_three.GameFixtures.ObservedStrategy;
+import mineopoly_three.GameFixtures.TurnObserver;
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.item.InventoryItem;
+import mineopoly_three.replay.Replay;
+import mineopoly_three.strategy.MinePlayerStrategy;
+import mineopoly_three.strategy.PlayerBoardView;
+import mineopoly_three.strategy.ZaidStrategy;
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static mineopoly_three.GameFixtures.assertSameGame;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GameStateSnapshotTest {
+  private static final int BOARD_SIZE = 20;
+  private static final long SEED = 11;
+  private static final int SNAPSHOT_TURN = 40;
+  // Even, so the same player moves first on the turn the game is rewound from and the turn it is rewound to
+  private static final int TURNS_PLAYED_BEFORE_RESTORE = 30;
+
+  private static boolean isFirstMover(ObservedStrategy strategy, boolean isRedTurn) {
+    return strategy.isRedPlayer() == isRedTurn;
+  }
+
+  private static Boolean getPlayerColor(MinePlayer player) {
+    return player == null ? null : player.isRedPlayer();
+  }
+
+  private static void assertSameState(GameStateSnapshot expected, GameStateSnapshot actual) {
+    String turnMessage = "turn " + expected.turnNumber;
+    assertEquals(turnMessage, expected.turnNumber, actual.turnNumber);
+    assertEquals(turnMessage, expected.isRedTurn, actual.isRedTurn);
+
+    assertArrayEquals(turnMessage, expected.tileKinds, actual.tileKinds);
+    assertArrayEquals(turnMessage, expected.tileResources, actual.tileResources);
+    assertArrayEquals(turnMessage, expected.timesMined, actual.timesMined);
+    assertArrayEquals(turnMessage, expected.autominerTurnsMined, actual.autominerTurnsMined);
+    assertArrayEquals(turnMessage, expected.itemCounts, actual.itemCounts);
+    for (int i = 0; i < expected.playersOnTiles.length; i++) {
+      assertEquals(
+          turnMessage,
+          getPlayerColor(expected.playersOnTiles[i]),
+          getPlayerColor(actual.playersOnTiles[i]));
+    }
+
+    assertSamePlayerState(turnMessage + " red", expected.redPlayerState, actual.redPlayerState);
+    assertSamePlayerState(turnMessage + " blue", expected.bluePlayerState, actual.bluePlayerState);
+
+    assertArrayEquals(turnMessage, expected.resourcePrices, actual.resourcePrices);
+    assertEquals(turnMessage, expected.economyNumDemandTurns, actual.economyNumDemandTurns);
+  }
+
+  private static void assertSamePlayerState(
+      String message, GameStateSnapshot.PlayerState expected, GameStateSnapshot.PlayerState actual) {
+    assertArrayEquals(message, expected.inventoryCounts, actual.inventoryCounts);
+    assertEquals(message, expected.x, actual.x);
+    assertEquals(message, expected.y, actual.y);
+    assertEquals(message, expected.score, actual.score);
+    assertEquals(message, expected.lastMove, actual.lastMove);
+    assertEquals(message, expected.numTurnActions, actual.numTurnActions);
+    assertEquals(message, expected.currentEnergy, actual.currentEnergy);
+    assertEquals(message, expected.randomState, actual.randomState);
+    assertEquals(message, expected.heldAction, actual.heldAction);
+    assertEquals(message, expected.numTurnsHeld, actual.numTurnsHeld);
+  }
+
+  @Test
+  public void testRestoredGamePlaysOnLikeTheOriginal() {
+    // Play a game, saving the state at the start of every turn, before the first player is asked for an action
+    List<GameStateSnapshot> expectedSnapshots = new ArrayList<>();
+    GameEngine[] originalEngine = new GameEngine[1];
+    TurnObserver snapshotRecorder =
+        (strategy, boardView, economy, isRedTurn) -> {
+          if (isFirstMover(strategy, isRedTurn)) {
+            expectedSnapshots.add(originalEngine[0].captureSnapshot());
+          }
+        };
+    originalEngine[0] =
+        new GameEngine(
+            BOARD_SIZE,
+            new ObservedStrategy(new ZaidStrategy(), snapshotRecorder).askedEveryTurn(),
+            new ObservedStrategy(new ZaidStrategy(), snapshotRecorder).askedEveryTurn(),
+            SEED);
+    originalEngine[0].runGame();
+    assertTrue(originalEngine[0].getTurnNumber() > SNAPSHOT_TURN + TURNS_PLAYED_BEFORE_RESTORE);
+    assertEquals(originalEngine[0].getTurnNumber(), expectedSnapshots.size());
+
+    // Play the same actions again, but rewind to an earlier snapshot partway through and play on from there
+    GameEngine[] restoredEngine = new GameEngine[1];
+    GameStateSnapshot[] savedSnapshot = new GameStateSnapshot[1];
+    GameStateSnapshot[] currentSnapshot = new GameStateSnapshot[1];
+    int[] numRestores = new int[1];
+    TurnObserver rewinder =
+        (strategy, boardView, economy, isRedTurn) -> {
+          if (!isFirstMover(strategy, isRedTurn)) {
+            return;
+          }
+          GameEngine engine = restoredEngine[0];
+          if (numRestores[0] == 0 && engine.getTurnNumber() == SNAPSHOT_TURN) {
+            savedSnapshot[0] = engine.captureSnapshot();
+          } else if (numRestores[0] == 0
+              && engine.getTurnNumber() == SNAPSHOT_TURN + TURNS_PLAYED_BEFORE_RESTORE) {
+            engine.restoreSnapshot(savedSnapshot[0]);
+            numRestores[0]++;
+          }
+          currentSnapshot[0] = engine.captureSnapshot(currentSnapshot[0]);
+          assertSameState(expectedSnapshots.get(engine.getTurnNumber()), currentSnapshot[0]);
+        };
+    Replay originalReplay = originalEngine[0].getReplay();
+    ScriptedStrategy redStrategy =
+        new ScriptedStrategy(originalReplay.getRedPlayerActions(), restoredEngine);
+    ScriptedStrategy blueStrategy =
+        new ScriptedStrategy(originalReplay.getBluePlayerActions(), restoredEngine);
+    restoredEngine[0] =
+        new GameEngine(
+            BOARD_SIZE,
+            new ObservedStrategy(redStrategy, rewinder),
+            new ObservedStrategy(blueStrategy, rewinder),
+            SEED);
+    restoredEngine[0].runGame();
+
+    assertEquals(1, numRestores[0]);
+    assertSameGame(originalEngine[0], restoredEngine[0]);
+    assertSameState(
+        originalEngine[0].captureSnapshot(), restoredEngine[0].captureSnapshot(currentSnapshot[0]));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSnapshotOfOtherBoardSizeThrows() {
+    GameEngine smallEngine = new GameEngine(12, new ZaidStrategy(), new ZaidStrategy(), SEED);
+    GameEngine largeEngine = new GameEngine(14, new ZaidStrategy(), new ZaidStrategy(), SEED);
+    largeEngine.restoreSnapshot(smallEngine.captureSnapshot());
+  }
+
+  /** Takes the action another game took on the same turn, whatever turn the engine has been rewound to. */
+  private static class ScriptedStrategy implements MinePlayerStrategy {
+    private final List<TurnAction> actions;
+    private final GameEngine[] engine;
+
+    private ScriptedStrategy(List<TurnAction> actions, GameEngine[] engine) {
+      this.actions = actions;
+      this.engine = engine;
+    }
+
+    @Override
+    public void initialize(
+        int boardSize,
+        int maxInventorySize,
+        int maxCharge,
+        int winningScore,
+        PlayerBoardView startingBoard,
+        Point startTileLocation,
+        boolean isRedPlayer,
+        Random random) {}
+
+    @Override
+    public TurnAction getTurnAction(
+        PlayerBoardView boardView, Economy economy, int currentCharge, boolean isRedTurn) {
+      return actions.get(engine[0].getTurnNumber());
+    }
+
+    @Override
+    public void onReceiveItem(InventoryItem itemReceived) {}
+
+    @Override
+    public void onSoldInventory(int totalSellPrice) {}
+
+    @Override
+    public String getName() {
+      return "Scripted";
+    }
+
+    @Override
+    public void endRound(int pointsScored, int opponentPointsScored) {}
+  }
+}
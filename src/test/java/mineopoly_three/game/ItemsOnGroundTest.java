@@ -0,0 +1,323 @@
+package mineopoly_three.game;
+
+import mineopoly_three.GameFixtures;
+import mineopoly_three.GameFixtures.ObservedStrategy;
+import mineopoly_three.item.InventoryItem;
+import mineopoly_three.item.ItemType;
+import mineopoly_three.strategy.PlayerBoardView;
+import mineopoly_three.strategy.ZaidStrategy;
+import mineopoly_three.tiles.Tile;
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ItemsOnGroundTest {
+
+  private static List<InventoryItem> itemsOf(ItemType... itemTypes) {
+    List<InventoryItem> items = new ArrayList<>();
+    for (ItemType itemType : itemTypes) {
+      items.add(InventoryItem.of(itemType));
+    }
+    return items;
+  }
+
+  @Test
+  public void testOnlyTilesWithItemsAreInView() {
+    ItemsOnGround itemsOnGround = new ItemsOnGround(10);
+    Map<Point, List<InventoryItem>> view = itemsOnGround.getView();
+    assertTrue(view.isEmpty());
+
+    itemsOnGround.setItems(7, 2, itemsOf(ItemType.RUBY));
+    itemsOnGround.setItems(1, 9, itemsOf(ItemType.AUTOMINER, ItemType.DIAMOND));
+    itemsOnGround.setItems(3, 2, itemsOf(ItemType.EMERALD));
+    itemsOnGround.setItems(5, 5, Collections.emptyList());
+    assertEquals(3, view.size());
+    assertEquals(3, itemsOnGround.getNumTilesWithItems());
+    assertEquals(3, itemsOnGround.getNumResources());
+
+    // Tiles without items are left out rather than mapped to empty lists
+    assertNull(view.get(new Point(5, 5)));
+    assertFalse(view.containsKey(new Point(5, 5)));
+    assertNull(view.get(new Point(-1, 2)));
+    assertTrue(itemsOnGround.getItems(5, 5).isEmpty());
+
+    // Entries come out from the bottom left of the board, row by row, with items in ItemType order
+    List<Point> locations = new ArrayList<>();
+    for (Map.Entry<Point, List<InventoryItem>> entry : view.entrySet()) {
+      locations.add(entry.getKey());
+      assertEquals(entry.getValue(), view.get(entry.getKey()));
+    }
+    assertEquals(Arrays.asList(new Point(3, 2), new Point(7, 2), new Point(1, 9)), locations);
+    assertEquals(itemsOf(ItemType.DIAMOND, ItemType.AUTOMINER), view.get(new Point(1, 9)));
+
+    // Emptying a tile takes it out of the view again
+    itemsOnGround.setItems(7, 2, Collections.emptyList());
+    assertNull(view.get(new Point(7, 2)));
+    assertEquals(2, view.size());
+    assertEquals(2, itemsOnGround.getNumResources());
+
+    itemsOnGround.clear();
+    assertTrue(view.isEmpty());
+    assertEquals(0, itemsOnGround.getNumResources());
+  }
+
+  @Test
+  public void testItemListsAreSharedInsteadOfCopied() {
+    ItemsOnGround itemsOnGround = new ItemsOnGround(8);
+    List<InventoryItem> rubyAndDiamond = itemsOf(ItemType.RUBY, ItemType.DIAMOND);
+    itemsOnGround.setItems(0, 0, rubyAndDiamond);
+    itemsOnGround.setItems(6, 3, itemsOf(ItemType.DIAMOND, ItemType.RUBY));
+    itemsOnGround.setItems(2, 2, itemsOf(ItemType.RUBY));
+
+    // Tiles holding the same items share one list, whatever order the items were in
+    List<InventoryItem> sharedItems = itemsOnGround.getItems(0, 0);
+    assertSame(sharedItems, itemsOnGround.getItems(6, 3));
+    assertNotSame(sharedItems, itemsOnGround.getItems(2, 2));
+    assertTrue(itemsOnGround.hasItems(6, 3, rubyAndDiamond));
+
+    // The list passed in is never kept, so changing it afterwards changes nothing
+    rubyAndDiamond.clear();
+    assertEquals(2, itemsOnGround.getItems(0, 0).size());
+
+    // Setting the same items again keeps the same list, and a tile that comes back to them gets it again
+    itemsOnGround.setItems(0, 0, itemsOf(ItemType.DIAMOND, ItemType.RUBY));
+    assertSame(sharedItems, itemsOnGround.getItems(0, 0));
+    itemsOnGround.setItems(2, 2, itemsOf(ItemType.RUBY, ItemType.DIAMOND));
+    assertSame(sharedItems, itemsOnGround.getItems(2, 2));
+  }
+
+  @Test
+  public void testSnapshotNeverChangesOnceHandedOut() {
+    ItemsOnGround itemsOnGround = new ItemsOnGround(8);
+    itemsOnGround.setItems(0, 0, itemsOf(ItemType.RUBY, ItemType.DIAMOND));
+    itemsOnGround.setItems(6, 3, itemsOf(ItemType.EMERALD));
+    Map<Point, List<InventoryItem>> firstSnapshot = itemsOnGround.getSnapshot();
+    Map<Point, List<InventoryItem>> firstSnapshotCopy = new HashMap<>(firstSnapshot);
+    assertEquals(2, firstSnapshot.size());
+
+    // Until something changes, every player can be handed the same snapshot
+    itemsOnGround.setItems(6, 3, itemsOf(ItemType.EMERALD));
+    assertSame(firstSnapshot, itemsOnGround.getSnapshot());
+
+    // Changes after it was handed out, including ones that make the entries grow, leave it as it was
+    itemsOnGround.setItems(0, 0, Collections.emptyList());
+    itemsOnGround.setItems(2, 2, itemsOf(ItemType.AUTOMINER));
+    for (int x = 0; x < 8; x++) {
+      itemsOnGround.setItems(x, 7, itemsOf(ItemType.DIAMOND));
+    }
+    assertEquals(firstSnapshotCopy, firstSnapshot);
+    assertEquals(2, firstSnapshot.size());
+    assertNull(firstSnapshot.get(new Point(2, 2)));
+
+    // The next snapshot shows the changes, and shares the lists of the tiles that didn't change
+    Map<Point, List<InventoryItem>> secondSnapshot = itemsOnGround.getSnapshot();
+    assertNotSame(firstSnapshot, secondSnapshot);
+    assertEquals(10, secondSnapshot.size());
+    assertNull(secondSnapshot.get(new Point(0, 0)));
+    assertSame(firstSnapshot.get(new Point(6, 3)), secondSnapshot.get(new Point(6, 3)));
+
+    // Clearing for another game leaves both alone
+    Map<Point, List<InventoryItem>> secondSnapshotCopy = new HashMap<>(secondSnapshot);
+    itemsOnGround.clear();
+    assertEquals(firstSnapshotCopy, firstSnapshot);
+    assertEquals(secondSnapshotCopy, secondSnapshot);
+    assertTrue(itemsOnGround.getSnapshot().isEmpty());
+  }
+
+  @Test
+  public void testLiveViewFollowsChanges() {
+    ItemsOnGround itemsOnGround = new ItemsOnGround(8);
+    Map<Point, List<InventoryItem>> view = itemsOnGround.getView();
+    itemsOnGround.setItems(0, 0, itemsOf(ItemType.RUBY));
+    itemsOnGround.setItems(6, 3, itemsOf(ItemType.RUBY));
+    Map<Point, List<InventoryItem>> snapshot = itemsOnGround.getSnapshot();
+
+    // The live view is the same object every time and follows along, for engines that reuse their views
+    assertSame(view, itemsOnGround.getView());
+    itemsOnGround.setItems(0, 0, Collections.emptyList());
+    assertNull(view.get(new Point(0, 0)));
+    assertEquals(1, view.size());
+    assertSame(snapshot.get(new Point(6, 3)), view.get(new Point(6, 3)));
+    assertEquals(2, snapshot.size());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testSharedItemListsCannotBeChanged() {
+    ItemsOnGround itemsOnGround = new ItemsOnGround(8);
+    itemsOnGround.setItems(1, 1, itemsOf(ItemType.EMERALD));
+    itemsOnGround.getItems(1, 1).add(InventoryItem.of(ItemType.RUBY));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testViewCannotBeChanged() {
+    ItemsOnGround itemsOnGround = new ItemsOnGround(8);
+    itemsOnGround.getView().put(new Point(1, 1), itemsOf(ItemType.EMERALD));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testSnapshotCannotBeChanged() {
+    ItemsOnGround itemsOnGround = new ItemsOnGround(8);
+    itemsOnGround.setItems(1, 1, itemsOf(ItemType.EMERALD));
+    itemsOnGround.getSnapshot().remove(new Point(1, 1));
+  }
+
+  @Test
+  public void testViewGrowsPastItsFirstArrays() {
+    int size = 12;
+    ItemsOnGround itemsOnGround = new ItemsOnGround(size);
+    // Give every tile a different number of diamonds, so the shared lists have to grow too
+    for (int y = size - 1; y >= 0; y--) {
+      for (int x = size - 1; x >= 0; x--) {
+        ItemType[] diamonds = new ItemType[y * size + x + 1];
+        Arrays.fill(diamonds, ItemType.DIAMOND);
+        itemsOnGround.setItems(x, y, itemsOf(diamonds));
+      }
+    }
+
+    Map<Point, List<InventoryItem>> view = itemsOnGround.getView();
+    assertEquals(size * size, view.size());
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        assertEquals(y * size + x + 1, view.get(new Point(x, y)).size());
+      }
+    }
+  }
+
+  @Test
+  public void testViewFollowsEngineTilesThroughGame() {
+    // Compares the items every strategy is shown with the items on every tile of the engine's board
+    GameEngine[] engine = new GameEngine[1];
+    int[] maxTilesWithItems = new int[1];
+    GameFixtures.TurnObserver itemsChecker =
+        (strategy, boardView, economy, isRedTurn) -> {
+          Map<Point, List<InventoryItem>> itemsOnGround = boardView.getItemsOnGround();
+          int numTilesWithItems = 0;
+          for (int x = 0; x < boardView.getBoardSize(); x++) {
+            for (int y = 0; y < boardView.getBoardSize(); y++) {
+              Tile tile = engine[0].getBoard().getTileAtLocation(x, y);
+              List<InventoryItem> items = itemsOnGround.get(new Point(x, y));
+              if (tile.getItemsOnTile().isEmpty()) {
+                assertNull(items);
+              } else {
+                numTilesWithItems++;
+                assertEquals(tile.getItemsOnTile(), items);
+              }
+            }
+          }
+          assertEquals(numTilesWithItems, itemsOnGround.size());
+          maxTilesWithItems[0] = Math.max(maxTilesWithItems[0], numTilesWithItems);
+        };
+    ObservedStrategy redStrategy = new ObservedStrategy(new ZaidStrategy(), itemsChecker);
+    ObservedStrategy blueStrategy = new ObservedStrategy(new ZaidStrategy(), itemsChecker);
+    engine[0] = new GameEngine(16, redStrategy, blueStrategy, 3);
+    engine[0].setRecyclingEnabled(true);
+    for (int game = 0; game < 3; game++) {
+      engine[0].reset(16, game, game % 2 == 1);
+      engine[0].runGame();
+    }
+    // The two autominers start on the ground, anything more came from mining or placing
+    assertTrue(maxTilesWithItems[0] > 2);
+  }
+
+  @Test
+  public void testDefaultEngineViewsNeverChangeOnceHandedOut() {
+    List<Map<Point, List<InventoryItem>>> itemsWhenHandedOut = new ArrayList<>();
+    List<PlayerBoardView> keptViews = new ArrayList<>();
+    GameFixtures.TurnObserver viewKeeper =
+        (strategy, boardView, economy, isRedTurn) -> {
+          keptViews.add(boardView);
+          itemsWhenHandedOut.add(new HashMap<>(boardView.getItemsOnGround()));
+        };
+    GameEngine engine =
+        new GameEngine(
+            16,
+            new ObservedStrategy(new StartKeeper(keptViews, itemsWhenHandedOut), viewKeeper),
+            new ObservedStrategy(new StartKeeper(keptViews, itemsWhenHandedOut), viewKeeper),
+            5);
+    engine.runGame();
+
+    // Every turn got a view of its own, and every kept view still shows the items as they were that turn
+    Set<PlayerBoardView> distinctViews = Collections.newSetFromMap(new IdentityHashMap<>());
+    distinctViews.addAll(keptViews);
+    assertEquals(keptViews.size(), distinctViews.size());
+    Set<Map<Point, List<InventoryItem>>> distinctItems = new HashSet<>();
+    for (int i = 0; i < keptViews.size(); i++) {
+      assertEquals("view " + i, itemsWhenHandedOut.get(i), keptViews.get(i).getItemsOnGround());
+      distinctItems.add(itemsWhenHandedOut.get(i));
+    }
+    // The items on the ground changed during the game, otherwise there was nothing to keep from changing
+    assertTrue(distinctItems.size() > 1);
+  }
+
+  @Test
+  public void testViewReuseHandsEachStrategyOneView() {
+    List<PlayerBoardView> keptViews = new ArrayList<>();
+    GameFixtures.TurnObserver viewKeeper =
+        (strategy, boardView, economy, isRedTurn) -> keptViews.add(boardView);
+    GameEngine engine =
+        new GameEngine(
+            16,
+            new ObservedStrategy(new ZaidStrategy(), viewKeeper),
+            new ObservedStrategy(new ZaidStrategy(), viewKeeper),
+            5);
+    engine.setViewReuseEnabled(true);
+    engine.runGame();
+
+    Set<PlayerBoardView> distinctViews = Collections.newSetFromMap(new IdentityHashMap<>());
+    distinctViews.addAll(keptViews);
+    assertTrue(keptViews.size() > 2);
+    assertEquals(2, distinctViews.size());
+  }
+
+  /** Plays like ZaidStrategy, keeping the starting board and the items on it when it was handed out. */
+  private static class StartKeeper extends ZaidStrategy {
+    private final List<PlayerBoardView> keptViews;
+    private final List<Map<Point, List<InventoryItem>>> itemsWhenHandedOut;
+
+    private StartKeeper(
+        List<PlayerBoardView> keptViews, List<Map<Point, List<InventoryItem>>> itemsWhenHandedOut) {
+      this.keptViews = keptViews;
+      this.itemsWhenHandedOut = itemsWhenHandedOut;
+    }
+
+    @Override
+    public void initialize(
+        int boardSize,
+        int maxInventorySize,
+        int maxCharge,
+        int winningScore,
+        PlayerBoardView startingBoard,
+        Point startTileLocation,
+        boolean isRedPlayer,
+        Random random) {
+      keptViews.add(startingBoard);
+      itemsWhenHandedOut.add(new HashMap<>(startingBoard.getItemsOnGround()));
+      super.initialize(
+          boardSize,
+          maxInventorySize,
+          maxCharge,
+          winningScore,
+          startingBoard,
+          startTileLocation,
+          isRedPlayer,
+          random);
+    }
+  }
+}
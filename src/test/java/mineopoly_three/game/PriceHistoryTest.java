@@ -0,0 +1,123 @@
+package mineopoly_three.game;
+
+import mineopoly_three.item.ItemType;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PriceHistoryTest {
+  private static final ItemType[] RESOURCE_TYPES = {ItemType.DIAMOND, ItemType.EMERALD, ItemType.RUBY};
+  private Economy economy;
+
+  @Before
+  public void setUpEconomy() {
+    economy = new Economy(RESOURCE_TYPES);
+  }
+
+  @Test
+  public void testHistoryHoldsPricesAtStartOfEachTurn() {
+    int numTurns = 60;
+    int[][] expectedPrices = new int[RESOURCE_TYPES.length][numTurns + 1];
+    int[] numSoldOfEachType = new int[ItemType.values().length];
+    for (int turn = 0; turn <= numTurns; turn++) {
+      for (int i = 0; i < RESOURCE_TYPES.length; i++) {
+        expectedPrices[i][turn] = economy.getPrice(RESOURCE_TYPES[i]);
+      }
+      if (turn == numTurns) {
+        break;
+      }
+
+      // Sell a few diamonds every 7 turns and a ruby every 11, so the history sees prices fall too
+      numSoldOfEachType[ItemType.DIAMOND.ordinal()] = (turn % 7 == 0) ? 3 : 0;
+      numSoldOfEachType[ItemType.RUBY.ordinal()] = (turn % 11 == 0) ? 1 : 0;
+      economy.sellResources(numSoldOfEachType);
+      economy.increaseDemand();
+    }
+
+    PriceHistory priceHistory = economy.getPriceHistory();
+    assertEquals(0, priceHistory.getOldestTurn());
+    assertEquals(numTurns, priceHistory.getNewestTurn());
+    int[] copiedPrices = new int[numTurns + 1];
+    for (int i = 0; i < RESOURCE_TYPES.length; i++) {
+      long priceSum = 0;
+      for (int turn = 0; turn <= numTurns; turn++) {
+        assertEquals("turn " + turn, expectedPrices[i][turn], priceHistory.getPrice(RESOURCE_TYPES[i], turn));
+        priceSum += expectedPrices[i][turn];
+      }
+      assertEquals(
+          (double) priceSum / (numTurns + 1),
+          priceHistory.getAveragePrice(RESOURCE_TYPES[i], 0, numTurns),
+          1e-9);
+      priceHistory.copyPrices(RESOURCE_TYPES[i], 0, numTurns, copiedPrices);
+      for (int turn = 0; turn <= numTurns; turn++) {
+        assertEquals(expectedPrices[i][turn], copiedPrices[turn]);
+      }
+    }
+
+    String[] csvLines = priceHistory.toCsv().split("\n");
+    assertEquals("turn,DIAMOND,EMERALD,RUBY", csvLines[0]);
+    assertEquals(numTurns + 2, csvLines.length);
+    assertEquals(
+        "7," + expectedPrices[0][7] + "," + expectedPrices[1][7] + "," + expectedPrices[2][7],
+        csvLines[8]);
+  }
+
+  @Test
+  public void testFullHistoryForgetsOldestTurns() {
+    PriceHistory priceHistory = new PriceHistory(RESOURCE_TYPES, 4);
+    int[] diamondPrices = new int[10];
+    for (int turn = 0; turn < 10; turn++) {
+      diamondPrices[turn] = economy.getPrice(ItemType.DIAMOND);
+      priceHistory.recordTurn(turn, economy);
+      economy.increaseDemand();
+    }
+
+    assertEquals(6, priceHistory.getOldestTurn());
+    assertEquals(9, priceHistory.getNewestTurn());
+    assertFalse(priceHistory.hasTurn(5));
+    for (int turn = 6; turn < 10; turn++) {
+      assertEquals(diamondPrices[turn], priceHistory.getPrice(ItemType.DIAMOND, turn));
+    }
+  }
+
+  @Test
+  public void testRewindingForgetsLaterTurns() {
+    PriceHistory priceHistory = new PriceHistory(RESOURCE_TYPES, 8);
+    for (int turn = 0; turn < 6; turn++) {
+      priceHistory.recordTurn(turn, economy);
+    }
+
+    priceHistory.forgetTurnsAfter(3);
+    assertEquals(3, priceHistory.getNewestTurn());
+    assertFalse(priceHistory.hasTurn(4));
+    priceHistory.recordTurn(4, economy);
+    assertTrue(priceHistory.hasTurn(4));
+
+    // Rewinding to before the oldest turn forgets everything
+    priceHistory.forgetTurnsAfter(-1);
+    assertTrue(priceHistory.isEmpty());
+    assertEquals(-1, priceHistory.getNewestTurn());
+    priceHistory.recordTurn(20, economy);
+    assertEquals(20, priceHistory.getOldestTurn());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSkippingTurnThrows() {
+    PriceHistory priceHistory = new PriceHistory(RESOURCE_TYPES, 8);
+    priceHistory.recordTurn(0, economy);
+    priceHistory.recordTurn(2, economy);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTurnOutsideHistoryThrows() {
+    economy.getPriceHistory().getPrice(ItemType.DIAMOND, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testItemThatIsNotSoldThrows() {
+    economy.getPriceHistory().getPrice(ItemType.AUTOMINER, 0);
+  }
+}
@@ -0,0 +1,159 @@
+package mineopoly_three.game;
+
+import mineopoly_three.GameFixtures;
+import mineopoly_three.GameFixtures.ObservedStrategy;
+import mineopoly_three.strategy.ZaidStrategy;
+import mineopoly_three.tiles.TileType;
+import mineopoly_three.util.TileLocation;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceTileIndexTest {
+
+  private static Set<TileLocation> getTileLocations(ResourceTileIndex index, TileType type) {
+    Set<TileLocation> locations = new HashSet<>();
+    for (int i = 0; i < index.getNumTiles(type); i++) {
+      locations.add(index.getTileLocation(type, i));
+    }
+    assertEquals(index.getNumTiles(type), locations.size());
+    return locations;
+  }
+
+  private static Set<TileLocation> setOf(TileLocation... locations) {
+    Set<TileLocation> set = new HashSet<>();
+    for (TileLocation location : locations) {
+      set.add(location);
+    }
+    return set;
+  }
+
+  @Test
+  public void testIndexFollowsTileTypeChanges() {
+    ResourceTileIndex index = new ResourceTileIndex(4);
+    index.setTileType(0, 0, TileType.RESOURCE_DIAMOND);
+    index.setTileType(1, 0, TileType.RESOURCE_DIAMOND);
+    index.setTileType(2, 0, TileType.RESOURCE_DIAMOND);
+    index.setTileType(3, 3, TileType.RESOURCE_RUBY);
+    index.setTileType(2, 2, TileType.RECHARGE);
+    assertEquals(4, index.getNumTiles());
+    assertEquals(3, index.getNumTiles(TileType.RESOURCE_DIAMOND));
+    assertEquals(0, index.getNumTiles(TileType.RECHARGE));
+
+    // Removing the first tile of a set moves the last one into its place
+    index.setTileType(0, 0, TileType.EMPTY);
+    assertEquals(
+        setOf(TileLocation.of(1, 0), TileLocation.of(2, 0)),
+        getTileLocations(index, TileType.RESOURCE_DIAMOND));
+
+    // A tile that changes from one resource to another moves between sets, setting it again changes nothing
+    index.setTileType(1, 0, TileType.RESOURCE_RUBY);
+    index.setTileType(1, 0, TileType.RESOURCE_RUBY);
+    assertEquals(setOf(TileLocation.of(2, 0)), getTileLocations(index, TileType.RESOURCE_DIAMOND));
+    assertEquals(
+        setOf(TileLocation.of(3, 3), TileLocation.of(1, 0)),
+        getTileLocations(index, TileType.RESOURCE_RUBY));
+    assertEquals(3, index.getNumTiles());
+
+    index.clear();
+    assertEquals(0, index.getNumTiles());
+    assertEquals(0, index.getNumTiles(TileType.RESOURCE_RUBY));
+    index.setTileType(3, 3, TileType.RESOURCE_EMERALD);
+    assertEquals(setOf(TileLocation.of(3, 3)), getTileLocations(index, TileType.RESOURCE_EMERALD));
+    assertEquals(1, index.getNumTiles());
+  }
+
+  @Test
+  public void testIndexGrowsPastItsFirstArrays() {
+    int size = 12;
+    ResourceTileIndex index = new ResourceTileIndex(size);
+    for (int x = 0; x < size; x++) {
+      for (int y = 0; y < size; y++) {
+        index.setTileType(x, y, TileType.RESOURCE_EMERALD);
+      }
+    }
+    assertEquals(size * size, index.getNumTiles(TileType.RESOURCE_EMERALD));
+    assertEquals(size * size, getTileLocations(index, TileType.RESOURCE_EMERALD).size());
+
+    for (int x = 0; x < size; x++) {
+      for (int y = 0; y < size; y += 2) {
+        index.setTileType(x, y, TileType.EMPTY);
+      }
+    }
+    Set<TileLocation> locations = getTileLocations(index, TileType.RESOURCE_EMERALD);
+    assertEquals(size * size / 2, locations.size());
+    for (TileLocation location : locations) {
+      assertEquals(1, location.getY() % 2);
+    }
+  }
+
+  @Test
+  public void testIndexOfTileGridUsesBoardCoordinates() {
+    TileType[][] tiles =
+        new TileType[][] {
+          {TileType.RED_MARKET, TileType.EMPTY, TileType.EMPTY, TileType.RESOURCE_DIAMOND},
+          {TileType.BLUE_MARKET, TileType.EMPTY, TileType.EMPTY, TileType.EMPTY},
+          {TileType.RECHARGE, TileType.RED_MARKET, TileType.BLUE_MARKET, TileType.EMPTY},
+          {TileType.RESOURCE_EMERALD, TileType.RED_MARKET, TileType.EMPTY, TileType.EMPTY}
+        };
+    ResourceTileIndex index = ResourceTileIndex.of(tiles);
+    assertEquals(2, index.getNumTiles());
+    assertEquals(TileLocation.of(3, 3), index.getTileLocation(TileType.RESOURCE_DIAMOND, 0));
+    assertEquals(TileLocation.of(0, 0), index.getTileLocation(TileType.RESOURCE_EMERALD, 0));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGettingTilePastEndOfSetThrows() {
+    ResourceTileIndex index = new ResourceTileIndex(4);
+    index.setTileType(1, 1, TileType.RESOURCE_RUBY);
+    index.getTileLocation(TileType.RESOURCE_RUBY, 1);
+  }
+
+  @Test
+  public void testIndexFollowsBoardThroughGames() {
+    // Checks the resource tiles listed by every view against every tile of the board
+    GameFixtures.TurnObserver indexChecker =
+        (strategy, boardView, economy, isRedTurn) -> {
+          int numResourceTiles = 0;
+          for (TileType tileType : TileType.values()) {
+            int numTilesOfType = 0;
+            for (int x = 0; x < boardView.getBoardSize(); x++) {
+              for (int y = 0; y < boardView.getBoardSize(); y++) {
+                if (boardView.getTileTypeAtLocation(x, y) == tileType) {
+                  numTilesOfType++;
+                }
+              }
+            }
+
+            if (tileType.name().startsWith("RESOURCE_")) {
+              assertEquals(numTilesOfType, boardView.getNumResourceTiles(tileType));
+              numResourceTiles += numTilesOfType;
+              for (int i = 0; i < numTilesOfType; i++) {
+                TileLocation location = boardView.getResourceTileLocation(tileType, i);
+                assertEquals(tileType, boardView.getTileTypeAtLocation(location));
+              }
+            } else {
+              assertEquals(0, boardView.getNumResourceTiles(tileType));
+            }
+          }
+          assertEquals(numResourceTiles, boardView.getNumResourceTiles());
+        };
+    ObservedStrategy redStrategy = new ObservedStrategy(new ZaidStrategy(), indexChecker);
+    ObservedStrategy blueStrategy = new ObservedStrategy(new ZaidStrategy(), indexChecker);
+    GameEngine gameEngine = new GameEngine(12, redStrategy, blueStrategy, 5);
+    gameEngine.setRecyclingEnabled(true);
+    HeadlessGameEngine headlessEngine = new HeadlessGameEngine(12, redStrategy, blueStrategy, 5);
+    for (int game = 0; game < 3; game++) {
+      gameEngine.reset(12, game, false);
+      gameEngine.runGame();
+      assertTrue(redStrategy.getNumTurnsObserved() > 0 && blueStrategy.getNumTurnsObserved() > 0);
+      headlessEngine.reset(12, game, false);
+      headlessEngine.runGame();
+      assertTrue(redStrategy.getNumTurnsObserved() > 0 && blueStrategy.getNumTurnsObserved() > 0);
+    }
+  }
+}
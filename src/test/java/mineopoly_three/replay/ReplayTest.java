@@ -0,0 +1,152 @@
+package mineopoly_three.replay;
+
+import mineopoly_three.GameFixtures.IdleStrategy;
+import mineopoly_three.action.ActionLog;
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.game.Economy;
+import mineopoly_three.game.GameEngine;
+import mineopoly_three.item.InventoryItem;
+import mineopoly_three.strategy.MinePlayerStrategy;
+import mineopoly_three.strategy.PlayerBoardView;
+import mineopoly_three.strategy.ZaidStrategy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static mineopoly_three.GameFixtures.assertSameGame;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReplayTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  /** Writes a game's replay to a file, reads it back and plays it again, like ReplayIO but without the GUI. */
+  private GameEngine replayThroughFile(GameEngine originalEngine) throws IOException {
+    Replay originalReplay = originalEngine.getReplay();
+    File replayFile = temporaryFolder.newFile();
+    Replay.encodeReplayFile(originalReplay, replayFile.getPath());
+    Replay decodedReplay = Replay.decodeReplayFile(replayFile.getPath());
+
+    assertTrue(decodedReplay.getRedPlayerActions() instanceof ActionLog);
+    assertEquals(originalReplay.getBoardSize(), decodedReplay.getBoardSize());
+    assertEquals(originalReplay.getWorldSeed(), decodedReplay.getWorldSeed());
+    assertEquals(originalReplay.getRedPlayerActions(), decodedReplay.getRedPlayerActions());
+    assertEquals(originalReplay.getBluePlayerActions(), decodedReplay.getBluePlayerActions());
+    assertEquals(originalReplay.redThrewException(), decodedReplay.redThrewException());
+    assertEquals(originalReplay.blueThrewException(), decodedReplay.blueThrewException());
+    assertEquals(originalReplay.toString(), decodedReplay.toString());
+
+    GameEngine replayEngine =
+        new GameEngine(
+            decodedReplay.getBoardSize(),
+            new ReplayStrategy(decodedReplay),
+            new ReplayStrategy(decodedReplay),
+            decodedReplay.getWorldSeed());
+    replayEngine.runGame();
+    return replayEngine;
+  }
+
+  @Test
+  public void testDecodedReplayPlaysTheSameGame() throws IOException {
+    int totalScore = 0;
+    for (long seed = 1; seed <= 3; seed++) {
+      // The idle player holds its actions, so its log has runs of turns with no action in it
+      GameEngine originalEngine =
+          (seed % 2 == 0)
+              ? new GameEngine(20, new ZaidStrategy(), new IdleStrategy(5), seed)
+              : new GameEngine(20, new ZaidStrategy(), new ZaidStrategy(), seed);
+      originalEngine.runGame();
+      totalScore += originalEngine.getRedPlayerScore() + originalEngine.getBluePlayerScore();
+
+      GameEngine replayEngine = replayThroughFile(originalEngine);
+      assertEquals(originalEngine.getRedPlayerScore(), replayEngine.getRedPlayerScore());
+      assertEquals(originalEngine.getBluePlayerScore(), replayEngine.getBluePlayerScore());
+      assertSameGame(originalEngine, replayEngine);
+    }
+    assertTrue(totalScore > 0);
+  }
+
+  @Test
+  public void testDecodedReplayThrowsOnTheSameTurn() throws IOException {
+    GameEngine originalEngine =
+        new GameEngine(16, new ZaidStrategy(), new ThrowingStrategy(120), 4);
+    originalEngine.runGame();
+    Replay originalReplay = originalEngine.getReplay();
+    assertFalse(originalReplay.redThrewException());
+    assertTrue(originalReplay.blueThrewException());
+    assertTrue(originalReplay.toString().endsWith(",-1"));
+
+    GameEngine replayEngine = replayThroughFile(originalEngine);
+    assertEquals(-1, replayEngine.getBluePlayerScore());
+    assertEquals(originalEngine.getRedPlayerScore(), replayEngine.getRedPlayerScore());
+    assertEquals(originalEngine.getTurnNumber(), replayEngine.getTurnNumber());
+    assertTrue(replayEngine.getReplay().blueThrewException());
+  }
+
+  /** Plays like ZaidStrategy until it has been asked for a number of actions, then throws. */
+  private static class ThrowingStrategy implements MinePlayerStrategy {
+    private final MinePlayerStrategy strategy = new ZaidStrategy();
+    private final int numActionsBeforeThrowing;
+    private int numTimesAsked;
+
+    private ThrowingStrategy(int numActionsBeforeThrowing) {
+      this.numActionsBeforeThrowing = numActionsBeforeThrowing;
+    }
+
+    @Override
+    public void initialize(
+        int boardSize,
+        int maxInventorySize,
+        int maxCharge,
+        int winningScore,
+        PlayerBoardView startingBoard,
+        Point startTileLocation,
+        boolean isRedPlayer,
+        Random random) {
+      strategy.initialize(
+          boardSize,
+          maxInventorySize,
+          maxCharge,
+          winningScore,
+          startingBoard,
+          startTileLocation,
+          isRedPlayer,
+          random);
+    }
+
+    @Override
+    public TurnAction getTurnAction(
+        PlayerBoardView boardView, Economy economy, int currentCharge, boolean isRedTurn) {
+      if (numTimesAsked++ == numActionsBeforeThrowing) {
+        throw new IllegalStateException("Thrown on purpose");
+      }
+      return strategy.getTurnAction(boardView, economy, currentCharge, isRedTurn);
+    }
+
+    @Override
+    public void onReceiveItem(InventoryItem itemReceived) {
+      strategy.onReceiveItem(itemReceived);
+    }
+
+    @Override
+    public void onSoldInventory(int totalSellPrice) {
+      strategy.onSoldInventory(totalSellPrice);
+    }
+
+    @Override
+    public String getName() {
+      return "Throwing";
+    }
+
+    @Override
+    public void endRound(int pointsScored, int opponentPointsScored) {
+      strategy.endRound(pointsScored, opponentPointsScored);
+    }
+  }
+}
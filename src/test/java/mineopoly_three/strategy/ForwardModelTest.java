@@ -0,0 +1,183 @@
+package mineopoly_three.strategy;
+
+import mineopoly_three.GameFixtures.IdleStrategy;
+import mineopoly_three.action.TurnAction;
+import mineopoly_three.game.Economy;
+import mineopoly_three.game.GameEngine;
+import mineopoly_three.game.MinePlayer;
+import mineopoly_three.item.InventoryItem;
+import mineopoly_three.item.ItemType;
+import mineopoly_three.tiles.Tile;
+import mineopoly_three.util.TileLocation;
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ForwardModelTest {
+  private static final TurnAction[] ALL_ACTIONS = TurnAction.values();
+
+  /**
+   * Plays a game against a player that never does anything, which is what a ForwardModel assumes about the other
+   * player, and checks the model against the engine at the start of every turn and after the last one.
+   */
+  private static SteppedStrategy playGame(
+      int boardSize, long seed, boolean isRedPlayer, double randomActionChance) {
+    GameEngine[] engine = new GameEngine[1];
+    SteppedStrategy steppedStrategy = new SteppedStrategy(engine, seed, randomActionChance);
+    engine[0] =
+        isRedPlayer
+            ? new GameEngine(boardSize, steppedStrategy, new IdleStrategy(), seed)
+            : new GameEngine(boardSize, new IdleStrategy(), steppedStrategy, seed);
+    engine[0].runGame();
+    assertTrue(steppedStrategy.model.getTurnsSimulated() > 0);
+    assertEquals(engine[0].getTurnNumber(), steppedStrategy.model.getTurnsSimulated());
+    return steppedStrategy;
+  }
+
+  private static void assertModelMatchesEngine(ForwardModel model, GameEngine engine, boolean isRedPlayer) {
+    String turnMessage = "turn " + engine.getTurnNumber();
+    MinePlayer player = isRedPlayer ? engine.getRedPlayer() : engine.getBluePlayer();
+    TileLocation playerLocation = player.getCurrentTile().getLocation();
+    assertEquals(turnMessage, playerLocation.getX(), model.getX());
+    assertEquals(turnMessage, playerLocation.getY(), model.getY());
+    assertEquals(turnMessage, player.getCurrentEnergy(), model.getCharge());
+    assertEquals(turnMessage, player.getScore(), model.getPointsEarned());
+    assertEquals(turnMessage, player.getInventory().size(), model.getInventorySize());
+
+    for (ItemType itemType : ItemType.values()) {
+      String itemMessage = turnMessage + " " + itemType;
+      assertEquals(itemMessage, player.getInventory().getCount(itemType), model.getInventoryCount(itemType));
+      if (itemType.isResource()) {
+        assertEquals(itemMessage, engine.getEconomy().getPrice(itemType), model.getPrice(itemType));
+      }
+    }
+
+    for (int x = 0; x < model.getBoardSize(); x++) {
+      for (int y = 0; y < model.getBoardSize(); y++) {
+        String locationMessage = turnMessage + " at (" + x + ", " + y + ")";
+        Tile tile = engine.getBoard().getTileAtLocation(x, y);
+        assertEquals(locationMessage, tile.getType(), model.getTileType(x, y));
+        for (ItemType itemType : ItemType.values()) {
+          assertEquals(
+              locationMessage + " " + itemType,
+              tile.getItemsOnTile().getCount(itemType),
+              model.getItemCount(x, y, itemType));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testModelFollowsEngineThroughStrategyActions() {
+    int totalPointsEarned = 0;
+    for (long seed = 1; seed <= 4; seed++) {
+      boolean isRedPlayer = (seed % 2 == 1);
+      SteppedStrategy strategy = playGame(20, seed, isRedPlayer, 0.2);
+      totalPointsEarned += strategy.model.getPointsEarned();
+    }
+    // Selling changes prices and the score, so the games have to have sold something to check either
+    assertTrue(totalPointsEarned > 0);
+  }
+
+  @Test
+  public void testModelFollowsEngineThroughRandomActions() {
+    // Random actions run out of energy, so moves that depend on the player's random number generator get checked
+    int numTurnsWithNoEnergy = 0;
+    for (long seed = 1; seed <= 4; seed++) {
+      SteppedStrategy strategy = playGame(12, seed, seed % 2 == 0, 1.0);
+      numTurnsWithNoEnergy += strategy.numTurnsWithNoEnergy;
+    }
+    assertTrue(numTurnsWithNoEnergy > 0);
+  }
+
+  /**
+   * Mostly plays like ZaidStrategy but sometimes takes a random action instead, stepping a ForwardModel through the
+   * same actions and checking it against the engine every turn.
+   */
+  private static class SteppedStrategy implements MinePlayerStrategy {
+    private final GameEngine[] engine;
+    private final MinePlayerStrategy strategy = new ZaidStrategy();
+    private final Random actionRandom;
+    private final double randomActionChance;
+    private ForwardModel model;
+    private boolean isRedPlayer;
+    private int numTurnsWithNoEnergy;
+
+    private SteppedStrategy(GameEngine[] engine, long seed, double randomActionChance) {
+      this.engine = engine;
+      this.actionRandom = new Random(seed);
+      this.randomActionChance = randomActionChance;
+    }
+
+    @Override
+    public void initialize(
+        int boardSize,
+        int maxInventorySize,
+        int maxCharge,
+        int winningScore,
+        PlayerBoardView startingBoard,
+        Point startTileLocation,
+        boolean isRedPlayer,
+        Random random) {
+      this.isRedPlayer = isRedPlayer;
+      this.model = new ForwardModel(maxInventorySize, maxCharge);
+      strategy.initialize(
+          boardSize,
+          maxInventorySize,
+          maxCharge,
+          winningScore,
+          startingBoard,
+          startTileLocation,
+          isRedPlayer,
+          random);
+    }
+
+    @Override
+    public TurnAction getTurnAction(
+        PlayerBoardView boardView, Economy economy, int currentCharge, boolean isRedTurn) {
+      if (model.getBoardSize() < 0) {
+        // Nothing is hidden at the start of a game, and the model's copy of the player's random numbers starts
+        // where the player's does
+        model.reset(boardView, economy, currentCharge, isRedPlayer, Collections.emptyList());
+        model.setRandom(new Random(engine[0].getSeeds().getPlayerSeed(isRedPlayer)));
+      }
+      assertModelMatchesEngine(model, engine[0], isRedPlayer);
+      if (currentCharge == 0) {
+        numTurnsWithNoEnergy++;
+      }
+
+      TurnAction action = strategy.getTurnAction(boardView, economy, currentCharge, isRedTurn);
+      if (actionRandom.nextDouble() < randomActionChance) {
+        action = ALL_ACTIONS[actionRandom.nextInt(ALL_ACTIONS.length)];
+      }
+      model.step(action);
+      return action;
+    }
+
+    @Override
+    public void onReceiveItem(InventoryItem itemReceived) {
+      strategy.onReceiveItem(itemReceived);
+    }
+
+    @Override
+    public void onSoldInventory(int totalSellPrice) {
+      strategy.onSoldInventory(totalSellPrice);
+    }
+
+    @Override
+    public String getName() {
+      return strategy.getName();
+    }
+
+    @Override
+    public void endRound(int pointsScored, int opponentPointsScored) {
+      assertModelMatchesEngine(model, engine[0], isRedPlayer);
+      strategy.endRound(pointsScored, opponentPointsScored);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package mineopoly_three.tiles;
+
+import mineopoly_three.GameFixtures.IdleStrategy;
+import mineopoly_three.game.MinePlayer;
+import mineopoly_three.item.ItemType;
+import mineopoly_three.util.TileLocation;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TileUpdateSchedulerTest {
+  private static final int NUM_TILES = 60;
+  private static final int NUM_PLAYERS = 8;
+  private static final int NUM_TURNS = 400;
+
+  private static MinePlayer newPlayer(Tile startingTile, boolean isRedPlayer) {
+    return new MinePlayer(new IdleStrategy(), startingTile, null, 0, isRedPlayer) {};
+  }
+
+  /** Every third tile recharges, and the rest are a mix of the kinds that never need updating. */
+  private static Tile[] newTiles(TileUpdateScheduler updateScheduler) {
+    Tile[] tiles = new Tile[NUM_TILES];
+    for (int i = 0; i < NUM_TILES; i++) {
+      tiles[i] = new Tile(TileLocation.of(i, 0));
+      if (i % 3 == 0) {
+        tiles[i].setKind(TileKind.RECHARGE, null);
+      } else if (i % 3 == 1) {
+        tiles[i].setKind(TileKind.RESOURCE, ItemType.DIAMOND);
+      }
+      tiles[i].setUpdateScheduler(updateScheduler);
+    }
+    return tiles;
+  }
+
+  private static int findEmptyTile(Tile[] tiles, Random random) {
+    int tileIndex;
+    do {
+      tileIndex = random.nextInt(NUM_TILES);
+    } while (tiles[tileIndex].getPlayerOnTile() != null);
+    return tileIndex;
+  }
+
+  @Test
+  public void testScheduledTilesMatchUpdatingEveryTile() {
+    // The same players walk around two copies of the same tiles. Every tile of one copy is updated every turn, like
+    // boards did before the scheduler, and only the scheduled tiles of the other copy are
+    TileUpdateScheduler updateScheduler = new TileUpdateScheduler();
+    Tile[] scheduledTiles = newTiles(updateScheduler);
+    Tile[] everyTile = newTiles(null);
+    MinePlayer[] scheduledPlayers = new MinePlayer[NUM_PLAYERS];
+    MinePlayer[] everyTilePlayers = new MinePlayer[NUM_PLAYERS];
+    int[] playerTileIndexes = new int[NUM_PLAYERS];
+    Random random = new Random(3);
+    for (int p = 0; p < NUM_PLAYERS; p++) {
+      playerTileIndexes[p] = findEmptyTile(scheduledTiles, random);
+      scheduledPlayers[p] = newPlayer(scheduledTiles[playerTileIndexes[p]], p % 2 == 0);
+      everyTilePlayers[p] = newPlayer(everyTile[playerTileIndexes[p]], p % 2 == 0);
+      scheduledTiles[playerTileIndexes[p]].onEnter(scheduledPlayers[p]);
+      everyTile[playerTileIndexes[p]].onEnter(everyTilePlayers[p]);
+    }
+
+    int numSelfUnschedules = 0;
+    for (int turn = 0; turn < NUM_TURNS; turn++) {
+      for (int p = 0; p < NUM_PLAYERS; p++) {
+        int numMoves = random.nextInt(4);
+        for (int move = 0; move < numMoves; move++) {
+          scheduledPlayers[p].useEnergy();
+          everyTilePlayers[p].useEnergy();
+        }
+        if (random.nextInt(3) == 0) {
+          int newTileIndex = findEmptyTile(scheduledTiles, random);
+          scheduledTiles[playerTileIndexes[p]].onExit(scheduledPlayers[p]);
+          everyTile[playerTileIndexes[p]].onExit(everyTilePlayers[p]);
+          playerTileIndexes[p] = newTileIndex;
+          scheduledTiles[newTileIndex].onEnter(scheduledPlayers[p]);
+          everyTile[newTileIndex].onEnter(everyTilePlayers[p]);
+        }
+      }
+
+      // Schedule some recharge tiles nobody is standing on, which unschedule themselves when they're updated. They
+      // land anywhere in the list, so tiles after them still have to be updated once they're gone
+      for (int i = 0; i < 3; i++) {
+        Tile tile = scheduledTiles[3 * random.nextInt(NUM_TILES / 3)];
+        if (tile.getPlayerOnTile() == null) {
+          tile.scheduleUpdates();
+          numSelfUnschedules++;
+        }
+      }
+
+      // Sometimes several turns pass at once, which the old loop did one turn at a time
+      int numTurns = (random.nextInt(5) == 0) ? 1 + random.nextInt(4) : 1;
+      updateScheduler.updateScheduledTiles(numTurns);
+      for (int updateTurn = 0; updateTurn < numTurns; updateTurn++) {
+        for (Tile tile : everyTile) {
+          tile.update();
+        }
+      }
+
+      String turnMessage = "turn " + turn;
+      for (int p = 0; p < NUM_PLAYERS; p++) {
+        assertEquals(
+            turnMessage, everyTilePlayers[p].getCurrentEnergy(), scheduledPlayers[p].getCurrentEnergy());
+      }
+      int numTilesNeedingUpdates = 0;
+      for (Tile tile : scheduledTiles) {
+        assertEquals(turnMessage, tile.needsUpdates(), updateScheduler.isScheduled(tile));
+        numTilesNeedingUpdates += tile.needsUpdates() ? 1 : 0;
+      }
+      assertEquals(turnMessage, numTilesNeedingUpdates, updateScheduler.getNumScheduledTiles());
+    }
+    assertTrue(numSelfUnschedules > NUM_TURNS);
+  }
+
+  @Test
+  public void testSchedulingTwiceUpdatesOnce() {
+    TileUpdateScheduler updateScheduler = new TileUpdateScheduler();
+    Tile tile = new Tile(TileLocation.of(0, 0));
+    tile.setKind(TileKind.RECHARGE, null);
+    tile.setUpdateScheduler(updateScheduler);
+    MinePlayer player = newPlayer(tile, true);
+    for (int i = 0; i < 20; i++) {
+      player.useEnergy();
+    }
+    tile.onEnter(player);
+    tile.scheduleUpdates();
+    assertEquals(1, updateScheduler.getNumScheduledTiles());
+
+    int energyBefore = player.getCurrentEnergy();
+    updateScheduler.updateScheduledTiles();
+    MinePlayer unscheduledPlayer = newPlayer(new Tile(TileLocation.of(1, 0)), true);
+    for (int i = 0; i < 20; i++) {
+      unscheduledPlayer.useEnergy();
+    }
+    unscheduledPlayer.rechargeEnergy(TileKind.RECHARGE_PERCENT_PER_TURN);
+    assertEquals(unscheduledPlayer.getCurrentEnergy(), player.getCurrentEnergy());
+    assertTrue(player.getCurrentEnergy() > energyBefore);
+
+    // Leaving the tile unschedules it, and moving the tile to another scheduler takes it off this one
+    tile.onExit(player);
+    assertFalse(updateScheduler.isScheduled(tile));
+    tile.onEnter(player);
+    tile.setUpdateScheduler(new TileUpdateScheduler());
+    assertEquals(0, updateScheduler.getNumScheduledTiles());
+  }
+}